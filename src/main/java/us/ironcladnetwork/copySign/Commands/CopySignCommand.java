@@ -1,6 +1,5 @@
 package us.ironcladnetwork.copySign.Commands;
 
-import de.tr7zw.nbtapi.NBTItem;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.command.Command;
@@ -17,9 +16,12 @@ import us.ironcladnetwork.copySign.Util.SignLibraryGUI;
 import us.ironcladnetwork.copySign.Util.NBTValidationUtil;
 import us.ironcladnetwork.copySign.Util.Permissions;
 import us.ironcladnetwork.copySign.Util.SignValidationUtil;
+import us.ironcladnetwork.copySign.Util.SignMaterials;
+import us.ironcladnetwork.copySign.Util.CopiedSignPayload;
 import us.ironcladnetwork.copySign.Util.SignLoreBuilder;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
@@ -27,7 +29,7 @@ import java.util.Map;
 
 /**
  * Command executor for /copysign with sub-commands "on", "off", "clear",
- * and extended subcommands "save", "library", "delete", "load".
+ * and extended subcommands "save", "library", "search", "delete", "load".
  */
 public class CopySignCommand implements CommandExecutor, TabCompleter {
     // Removed the static enabledMap and use the toggleManager instead.
@@ -97,14 +99,7 @@ public class CopySignCommand implements CommandExecutor, TabCompleter {
                     player.sendMessage(Lang.CLEAR_NO_ITEM.getWithPrefix());
                 } else {
                     // Clear NBT data from the held item.
-                    NBTItem nbtItem = new NBTItem(heldItem);
-                    nbtItem.removeKey("copiedSignFront");
-                    nbtItem.removeKey("copiedSignBack");
-                    nbtItem.removeKey("copiedSignFrontColor");
-                    nbtItem.removeKey("copiedSignBackColor");
-                    nbtItem.removeKey("signGlowing");
-                    nbtItem.removeKey("signType");
-                    ItemStack updatedItem = nbtItem.getItem();
+                    ItemStack updatedItem = CopiedSignPayload.clear(heldItem);
                     // Clear lore and display name to restore default Minecraft item name.
                     ItemMeta meta = updatedItem.getItemMeta();
                     if (meta != null) {
@@ -159,12 +154,11 @@ public class CopySignCommand implements CommandExecutor, TabCompleter {
                     return true;
                 }
                 // Check if the held sign type is allowed
-                if (!SignValidationUtil.isSignTypeAllowed(heldItemForSave.getType().name())) {
+                if (!SignValidationUtil.isSignTypeAllowed(heldItemForSave.getType())) {
                     player.sendMessage(Lang.SIGN_TYPE_NOT_ALLOWED_SAVE.getWithPrefix());
                     return true;
                 }
-                NBTItem nbtItemForSave = new NBTItem(heldItemForSave);
-                if (!nbtItemForSave.hasTag("copiedSignFront") || !nbtItemForSave.hasTag("copiedSignBack")) {
+                if (!CopiedSignPayload.isPresent(heldItemForSave)) {
                     player.sendMessage(Lang.SIGN_NO_DATA.getWithPrefix());
                     return true;
                 }
@@ -199,6 +193,38 @@ public class CopySignCommand implements CommandExecutor, TabCompleter {
                 }
                 break;
             }
+            case "search": {
+                // Searching is part of viewing the library
+                if (!Permissions.canViewLibrary(player)) {
+                    player.sendMessage(Lang.NO_PERMISSION_LIBRARY.getWithPrefix());
+                    return true;
+                }
+                // Check if the sign-library feature is enabled in config
+                if (!us.ironcladnetwork.copySign.CopySign.getInstance().getConfigManager().isSignLibraryEnabled()) {
+                    player.sendMessage(Lang.COMMAND_FEATURE_DISABLED.formatWithPrefix("%feature%", "Sign library"));
+                    return true;
+                }
+                // Check cooldown
+                if (!us.ironcladnetwork.copySign.CopySign.getCooldownManager().canUseCommand(player, "search")) {
+                    us.ironcladnetwork.copySign.CopySign.getCooldownManager().sendCooldownMessage(player, "search");
+                    return true;
+                }
+                // Usage: /copysign search <words>
+                String query = joinArgs(args, 1);
+                if (query.isEmpty()) {
+                    player.sendMessage(Lang.SEARCH_USAGE.getWithPrefix());
+                    return true;
+                }
+                Map<String, SavedSignData> results = signLibraryManager.searchSigns(player, query);
+                if (results.isEmpty()) {
+                    player.sendMessage(Lang.SEARCH_NO_RESULTS.formatWithPrefix("%query%", query));
+                } else {
+                    SignLibraryGUI.openSearch(player, query, results);
+                }
+                // Record command usage
+                us.ironcladnetwork.copySign.CopySign.getCooldownManager().recordCommandUse(player, "search");
+                break;
+            }
             case "delete": {
                 // Command enable check already done above
                 // Check library permission for library commands
@@ -273,16 +299,16 @@ public class CopySignCommand implements CommandExecutor, TabCompleter {
                     return true;
                 }
                 ItemStack heldItemForLoad = player.getInventory().getItemInMainHand();
-                if (heldItemForLoad == null || heldItemForLoad.getType() == Material.AIR || !heldItemForLoad.getType().name().endsWith("_SIGN")) {
+                if (heldItemForLoad == null || heldItemForLoad.getType() == Material.AIR || !SignMaterials.isSign(heldItemForLoad.getType())) {
                     player.sendMessage(Lang.MUST_HOLD_SIGN.getWithPrefix());
                     return true;
                 }
                 // Check if the held sign type is allowed
-                if (!SignValidationUtil.isSignTypeAllowed(heldItemForLoad.getType().name())) {
+                if (!SignValidationUtil.isSignTypeAllowed(heldItemForLoad.getType())) {
                     player.sendMessage(Lang.SIGN_TYPE_NOT_ALLOWED_LOAD.getWithPrefix());
                     return true;
                 }
-                boolean heldHanging = heldItemForLoad.getType().name().contains("HANGING_SIGN");
+                boolean heldHanging = SignMaterials.isHanging(heldItemForLoad.getType());
                 boolean savedHanging = savedData.getSignType().equalsIgnoreCase("hanging");
                 if (heldHanging != savedHanging) {
                     player.sendMessage(Lang.SIGN_TYPE_MISMATCH.formatWithPrefix(
@@ -290,40 +316,32 @@ public class CopySignCommand implements CommandExecutor, TabCompleter {
                         "%target%", savedHanging ? Lang.HANGING_SIGN.get() : Lang.REGULAR_SIGN.get()));
                     return true;
                 }
-                NBTItem nbtItemForLoad = new NBTItem(heldItemForLoad);
                 // Validate sign data before storing in NBT
                 if (!NBTValidationUtil.validateSignData(savedData.getFront(), savedData.getBack())) {
                     player.sendMessage(Lang.SIGN_DATA_SIZE_EXCEEDED.getWithPrefix());
                     return true;
                 }
-                // Combine arrays into newline-delimited strings.
-                String frontText = String.join("\n", savedData.getFront());
-                String backText = String.join("\n", savedData.getBack());
-                // Additional validation for combined strings
-                if (!NBTValidationUtil.validateNBTData(frontText) || !NBTValidationUtil.validateNBTData(backText)) {
+                // Additional content validation for each side
+                if (!NBTValidationUtil.validateNBTLines(savedData.getFront()) || !NBTValidationUtil.validateNBTLines(savedData.getBack())) {
                     player.sendMessage(Lang.SIGN_DATA_TEXT_TOO_LARGE.getWithPrefix());
                     return true;
                 }
-                nbtItemForLoad.setString("copiedSignFront", frontText);
-                nbtItemForLoad.setString("copiedSignBack", backText);
-                nbtItemForLoad.setString("copiedSignFrontColor", savedData.getFrontColor());
-                nbtItemForLoad.setString("copiedSignBackColor", savedData.getBackColor());
-                nbtItemForLoad.setBoolean("signGlowing", savedData.isGlowing());
-                nbtItemForLoad.setString("signType", savedData.getSignType());
+                ItemStack updatedHeldItem = CopiedSignPayload.of(savedData).writeTo(heldItemForLoad);
 
                 // Update lore for visual display.
-                ItemStack updatedHeldItem = nbtItemForLoad.getItem();
                 ItemMeta meta = updatedHeldItem.getItemMeta();
                 if (meta != null) {
-                    List<String> lore = SignLoreBuilder.buildSignLore(
-                        savedData.getFront(), savedData.getBack(),
+                    List<String> lore = SignLoreBuilder.buildItemSignLore(
+                        "Copied Sign", savedData.getFront(), savedData.getBack(),
                         savedData.getFrontColor(), savedData.getBackColor(),
-                        savedData.isGlowing(), savedData.getSignType()
+                        savedData.isFrontGlowing(), savedData.isBackGlowing(),
+                        savedData.getSignType(), "Copied"
                     );
                     meta.setLore(lore);
                     updatedHeldItem.setItemMeta(meta);
                 }
                 player.getInventory().setItemInMainHand(updatedHeldItem);
+                signLibraryManager.markUsed(player, loadName);
                 player.sendMessage(Lang.SIGN_LOADED.getWithPrefix());
                 // Record command usage
                 us.ironcladnetwork.copySign.CopySign.getCooldownManager().recordCommandUse(player, "load");
@@ -379,6 +397,9 @@ public class CopySignCommand implements CommandExecutor, TabCompleter {
                     case "list":
                         handleTemplateList(player);
                         break;
+                    case "search":
+                        handleTemplateSearch(player, args);
+                        break;
                     case "create":
                         handleTemplateCreate(player, args);
                         break;
@@ -443,6 +464,7 @@ public class CopySignCommand implements CommandExecutor, TabCompleter {
         if (Permissions.canViewLibrary(player) && 
             us.ironcladnetwork.copySign.CopySign.getInstance().getConfigBoolean("commands.enabled.library", true)) {
             options.add("library");
+            options.add("search");
         }
         if (Permissions.canDeleteFromLibrary(player) && 
             us.ironcladnetwork.copySign.CopySign.getInstance().getConfigBoolean("commands.enabled.delete", true)) {
@@ -479,21 +501,14 @@ public class CopySignCommand implements CommandExecutor, TabCompleter {
             String subCommand = args[0].toLowerCase(Locale.ENGLISH);
             if ((subCommand.equals("delete") && Permissions.canDeleteFromLibrary(player)) || 
                 (subCommand.equals("load") && Permissions.canLoadFromLibrary(player))) {
-                Map<String, SavedSignData> savedSigns = signLibraryManager.getAllSigns(player);
-                List<String> names = new ArrayList<>(savedSigns.keySet());
-                String current = args[1].toLowerCase(Locale.ENGLISH);
-                List<String> completions = new ArrayList<>();
-                for (String name : names) {
-                    if (name.toLowerCase(Locale.ENGLISH).startsWith(current))
-                        completions.add(name);
-                }
-                return completions;
+                return signLibraryManager.completeSignNames(player, args[1]);
             }
             // Handle templates subcommands
             if (subCommand.equals("templates")) {
                 List<String> templateSubCommands = new ArrayList<>();
                 if (Permissions.canViewTemplates(player)) {
                     templateSubCommands.add("list");
+                    templateSubCommands.add("search");
                 }
                 if (Permissions.canCreateTemplates(player)) {
                     templateSubCommands.add("create");
@@ -520,7 +535,7 @@ public class CopySignCommand implements CommandExecutor, TabCompleter {
             if ((templateSubCommand.equals("delete") && Permissions.canDeleteTemplates(player)) || 
                 (templateSubCommand.equals("use") && Permissions.canUseTemplates(player)) ||
                 (templateSubCommand.equals("load") && Permissions.canUseTemplates(player))) {
-                Map<String, SavedSignData> templates = us.ironcladnetwork.copySign.CopySign.getServerTemplateManager().getAllTemplates();
+                List<String> matches = us.ironcladnetwork.copySign.CopySign.getServerTemplateManager().completeTemplateNames(args[2]);
                 
                 // Filter templates based on configuration
                 boolean hideSystemTemplates = us.ironcladnetwork.copySign.CopySign.getInstance()
@@ -528,20 +543,13 @@ public class CopySignCommand implements CommandExecutor, TabCompleter {
                 String systemPrefix = us.ironcladnetwork.copySign.CopySign.getInstance()
                     .getConfigString("templates.system-template-prefix", "system_");
                 
-                List<String> names = new ArrayList<>();
-                for (String templateName : templates.keySet()) {
+                List<String> completions = new ArrayList<>();
+                for (String templateName : matches) {
                     // Skip system templates if configured to hide them
                     if (hideSystemTemplates && templateName.startsWith(systemPrefix)) {
                         continue;
                     }
-                    names.add(templateName);
-                }
-                
-                String current = args[2].toLowerCase(Locale.ENGLISH);
-                List<String> completions = new ArrayList<>();
-                for (String name : names) {
-                    if (name.toLowerCase(Locale.ENGLISH).startsWith(current))
-                        completions.add(name);
+                    completions.add(templateName);
                 }
                 return completions;
             }
@@ -568,6 +576,7 @@ public class CopySignCommand implements CommandExecutor, TabCompleter {
         player.sendMessage(Lang.TEMPLATE_HELP_CREATE.get());
         player.sendMessage(Lang.TEMPLATE_HELP_DELETE.get());
         player.sendMessage(Lang.TEMPLATE_HELP_USE.get());
+        player.sendMessage(Lang.TEMPLATE_HELP_SEARCH.get());
         player.sendMessage("");
         player.sendMessage(Lang.TEMPLATE_HELP_EXAMPLES.get());
         player.sendMessage(Lang.TEMPLATE_HELP_EXAMPLE_CREATE.get());
@@ -609,6 +618,7 @@ public class CopySignCommand implements CommandExecutor, TabCompleter {
             if (us.ironcladnetwork.copySign.CopySign.getInstance().getConfigBoolean("commands.enabled.library", true) && 
                 us.ironcladnetwork.copySign.CopySign.getInstance().getConfigManager().isSignLibraryEnabled()) {
                 player.sendMessage(Lang.COMMAND_HELP_LIBRARY.get());
+                player.sendMessage(Lang.COMMAND_HELP_SEARCH.get());
             }
         }
         
@@ -659,6 +669,32 @@ public class CopySignCommand implements CommandExecutor, TabCompleter {
         us.ironcladnetwork.copySign.GUI.ServerTemplateGUI.open(player, templates, canEdit);
     }
     
+    /**
+     * Handle template search command - opens the GUI with the matches, best first
+     */
+    private void handleTemplateSearch(Player player, String[] args) {
+        // Check if player has permission to view templates
+        if (!Permissions.canViewTemplates(player)) {
+            player.sendMessage(Lang.TEMPLATE_NO_PERMISSION_VIEW.getWithPrefix());
+            return;
+        }
+        
+        String query = joinArgs(args, 2);
+        if (query.isEmpty()) {
+            player.sendMessage(Lang.TEMPLATE_USAGE_SEARCH.getWithPrefix());
+            return;
+        }
+        
+        Map<String, SavedSignData> results = us.ironcladnetwork.copySign.CopySign.getServerTemplateManager().searchTemplates(query);
+        if (results.isEmpty()) {
+            player.sendMessage(Lang.TEMPLATE_SEARCH_NO_RESULTS.formatWithPrefix("%query%", query));
+            return;
+        }
+        
+        boolean canEdit = Permissions.canEditTemplates(player);
+        us.ironcladnetwork.copySign.GUI.ServerTemplateGUI.open(player, results, canEdit);
+    }
+    
     /**
      * Handle template create command
      */
@@ -691,13 +727,12 @@ public class CopySignCommand implements CommandExecutor, TabCompleter {
         
         // Check held item for sign data
         ItemStack heldItem = player.getInventory().getItemInMainHand();
-        if (heldItem == null || heldItem.getType() == Material.AIR || !heldItem.getType().name().endsWith("_SIGN")) {
+        if (heldItem == null || heldItem.getType() == Material.AIR || !SignMaterials.isSign(heldItem.getType())) {
             player.sendMessage(Lang.MUST_HOLD_SIGN_WITH_DATA.getWithPrefix());
             return;
         }
         
-        NBTItem nbtItem = new NBTItem(heldItem);
-        if (!nbtItem.hasTag("copiedSignFront") || !nbtItem.hasTag("copiedSignBack")) {
+        if (!CopiedSignPayload.isPresent(heldItem)) {
             player.sendMessage(Lang.MUST_HOLD_SIGN_WITH_DATA.getWithPrefix());
             return;
         }
@@ -801,13 +836,13 @@ public class CopySignCommand implements CommandExecutor, TabCompleter {
         
         // Check held item
         ItemStack heldItem = player.getInventory().getItemInMainHand();
-        if (heldItem == null || heldItem.getType() == Material.AIR || !heldItem.getType().name().endsWith("_SIGN")) {
+        if (heldItem == null || heldItem.getType() == Material.AIR || !SignMaterials.isSign(heldItem.getType())) {
             player.sendMessage(Lang.TEMPLATE_MUST_HOLD_SIGN.getWithPrefix());
             return;
         }
         
         // Check sign type compatibility
-        boolean heldHanging = heldItem.getType().name().contains("HANGING_SIGN");
+        boolean heldHanging = SignMaterials.isHanging(heldItem.getType());
         boolean templateHanging = templateData.getSignType().equalsIgnoreCase("hanging");
         if (heldHanging != templateHanging) {
             player.sendMessage(Lang.TEMPLATE_TYPE_MISMATCH.formatWithPrefix(
@@ -818,27 +853,14 @@ public class CopySignCommand implements CommandExecutor, TabCompleter {
         }
         
         // Apply template to held sign
-        NBTItem nbtItem = new NBTItem(heldItem);
-        String frontText = String.join("\n", templateData.getFront());
-        String backText = String.join("\n", templateData.getBack());
-        
-        nbtItem.setString("copiedSignFront", frontText);
-        nbtItem.setString("copiedSignBack", backText);
-        nbtItem.setString("copiedSignFrontColor", templateData.getFrontColor());
-        nbtItem.setString("copiedSignBackColor", templateData.getBackColor());
-        // Handle deprecated isGlowing method - check both front and back glow states
+        ItemStack updatedItem = CopiedSignPayload.of(templateData).writeTo(heldItem);
         boolean frontGlowing = templateData.isFrontGlowing();
         boolean backGlowing = templateData.isBackGlowing();
-        nbtItem.setBoolean("signGlowing", frontGlowing || backGlowing);
-        nbtItem.setBoolean("frontGlowing", frontGlowing);
-        nbtItem.setBoolean("backGlowing", backGlowing);
-        nbtItem.setString("signType", templateData.getSignType());
         
         // Update item with lore
-        ItemStack updatedItem = nbtItem.getItem();
         ItemMeta meta = updatedItem.getItemMeta();
         if (meta != null) {
-            List<String> lore = SignLoreBuilder.buildPremiumSignLore(
+            List<String> lore = SignLoreBuilder.buildItemSignLore(
                 null, // item name
                 templateData.getFront(), templateData.getBack(),
                 templateData.getFrontColor(), templateData.getBackColor(),
@@ -858,6 +880,20 @@ public class CopySignCommand implements CommandExecutor, TabCompleter {
         );
     }
     
+    /**
+     * Joins the arguments from the given index into a single space-separated string.
+     *
+     * @param args The command arguments
+     * @param from The index of the first argument to include
+     * @return The joined arguments, or an empty string if there are none
+     */
+    private static String joinArgs(String[] args, int from) {
+        if (args.length <= from) {
+            return "";
+        }
+        return String.join(" ", Arrays.copyOfRange(args, from, args.length)).trim();
+    }
+    
     /**
      * Checks if a command is enabled in the configuration.
      * 
@@ -50,15 +50,7 @@ public class CopySignTabCompleter implements TabCompleter {
             if (subCommand.equals("delete") || subCommand.equals("load")) {
                 if (sender instanceof Player) {
                     Player player = (Player) sender;
-                    Map<String, SavedSignData> savedSigns = signLibraryManager.getAllSigns(player);
-                    List<String> names = new ArrayList<>(savedSigns.keySet());
-                    String current = args[1].toLowerCase(Locale.ENGLISH);
-                    List<String> completions = new ArrayList<>();
-                    for (String name : names) {
-                        if (name.toLowerCase(Locale.ENGLISH).startsWith(current))
-                            completions.add(name);
-                    }
-                    return completions;
+                    return signLibraryManager.completeSignNames(player, args[1]);
                 }
             }
         }
@@ -18,12 +18,18 @@ import us.ironcladnetwork.copySign.Util.UpdateChecker;
 import us.ironcladnetwork.copySign.Util.DebugLogger;
 import us.ironcladnetwork.copySign.Integration.WorldGuardIntegration;
 import us.ironcladnetwork.copySign.Util.SoundManager;
+import us.ironcladnetwork.copySign.Util.LibraryItemCache;
 import us.ironcladnetwork.copySign.Util.VersionCompatibility;
 import us.ironcladnetwork.copySign.Util.MetricsManager;
 import us.ironcladnetwork.copySign.Util.ConfigMigrator;
 import us.ironcladnetwork.copySign.Util.SchedulerUtil;
+import us.ironcladnetwork.copySign.Util.StorageBackend;
+import us.ironcladnetwork.copySign.Util.StorageMigrator;
+import us.ironcladnetwork.copySign.Util.LibraryCache;
+import us.ironcladnetwork.copySign.Util.SignClipboard;
 
 import org.bukkit.configuration.ConfigurationSection;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -59,16 +65,25 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 public final class CopySign extends JavaPlugin {
     // Static instance for accessing plugin data elsewhere.
     private static CopySign instance;
-    // Field for managing enable/disable state, persisting in players.yml.
+    // Field for the storage backend all player and template data is persisted through
+    private StorageBackend storageBackend;
+    // Periodic storage flush and compaction tasks
+    private Object storageFlushTask;
+    private Object storageCompactionTask;
+    // Field for managing enable/disable state, persisting through the storage backend.
     private CopySignToggleManager toggleManager;
-    // Field for managing saved signs, persisting in savedSigns.yml.
+    // Field for managing saved signs, persisting through the storage backend.
     private SignLibraryManager signLibraryManager;
+    // Field for deciding which sign libraries stay in memory
+    private LibraryCache libraryCache;
     // Field for managing command cooldowns
     private CooldownManager cooldownManager;
     // ReadWriteLock for thread-safe configuration access
     private final ReadWriteLock configLock = new ReentrantReadWriteLock();
     // Field for managing server-wide templates
     private ServerTemplateManager serverTemplateManager;
+    // Field for the server-side store of copied sign contents
+    private SignClipboard signClipboard;
     // Field for managing confirmation prompts
     private static ConfirmationManager confirmationManager;
     // Field for centralized configuration management
@@ -109,17 +124,6 @@ public final class CopySign extends JavaPlugin {
         saveDefaultConfig();
         saveResource("messages.yml", false);
         
-        // Initialize toggle manager to load players.yml state (and create it if missing)
-        toggleManager = new CopySignToggleManager(getDataFolder(), this);
-        // Initialize the sign library manager using savedSigns.yml.
-        signLibraryManager = new SignLibraryManager(getDataFolder(), this);
-        // Initialize the cooldown manager
-        cooldownManager = new CooldownManager(this);
-        // Initialize the server template manager
-        serverTemplateManager = new ServerTemplateManager(getDataFolder(), this);
-        // Initialize the confirmation manager
-        confirmationManager = new ConfirmationManager(this);
-        
         // Load messages (no lock needed during startup)
         reloadConfig();
         
@@ -138,6 +142,34 @@ public final class CopySign extends JavaPlugin {
         // Run the basic validation
         configManager.validateConfiguration();
         
+        // Open the configured storage backend, copying data over if the type changed
+        storageBackend = StorageBackend.create(configManager.getStorageType(), getDataFolder(), this);
+        try {
+            storageBackend.open();
+        } catch (IOException e) {
+            getLogger().severe("Failed to open " + storageBackend.getType() + " storage: " + e.getMessage());
+            getLogger().severe("CopySign cannot run without its storage and will now be disabled.");
+            storageBackend = null;
+            getServer().getPluginManager().disablePlugin(this);
+            return;
+        }
+        new StorageMigrator(getDataFolder(), this).migrate(storageBackend);
+        startStorageTasks();
+        
+        // Initialize toggle manager to load player toggle states
+        toggleManager = new CopySignToggleManager(storageBackend, this);
+        // Initialize the sign library manager
+        libraryCache = new LibraryCache(storageBackend, this);
+        signLibraryManager = new SignLibraryManager(libraryCache, this);
+        // Initialize the cooldown manager
+        cooldownManager = new CooldownManager(this);
+        // Initialize the server template manager
+        serverTemplateManager = new ServerTemplateManager(storageBackend, this);
+        // Initialize the server-side clipboard for copied signs
+        signClipboard = new SignClipboard(storageBackend, this);
+        // Initialize the confirmation manager
+        confirmationManager = new ConfirmationManager(this);
+        
         // Initialize debug logger
         debugLogger = new DebugLogger(this);
         if (configManager.isDebugEnabled()) {
@@ -252,8 +284,14 @@ public final class CopySign extends JavaPlugin {
         getServer().getPluginManager().registerEvents(new us.ironcladnetwork.copySign.Listeners.SignChangeListener(), this);
         // Register the new SignLibraryGUIListener so that GUI events are processed.
         getServer().getPluginManager().registerEvents(new SignLibraryGUIListener(signLibraryManager), this);
+        // Register the PendingPasteListener to drop paste data of broken signs and unloaded chunks
+        getServer().getPluginManager().registerEvents(new us.ironcladnetwork.copySign.Listeners.PendingPasteListener(), this);
         // Register the PlayerQuitListener for cooldown cleanup
         getServer().getPluginManager().registerEvents(new us.ironcladnetwork.copySign.Listeners.PlayerQuitListener(), this);
+        // Register the LibraryCacheListener to prefetch libraries on login and release them on quit
+        getServer().getPluginManager().registerEvents(new us.ironcladnetwork.copySign.Listeners.LibraryCacheListener(libraryCache), this);
+        // Register the PermissionSnapshotListener to keep cached permissions current
+        getServer().getPluginManager().registerEvents(new us.ironcladnetwork.copySign.Listeners.PermissionSnapshotListener(), this);
         // Register the ServerTemplateGUIListener
         getServer().getPluginManager().registerEvents(new us.ironcladnetwork.copySign.Listeners.ServerTemplateGUIListener(serverTemplateManager), this);
         
@@ -280,10 +318,10 @@ public final class CopySign extends JavaPlugin {
             cooldownManager.cleanupExpiredCooldowns(cooldownConfig);
         }, 6000L, 6000L); // 6000 ticks = 5 minutes
         
-        // Start periodic SignDataCache cleanup task (every 5 minutes)
+        // Start periodic SignDataCache cleanup task (every 10 seconds, it only visits due entries)
         SchedulerUtil.runAsyncTimer(this, () -> {
             SignDataCache.cleanupExpiredEntries();
-        }, 6000L, 6000L); // 6000 ticks = 5 minutes
+        }, 200L, 200L); // 200 ticks = 10 seconds
         
         // Check for updates if enabled
         if (configManager.checkForUpdates()) {
@@ -300,19 +338,17 @@ public final class CopySign extends JavaPlugin {
                 long startTime = System.currentTimeMillis();
 
                 // Perform saves asynchronously
-                boolean librarySuccess = signLibraryManager.saveConfigSync();
+                // Sign libraries and templates are written by the storage flush task
                 boolean toggleSuccess = toggleManager.saveConfigSync();
 
                 long timeTaken = System.currentTimeMillis() - startTime;
 
                 // Log results - logging is safe to do async
-                if (librarySuccess && toggleSuccess) {
+                if (toggleSuccess) {
                     debugLogger.debug("Auto-save completed successfully");
                     debugLogger.debugPerformance("Auto-save", timeTaken);
                 } else {
-                    getLogger().warning("Auto-save encountered errors - Library: " +
-                        (librarySuccess ? "OK" : "FAILED") + ", Toggles: " +
-                        (toggleSuccess ? "OK" : "FAILED"));
+                    getLogger().warning("Auto-save encountered errors - Toggles: FAILED");
                 }
             }, intervalTicks, intervalTicks);
 
@@ -341,31 +377,39 @@ public final class CopySign extends JavaPlugin {
         // Save all manager data synchronously to prevent data loss
         getLogger().info("Saving plugin data...");
         
-        // Save sign library data
-        if (signLibraryManager != null) {
-            if (signLibraryManager.saveConfigSync()) {
-                getLogger().info("Sign library data saved successfully.");
-            } else {
-                getLogger().warning("Failed to save sign library data!");
+        // Flush sign libraries, toggle states and templates, then close the storage
+        if (storageBackend != null) {
+            SchedulerUtil.cancelTask(storageFlushTask);
+            SchedulerUtil.cancelTask(storageCompactionTask);
+            if (libraryCache != null) {
+                libraryCache.saveUses();
             }
-        }
-        
-        // Save player toggle states
-        if (toggleManager != null) {
-            if (toggleManager.saveConfigSync()) {
-                getLogger().info("Player toggle states saved successfully.");
+            if (storageBackend.close()) {
+                getLogger().info("Player data saved successfully.");
             } else {
-                getLogger().warning("Failed to save player toggle states!");
+                getLogger().warning("Failed to save player data!");
             }
         }
         
-        // Server templates are saved immediately when modified, no need for explicit save
-        
         // Save main plugin configuration
         saveConfig();
         getLogger().info("Plugin configuration saved successfully.");
     }
 
+    /**
+     * Starts the periodic storage flush and compaction tasks.
+     * Buffered writes are made durable once per flush interval.
+     */
+    private void startStorageTasks() {
+        long flushInterval = Math.max(1L, configManager.getFlushIntervalTicks());
+        storageFlushTask = SchedulerUtil.runAsyncTimer(this, storageBackend::flush, flushInterval, flushInterval);
+        
+        long compactionInterval = configManager.getJournalCompactionInterval() * 60L * 20L; // Convert minutes to ticks
+        if (compactionInterval > 0) {
+            storageCompactionTask = SchedulerUtil.runAsyncTimer(this, storageBackend::compact, compactionInterval, compactionInterval);
+        }
+    }
+
     /**
      * Reloads the plugin's configuration and messages.
      * Thread-safe implementation prevents race conditions during concurrent operations.
@@ -411,6 +455,9 @@ public final class CopySign extends JavaPlugin {
                 soundManager.reload();
             }
             
+            // Library items are re-rendered with the reloaded settings
+            LibraryItemCache.clear();
+            
             // Clear toggle cache if caching is now disabled
             if (toggleManager != null && !configManager.isCacheToggleStates()) {
                 toggleManager.clearCache();
@@ -553,6 +600,14 @@ public final class CopySign extends JavaPlugin {
         return instance;
     }
     
+    /**
+     * Gets the storage backend all player and template data is persisted through.
+     * @return The storage backend
+     */
+    public StorageBackend getStorageBackend() {
+        return storageBackend;
+    }
+    
     /**
      * Static getter to access the cooldown manager from other classes.
      *
@@ -571,6 +626,15 @@ public final class CopySign extends JavaPlugin {
         return instance.serverTemplateManager;
     }
     
+    /**
+     * Static getter to access the server-side clipboard from other classes.
+     *
+     * @return the SignClipboard instance.
+     */
+    public static SignClipboard getSignClipboard() {
+        return instance.signClipboard;
+    }
+    
     /**
      * Gets the confirmation manager instance.
      * @return The confirmation manager
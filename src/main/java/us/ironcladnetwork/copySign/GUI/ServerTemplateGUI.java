@@ -59,7 +59,11 @@ public class ServerTemplateGUI {
         int size = Math.min(54, ((templates.size() + 8) / 9) * 9); // Round up to nearest multiple of 9
         if (size < 27) size = 27; // Minimum 3 rows
         
-        Inventory gui = Bukkit.createInventory(null, size, title);
+        // The holder identifies this GUI to the listener and maps slots to templates
+        List<String> templateNames = new ArrayList<>();
+        ServerTemplateHolder holder = new ServerTemplateHolder(templateNames, canEdit);
+        Inventory gui = Bukkit.createInventory(holder, size, title);
+        holder.setInventory(gui);
         
         // Add template items
         int slot = 0;
@@ -72,6 +76,7 @@ public class ServerTemplateGUI {
             // Create sign item for the template
             ItemStack signItem = createTemplateItem(templateName, data, canEdit);
             gui.setItem(slot, signItem);
+            templateNames.add(templateName);
             slot++;
         }
         
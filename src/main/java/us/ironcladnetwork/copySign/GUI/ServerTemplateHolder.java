@@ -0,0 +1,53 @@
+package us.ironcladnetwork.copySign.GUI;
+
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+
+import java.util.List;
+
+/**
+ * Inventory holder marking a server template GUI and carrying its state.
+ * <p>
+ * Listeners recognise the GUI by an {@code instanceof} check on the holder and
+ * look up the template in a clicked slot from it, instead of matching the
+ * inventory title or parsing item lore.
+ *
+ * @see ServerTemplateGUI
+ */
+public class ServerTemplateHolder implements InventoryHolder {
+    private final List<String> templateNames;
+    private final boolean canEdit;
+    private Inventory inventory;
+
+    /**
+     * @param templateNames The template names in slot order
+     * @param canEdit       Whether the GUI was opened in admin mode
+     */
+    public ServerTemplateHolder(List<String> templateNames, boolean canEdit) {
+        this.templateNames = templateNames;
+        this.canEdit = canEdit;
+    }
+
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+
+    void setInventory(Inventory inventory) {
+        this.inventory = inventory;
+    }
+
+    public boolean canEdit() {
+        return canEdit;
+    }
+
+    /**
+     * Gets the template shown in a slot.
+     *
+     * @param slot The raw slot clicked
+     * @return The template name, or null if the slot holds no template
+     */
+    public String getTemplateName(int slot) {
+        return slot >= 0 && slot < templateNames.size() ? templateNames.get(slot) : null;
+    }
+}
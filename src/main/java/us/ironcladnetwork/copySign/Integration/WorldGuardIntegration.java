@@ -4,6 +4,7 @@ import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 import us.ironcladnetwork.copySign.CopySign;
+import us.ironcladnetwork.copySign.Util.Permissions;
 
 import java.lang.reflect.Method;
 
@@ -84,8 +85,8 @@ public class WorldGuardIntegration {
         }
         
         // Check bypass permission
-        if (player.hasPermission("copysign.bypass.worldguard")) {
-            plugin.getDebugLogger().debugPermission(player, "copysign.bypass.worldguard", true);
+        if (Permissions.bypassesWorldGuard(player)) {
+            plugin.getDebugLogger().debugPermission(player, Permissions.BYPASS_WORLDGUARD, true);
             return true;
         }
         
@@ -105,8 +106,8 @@ public class WorldGuardIntegration {
         }
         
         // Check bypass permission
-        if (player.hasPermission("copysign.bypass.worldguard")) {
-            plugin.getDebugLogger().debugPermission(player, "copysign.bypass.worldguard", true);
+        if (Permissions.bypassesWorldGuard(player)) {
+            plugin.getDebugLogger().debugPermission(player, Permissions.BYPASS_WORLDGUARD, true);
             return true;
         }
         
@@ -6,9 +6,16 @@ import org.bukkit.configuration.file.YamlConfiguration;
 import us.ironcladnetwork.copySign.CopySign;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Enum containing all plugin messages with methods to load and format them.
+ * <p>
+ * Each message is compiled when it is loaded into literal segments and
+ * placeholder slots ({@code %name%} or {@code {name}}), so formatting is a
+ * single pass into a builder of the right size. The prefixed text of every
+ * message is kept as well, so messages without placeholders are sent as is.
  */
 public enum Lang {
     PREFIX("messages.PREFIX"),
@@ -34,7 +41,10 @@ public enum Lang {
     SIGN_ALREADY_EXISTS("messages.SIGN_ALREADY_EXISTS"),
     SIGN_NO_DATA("messages.SIGN_NO_DATA"),
     SIGN_LIBRARY_EMPTY("messages.SIGN_LIBRARY_EMPTY"),
+    SEARCH_USAGE("messages.SEARCH_USAGE"),
+    SEARCH_NO_RESULTS("messages.SEARCH_NO_RESULTS"),
     MAX_SIGNS_REACHED("messages.MAX_SIGNS_REACHED"),
+    LIBRARY_SIZE_REACHED("messages.LIBRARY_SIZE_REACHED"),
     HANGING_SIGN("messages.HANGING_SIGN"),
     REGULAR_SIGN("messages.REGULAR_SIGN"),
     SIGN_TYPE_NOT_ALLOWED_COPY("messages.SIGN_TYPE_NOT_ALLOWED_COPY"),
@@ -55,6 +65,7 @@ public enum Lang {
     TEMPLATE_HELP_CREATE("messages.TEMPLATE_HELP_CREATE"),
     TEMPLATE_HELP_DELETE("messages.TEMPLATE_HELP_DELETE"),
     TEMPLATE_HELP_USE("messages.TEMPLATE_HELP_USE"),
+    TEMPLATE_HELP_SEARCH("messages.TEMPLATE_HELP_SEARCH"),
     TEMPLATE_HELP_EXAMPLES("messages.TEMPLATE_HELP_EXAMPLES"),
     TEMPLATE_HELP_EXAMPLE_CREATE("messages.TEMPLATE_HELP_EXAMPLE_CREATE"),
     TEMPLATE_HELP_EXAMPLE_USE("messages.TEMPLATE_HELP_EXAMPLE_USE"),
@@ -66,6 +77,8 @@ public enum Lang {
     TEMPLATE_USAGE_CREATE("messages.TEMPLATE_USAGE_CREATE"),
     TEMPLATE_USAGE_DELETE("messages.TEMPLATE_USAGE_DELETE"),
     TEMPLATE_USAGE_USE("messages.TEMPLATE_USAGE_USE"),
+    TEMPLATE_USAGE_SEARCH("messages.TEMPLATE_USAGE_SEARCH"),
+    TEMPLATE_SEARCH_NO_RESULTS("messages.TEMPLATE_SEARCH_NO_RESULTS"),
     TEMPLATE_TYPE_MISMATCH("messages.TEMPLATE_TYPE_MISMATCH"),
     TEMPLATE_MUST_HOLD_SIGN("messages.TEMPLATE_MUST_HOLD_SIGN"),
     TEMPLATE_CREATE_FAILED("messages.TEMPLATE_CREATE_FAILED"),
@@ -95,7 +108,6 @@ public enum Lang {
     TEMPLATE_CREATION_CANCEL_HINT("messages.TEMPLATE_CREATION_CANCEL_HINT"),
     TEMPLATE_NO_DATA_ERROR("messages.TEMPLATE_NO_DATA_ERROR"),
     TEMPLATE_MUST_HOLD_SIGN_DATA("messages.TEMPLATE_MUST_HOLD_SIGN_DATA"),
-    TEMPLATE_NAME_NOT_IDENTIFIED("messages.TEMPLATE_NAME_NOT_IDENTIFIED"),
     
     // Sign library messages
     SIGN_RENAME_PROMPT("messages.SIGN_RENAME_PROMPT"),
@@ -142,6 +154,7 @@ public enum Lang {
     COMMAND_HELP_LOAD("messages.COMMAND_HELP_LOAD"),
     COMMAND_HELP_DELETE("messages.COMMAND_HELP_DELETE"),
     COMMAND_HELP_LIBRARY("messages.COMMAND_HELP_LIBRARY"),
+    COMMAND_HELP_SEARCH("messages.COMMAND_HELP_SEARCH"),
     COMMAND_HELP_RELOAD("messages.COMMAND_HELP_RELOAD"),
     COMMAND_HELP_TEMPLATES("messages.COMMAND_HELP_TEMPLATES"),
     COMMAND_HELP_CONFIRM("messages.COMMAND_HELP_CONFIRM"),
@@ -153,6 +166,11 @@ public enum Lang {
 
     private final String path;
     private String message;
+    // The message split around its placeholders: literals has one more entry than slots
+    private String[] literals;
+    private String[] slots;
+    private int literalLength;
+    private String prefixed;
     private static FileConfiguration config;
 
     Lang(String path) {
@@ -183,6 +201,75 @@ public enum Lang {
      */
     public void reload() {
         message = ChatColor.translateAlternateColorCodes('&', config.getString(path, path));
+        compile();
+        if (this == PREFIX) {
+            // Every prefixed message depends on the prefix
+            for (Lang value : values()) {
+                if (value.message != null) {
+                    value.prefixed = message + value.message;
+                }
+            }
+        } else {
+            prefixed = PREFIX.message + message;
+        }
+    }
+
+    /**
+     * Splits the message into literal segments and placeholder slots.
+     */
+    private void compile() {
+        List<String> literalList = new ArrayList<>();
+        List<String> slotList = new ArrayList<>();
+        int literalStart = 0;
+        int i = 0;
+        while (i < message.length()) {
+            int end = placeholderEnd(message, i);
+            if (end < 0) {
+                i++;
+                continue;
+            }
+            literalList.add(message.substring(literalStart, i));
+            slotList.add(message.substring(i, end));
+            literalStart = end;
+            i = end;
+        }
+        literalList.add(message.substring(literalStart));
+        literals = literalList.toArray(new String[0]);
+        slots = slotList.toArray(new String[0]);
+        literalLength = message.length();
+        for (String slot : slots) {
+            literalLength -= slot.length();
+        }
+    }
+
+    /**
+     * Finds the end of a placeholder starting at an index.
+     *
+     * @return The index after the placeholder, or -1 if none starts there
+     */
+    private static int placeholderEnd(String text, int start) {
+        char open = text.charAt(start);
+        char close;
+        if (open == '%') {
+            close = '%';
+        } else if (open == '{') {
+            close = '}';
+        } else {
+            return -1;
+        }
+        int i = start + 1;
+        while (i < text.length() && isPlaceholderChar(text.charAt(i))) {
+            i++;
+        }
+        return i > start + 1 && i < text.length() && text.charAt(i) == close ? i + 1 : -1;
+    }
+
+    private static boolean isPlaceholderChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    private static boolean isPlaceholder(String text) {
+        return !text.isEmpty() && placeholderEnd(text, 0) == text.length();
     }
 
     /**
@@ -201,15 +288,57 @@ public enum Lang {
      * @return The formatted message with placeholders replaced.
      */
     public String format(Object... args) {
+        return format(null, args);
+    }
+
+    private String format(String prefix, Object[] args) {
         if (args.length % 2 != 0)
             throw new IllegalArgumentException("Args must be in pairs of placeholder and value!");
 
+        for (int i = 0; i < args.length; i += 2) {
+            if (!isPlaceholder(args[i].toString())) {
+                // Not something the template splits on, replace it in the text instead
+                return replaceAll(prefix, args);
+            }
+        }
+        if (slots.length == 0) {
+            return prefix != null ? prefixed : message;
+        }
+
+        // Resolve each slot to its value, sizing the builder on the way
+        String[] resolved = new String[slots.length];
+        int length = literalLength + (prefix != null ? prefix.length() : 0);
+        for (int s = 0; s < slots.length; s++) {
+            String value = slots[s];
+            for (int i = 0; i < args.length; i += 2) {
+                if (args[i].toString().equals(slots[s])) {
+                    value = args[i + 1].toString();
+                    break;
+                }
+            }
+            resolved[s] = value;
+            length += value.length();
+        }
+
+        StringBuilder formatted = new StringBuilder(length);
+        if (prefix != null) {
+            formatted.append(prefix);
+        }
+        for (int s = 0; s < slots.length; s++) {
+            formatted.append(literals[s]).append(resolved[s]);
+        }
+        return formatted.append(literals[slots.length]).toString();
+    }
+
+    /**
+     * Replaces each placeholder pair in turn, for placeholders the template does not know.
+     */
+    private String replaceAll(String prefix, Object[] args) {
         String formatted = message;
-        // Iterate through each placeholder pair
         for (int i = 0; i < args.length; i += 2) {
             formatted = formatted.replace(args[i].toString(), args[i + 1].toString());
         }
-        return formatted;
+        return prefix != null ? prefix + formatted : formatted;
     }
 
     /**
@@ -218,7 +347,7 @@ public enum Lang {
      * @return The prefixed and formatted message.
      */
     public String getWithPrefix() {
-        return PREFIX.get() + message;
+        return prefixed;
     }
 
     /**
@@ -228,6 +357,6 @@ public enum Lang {
      * @return The prefixed and formatted message with placeholders replaced.
      */
     public String formatWithPrefix(Object... args) {
-        return PREFIX.get() + format(args);
+        return format(PREFIX.message, args);
     }
 }
@@ -0,0 +1,39 @@
+package us.ironcladnetwork.copySign.Listeners;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import us.ironcladnetwork.copySign.Util.LibraryCache;
+
+/**
+ * Listener that loads a player's sign library while they log in and releases
+ * it after they leave, so the main thread never waits on a library read.
+ */
+public class LibraryCacheListener implements Listener {
+    private final LibraryCache libraryCache;
+
+    public LibraryCacheListener(LibraryCache libraryCache) {
+        this.libraryCache = libraryCache;
+    }
+
+    // Runs on the async login thread, after other plugins had their say
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() == AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            libraryCache.prefetch(event.getUniqueId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        libraryCache.markOnline(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        libraryCache.release(event.getPlayer().getUniqueId());
+    }
+}
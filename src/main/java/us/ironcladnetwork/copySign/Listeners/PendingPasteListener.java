@@ -0,0 +1,32 @@
+package us.ironcladnetwork.copySign.Listeners;
+
+import org.bukkit.Chunk;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import us.ironcladnetwork.copySign.Util.SignDataCache;
+
+/**
+ * Listener that drops pending paste data as soon as its paste can no longer
+ * complete, instead of leaving it for the expiry sweep.
+ * A pasted sign that is broken or whose chunk unloads is never edited, so its
+ * {@link SignDataCache} entry is evicted right away. Entries of players who
+ * quit are evicted by {@link PlayerQuitListener}.
+ */
+public class PendingPasteListener implements Listener {
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        if (!SignDataCache.isEmpty()) {
+            SignDataCache.remove(event.getBlock().getLocation());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        Chunk chunk = event.getChunk();
+        SignDataCache.evictChunk(chunk.getWorld(), chunk.getX(), chunk.getZ());
+    }
+}
@@ -0,0 +1,32 @@
+package us.ironcladnetwork.copySign.Listeners;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import us.ironcladnetwork.copySign.Util.PermissionSnapshot;
+
+/**
+ * Listener that keeps each online player's {@link PermissionSnapshot} current.
+ * Snapshots are taken on join once permission plugins have set the player up,
+ * retaken on world change for per-world permissions, and dropped on quit.
+ */
+public class PermissionSnapshotListener implements Listener {
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        PermissionSnapshot.refresh(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldChange(PlayerChangedWorldEvent event) {
+        PermissionSnapshot.refresh(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        PermissionSnapshot.invalidate(event.getPlayer().getUniqueId());
+    }
+}
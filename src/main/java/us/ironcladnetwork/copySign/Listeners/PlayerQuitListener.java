@@ -4,6 +4,9 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerQuitEvent;
 import us.ironcladnetwork.copySign.CopySign;
+import us.ironcladnetwork.copySign.Util.LibraryItemCache;
+import us.ironcladnetwork.copySign.Util.LibrarySession;
+import us.ironcladnetwork.copySign.Util.SignDataCache;
 
 /**
  * Listener to clean up player data when they leave the server.
@@ -18,5 +21,12 @@ public class PlayerQuitListener implements Listener {
         
         // Clean up toggle state cache if caching is enabled
         CopySign.getToggleManager().clearPlayerCache(event.getPlayer());
+        
+        // Drop rendered library items and the library session, both are rebuilt on the next open
+        LibraryItemCache.invalidateAll(event.getPlayer().getUniqueId());
+        LibrarySession.close(event.getPlayer().getUniqueId());
+        
+        // Pastes the player started can no longer be completed
+        SignDataCache.evictOwner(event.getPlayer().getUniqueId());
     }
 } 
\ No newline at end of file
@@ -1,7 +1,5 @@
 package us.ironcladnetwork.copySign.Listeners;
 
-import de.tr7zw.nbtapi.NBTItem;
-import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -11,12 +9,15 @@ import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.player.AsyncPlayerChatEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
-import us.ironcladnetwork.copySign.GUI.ServerTemplateGUI;
+import us.ironcladnetwork.copySign.GUI.ServerTemplateHolder;
 import us.ironcladnetwork.copySign.Lang.Lang;
+import us.ironcladnetwork.copySign.Util.CopiedSignPayload;
+import us.ironcladnetwork.copySign.Util.Permissions;
 import us.ironcladnetwork.copySign.Util.SavedSignData;
 import us.ironcladnetwork.copySign.Util.ServerTemplateManager;
 import us.ironcladnetwork.copySign.Util.DesignConstants;
 import us.ironcladnetwork.copySign.Util.SignLoreBuilder;
+import us.ironcladnetwork.copySign.Util.SignMaterials;
 
 import java.util.HashMap;
 import java.util.List;
@@ -39,22 +40,22 @@ public class ServerTemplateGUIListener implements Listener {
     public void onInventoryClick(InventoryClickEvent event) {
         if (!(event.getWhoClicked() instanceof Player)) return;
         
-        Player player = (Player) event.getWhoClicked();
-        String title = event.getView().getTitle();
-        
         // Check if it's a server template GUI
-        if (!title.contains("Sign Templates")) return;
+        if (!(event.getInventory().getHolder() instanceof ServerTemplateHolder)) return;
+        ServerTemplateHolder holder = (ServerTemplateHolder) event.getInventory().getHolder();
         
+        Player player = (Player) event.getWhoClicked();
         event.setCancelled(true);
         
         if (event.getCurrentItem() == null || event.getCurrentItem().getType() == Material.AIR) return;
+        // Clicks in the player's own inventory have nothing to act on
+        if (event.getRawSlot() >= event.getInventory().getSize()) return;
         
         ItemStack clickedItem = event.getCurrentItem();
         ItemMeta meta = clickedItem.getItemMeta();
         if (meta == null) return;
         
-        String displayName = meta.getDisplayName();
-        boolean isAdmin = player.hasPermission("copysign.admin");
+        boolean isAdmin = Permissions.isAdmin(player);
         
         // Handle close button
         if (clickedItem.getType() == Material.BARRIER) {
@@ -63,15 +64,14 @@ public class ServerTemplateGUIListener implements Listener {
         }
         
         // Handle create new template button (admin only)
-        if (clickedItem.getType() == Material.EMERALD && isAdmin) {
+        if (clickedItem.getType() == Material.EMERALD && holder.canEdit() && isAdmin) {
             ItemStack heldItem = player.getInventory().getItemInMainHand();
-            if (heldItem == null || heldItem.getType() == Material.AIR || !heldItem.getType().name().endsWith("_SIGN")) {
+            if (heldItem == null || heldItem.getType() == Material.AIR || !SignMaterials.isSign(heldItem.getType())) {
                 player.sendMessage(Lang.TEMPLATE_MUST_HOLD_SIGN_DATA.getWithPrefix());
                 return;
             }
             
-            NBTItem nbtItem = new NBTItem(heldItem);
-            if (!nbtItem.hasTag("copiedSignFront") || !nbtItem.hasTag("copiedSignBack")) {
+            if (!CopiedSignPayload.isPresent(heldItem)) {
                 player.sendMessage(Lang.TEMPLATE_NO_DATA_ERROR.getWithPrefix());
                 return;
             }
@@ -85,22 +85,9 @@ public class ServerTemplateGUIListener implements Listener {
         }
         
         // Handle template items
-        if (clickedItem.getType().name().endsWith("_SIGN")) {
-            // Extract template name from lore (should be at index 1 after the top separator)
-            List<String> lore = meta.getLore();
-            String templateName = null;
-            if (lore != null && lore.size() > 1) {
-                // The name is on line index 1, after SEPARATOR_TOP
-                String nameLine = lore.get(1);
-                templateName = ChatColor.stripColor(nameLine).trim();
-            }
-            
+        String templateName = holder.getTemplateName(event.getRawSlot());
+        if (templateName != null) {
             if (event.getClick() == ClickType.LEFT) {
-                if (templateName == null) {
-                    player.sendMessage(Lang.TEMPLATE_NAME_NOT_IDENTIFIED.getWithPrefix());
-                    return;
-                }
-                
                 // Load template
                 SavedSignData templateData = templateManager.getTemplate(templateName);
                 if (templateData == null) {
@@ -109,13 +96,13 @@ public class ServerTemplateGUIListener implements Listener {
                 }
                 
                 ItemStack heldItem = player.getInventory().getItemInMainHand();
-                if (heldItem == null || heldItem.getType() == Material.AIR || !heldItem.getType().name().endsWith("_SIGN")) {
+                if (heldItem == null || heldItem.getType() == Material.AIR || !SignMaterials.isSign(heldItem.getType())) {
                     player.sendMessage(Lang.MUST_HOLD_SIGN.getWithPrefix());
                     return;
                 }
                 
                 // Check sign type compatibility
-                boolean heldHanging = heldItem.getType().name().contains("HANGING_SIGN");
+                boolean heldHanging = SignMaterials.isHanging(heldItem.getType());
                 boolean templateHanging = templateData.getSignType().equalsIgnoreCase("hanging");
                 if (heldHanging != templateHanging) {
                     player.sendMessage(Lang.SIGN_TYPE_MISMATCH.formatWithPrefix(
@@ -124,37 +111,14 @@ public class ServerTemplateGUIListener implements Listener {
                     return;
                 }
                 
-                // Apply template data to held sign with enhanced per-side glow support
-                NBTItem nbtItem = new NBTItem(heldItem);
-                
-                // Clear any existing NBT data first
-                nbtItem.removeKey("copiedSignFront");
-                nbtItem.removeKey("copiedSignBack");
-                nbtItem.removeKey("copiedSignFrontColor");
-                nbtItem.removeKey("copiedSignBackColor");
-                nbtItem.removeKey("signGlowing");
-                nbtItem.removeKey("frontGlowing");
-                nbtItem.removeKey("backGlowing");
-                nbtItem.removeKey("signType");
-                
-                nbtItem.setString("copiedSignFront", String.join("\n", templateData.getFront()));
-                nbtItem.setString("copiedSignBack", String.join("\n", templateData.getBack()));
-                nbtItem.setString("copiedSignFrontColor", templateData.getFrontColor());
-                nbtItem.setString("copiedSignBackColor", templateData.getBackColor());
-                
-                // Store per-side glow states
-                nbtItem.setBoolean("frontGlowing", templateData.isFrontGlowing());
-                nbtItem.setBoolean("backGlowing", templateData.isBackGlowing());
-                nbtItem.setBoolean("signGlowing", templateData.isGlowing()); // Legacy compatibility
-                
-                nbtItem.setString("signType", templateData.getSignType());
+                // Apply template data to held sign, replacing any existing copied data
+                ItemStack updatedItem = CopiedSignPayload.of(templateData).writeTo(heldItem);
                 
                 // Update item with premium lore showing ONLY template name (no physical item duplication)
-                ItemStack updatedItem = nbtItem.getItem();
                 ItemMeta updatedMeta = updatedItem.getItemMeta();
                 if (updatedMeta != null) {
                     // Use simple SignLoreBuilder with ONLY template name - Minecraft handles physical item name
-                    List<String> updatedLore = SignLoreBuilder.buildPremiumSignLore(
+                    List<String> updatedLore = SignLoreBuilder.buildItemSignLore(
                         templateName,
                         templateData.getFront(),
                         templateData.getBack(),
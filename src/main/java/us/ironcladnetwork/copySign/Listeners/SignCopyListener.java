@@ -1,7 +1,5 @@
 package us.ironcladnetwork.copySign.Listeners;
 
-import de.tr7zw.nbtapi.NBTItem;
-import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.block.Sign;
 import org.bukkit.entity.Player;
@@ -13,8 +11,10 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import us.ironcladnetwork.copySign.Lang.Lang;
 import us.ironcladnetwork.copySign.CopySign;
+import us.ironcladnetwork.copySign.Util.CopiedSignPayload;
 import us.ironcladnetwork.copySign.Util.ErrorHandler;
 import us.ironcladnetwork.copySign.Util.NBTValidationUtil;
+import us.ironcladnetwork.copySign.Util.SignMaterials;
 import us.ironcladnetwork.copySign.Util.Permissions;
 import us.ironcladnetwork.copySign.Util.VersionCompatibility;
 import java.util.List;
@@ -61,43 +61,34 @@ public class SignCopyListener implements Listener {
         if (event.getAction() != Action.LEFT_CLICK_BLOCK)
             return;
 
+        // Return silently for non-sign blocks to avoid spam. The material table
+        // answers this without taking a block state snapshot.
+        Block clickedBlock = event.getClickedBlock();
+        if (clickedBlock == null || !SignMaterials.isSign(clickedBlock.getType()))
+            return;
+
         Player player = event.getPlayer();
         
         // Check if sneaking is required for copying (from config)
         if (CopySign.getInstance().getConfigManager().requireSneakToCopy() && !player.isSneaking())
             return;
 
-        // First check if the player is holding a sign - if not, silently return
+        // Check if the player is holding a sign - if not, silently return
         ItemStack heldItem = player.getInventory().getItemInMainHand();
-        if (heldItem == null || heldItem.getType() == Material.AIR || !heldItem.getType().name().endsWith("_SIGN")) {
+        if (heldItem == null || !SignMaterials.isSign(heldItem.getType())) {
             // Player is not holding a sign, so they're not trying to copy - just return silently
             return;
         }
 
         // Check if the copy sign feature is enabled before doing any further validation
         if (!CopySign.getToggleManager().isEnabled(player)) {
-            // Only show the disabled message if they're actually clicking on a sign
-            Block clickedBlock = event.getClickedBlock();
-            if (clickedBlock != null && clickedBlock.getState() instanceof Sign) {
-                player.sendMessage(Lang.COPYSIGN_DISABLED.getWithPrefix());
-            }
-            // Otherwise silently return
+            player.sendMessage(Lang.COPYSIGN_DISABLED.getWithPrefix());
             return;
         }
         
         // Check if the sign-copy feature is enabled in config
         if (!CopySign.getInstance().getConfigManager().isSignCopyEnabled()) {
-            Block clickedBlock = event.getClickedBlock();
-            if (clickedBlock != null && clickedBlock.getState() instanceof Sign) {
-                player.sendMessage(Lang.COMMAND_FEATURE_DISABLED.formatWithPrefix("%feature%", "Sign copying"));
-            }
-            return;
-        }
-
-        // Now check if the clicked block is a sign (return silently if not)
-        Block clickedBlock = event.getClickedBlock();
-        if (clickedBlock == null || !(clickedBlock.getState() instanceof Sign)) {
-            // Return silently for non-sign blocks to avoid spam
+            player.sendMessage(Lang.COMMAND_FEATURE_DISABLED.formatWithPrefix("%feature%", "Sign copying"));
             return;
         }
 
@@ -114,23 +105,20 @@ public class SignCopyListener implements Listener {
         }
 
         // Check if the clicked sign type is allowed
-        if (!SignValidationUtil.isSignTypeAllowed(clickedBlock.getType().name())) {
+        if (!SignValidationUtil.isSignTypeAllowed(clickedBlock.getType())) {
             player.sendMessage(Lang.SIGN_TYPE_NOT_ALLOWED_COPY.getWithPrefix());
             return;
         }
         
         // Check if the held sign type is allowed
-        if (!SignValidationUtil.isSignTypeAllowed(heldItem.getType().name())) {
+        if (!SignValidationUtil.isSignTypeAllowed(heldItem.getType())) {
             player.sendMessage(Lang.SIGN_TYPE_NOT_ALLOWED_COPY.getWithPrefix());
             return;
         }
 
         // Determine sign type category for held item and clicked block.
-        String heldType = heldItem.getType().name();
-        String clickedType = clickedBlock.getType().name();
-        // A sign is considered hanging if its type name contains "HANGING_SIGN".
-        boolean heldHanging = heldType.contains("HANGING_SIGN");
-        boolean clickedHanging = clickedType.contains("HANGING_SIGN");
+        boolean heldHanging = SignMaterials.isHanging(heldItem.getType());
+        boolean clickedHanging = SignMaterials.isHanging(clickedBlock.getType());
         
         // Check if player has permission to copy from this sign type
         if (!Permissions.canCopySignType(player, clickedHanging)) {
@@ -158,7 +146,10 @@ public class SignCopyListener implements Listener {
             return;
         }
 
-        Sign sign = (Sign) clickedBlock.getState();
+        // The only block state snapshot taken for a copy
+        if (!(clickedBlock.getState() instanceof Sign sign)) {
+            return;
+        }
         // Retrieve side colors using the new API.
         DyeColor frontColor = sign.getSide(org.bukkit.block.sign.Side.FRONT).getColor();
         DyeColor backColor = sign.getSide(org.bukkit.block.sign.Side.BACK).getColor();
@@ -170,76 +161,53 @@ public class SignCopyListener implements Listener {
             backColor = null;
         }
 
-        // Concatenate the sign's four lines for both front and back sides using newline as the separator.
-        StringBuilder frontText = new StringBuilder();
-        StringBuilder backText = new StringBuilder();
-        for (int i = 0; i < 4; i++) {
-            frontText.append(sign.getSide(org.bukkit.block.sign.Side.FRONT).getLine(i));
-            backText.append(sign.getSide(org.bukkit.block.sign.Side.BACK).getLine(i));
-            if (i < 3) {
-                frontText.append("\n");
-                backText.append("\n");
-            }
-        }
+        // Copy the sign's lines for both front and back sides.
+        String[] frontLines = sign.getSide(org.bukkit.block.sign.Side.FRONT).getLines();
+        String[] backLines = sign.getSide(org.bukkit.block.sign.Side.BACK).getLines();
 
         // Copy the per-side glow states from the sign using enhanced version-compatible methods
         boolean frontGlowing = VersionCompatibility.isSignGlowingFront(sign);
         boolean backGlowing = VersionCompatibility.isSignGlowingBack(sign);
-        boolean legacyGlowing = frontGlowing || backGlowing; // Legacy compatibility
 
         // If the player lacks permission to copy glow, disable it
         if (!Permissions.canCopyGlow(player) || !CopySign.getInstance().getConfigManager().isCopyGlowEnabled()) {
             frontGlowing = false;
             backGlowing = false;
-            legacyGlowing = false;
         }
 
         // Use NBT-API to store the copied sign text and side colors onto the held sign item.
         try {
             // Validate sign text before storing in NBT
-            String frontTextStr = frontText.toString();
-            String backTextStr = backText.toString();
-            if (!NBTValidationUtil.validateNBTData(frontTextStr) || !NBTValidationUtil.validateNBTData(backTextStr)) {
+            if (!NBTValidationUtil.validateNBTLines(frontLines) || !NBTValidationUtil.validateNBTLines(backLines)) {
                 player.sendMessage(Lang.PREFIX.get() + "§cSign text too large to copy");
                 return;
             }
             
-            NBTItem nbtItem = new NBTItem(heldItem);
-            nbtItem.setString("copiedSignFront", frontTextStr);
-            nbtItem.setString("copiedSignBack", backTextStr);
             // Only store color information if colors were copied
-            if (frontColor != null) {
-                nbtItem.setString("copiedSignFrontColor", frontColor.name());
-            }
-            if (backColor != null) {
-                nbtItem.setString("copiedSignBackColor", backColor.name());
-            }
-            // Store per-side glow states with legacy compatibility
-            nbtItem.setBoolean("frontGlowing", frontGlowing);
-            nbtItem.setBoolean("backGlowing", backGlowing);
-            nbtItem.setBoolean("signGlowing", legacyGlowing); // Legacy compatibility
-            // Store the sign type so that later paste or change events can verify the type if desired.
-            nbtItem.setString("signType", clickedHanging ? "hanging" : "regular");
-
-            // Get the updated item from NBTItem.
-            ItemStack updatedItem = nbtItem.getItem();
+            CopiedSignPayload payload = new CopiedSignPayload(
+                frontLines,
+                backLines,
+                frontColor != null ? frontColor.name() : null,
+                backColor != null ? backColor.name() : null,
+                frontGlowing,
+                backGlowing,
+                clickedHanging ? "hanging" : "regular"
+            );
+            ItemStack updatedItem = payload.writeTo(heldItem);
 
             // Update item meta with premium lore showing ONLY content identifier (no physical item duplication)
             ItemMeta meta = updatedItem.getItemMeta();
             if (meta != null) {
-                String[] frontLines = frontText.toString().split("\n");
-                String[] backLines = backText.toString().split("\n");
-                
                 // Use simple SignLoreBuilder with ONLY content identifier - Minecraft handles physical item name
-                List<String> lore = SignLoreBuilder.buildPremiumSignLore(
+                List<String> lore = SignLoreBuilder.buildItemSignLore(
                     "Copied Sign",
                     frontLines, 
                     backLines, 
-                    frontColor != null ? frontColor.name() : null, 
-                    backColor != null ? backColor.name() : null, 
+                    payload.getFrontColor(), 
+                    payload.getBackColor(), 
                     frontGlowing,
                     backGlowing,
-                    clickedHanging ? "hanging" : "regular",
+                    payload.getSignType(),
                     "Copied"
                 );
                 
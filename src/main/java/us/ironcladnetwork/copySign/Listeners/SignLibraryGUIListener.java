@@ -1,7 +1,5 @@
 package us.ironcladnetwork.copySign.Listeners;
 
-import de.tr7zw.nbtapi.NBTItem;
-import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -11,15 +9,16 @@ import org.bukkit.event.inventory.ClickType;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import us.ironcladnetwork.copySign.Lang.Lang;
+import us.ironcladnetwork.copySign.Util.CopiedSignPayload;
 import us.ironcladnetwork.copySign.Util.SignLibraryGUI;
+import us.ironcladnetwork.copySign.Util.SignLibraryHolder;
 import us.ironcladnetwork.copySign.Util.SignLibraryManager;
 import us.ironcladnetwork.copySign.Util.SavedSignData;
 import us.ironcladnetwork.copySign.Util.DesignConstants;
 import us.ironcladnetwork.copySign.Util.SignLoreBuilder;
+import us.ironcladnetwork.copySign.Util.SignMaterials;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Map.Entry;
 
 /**
@@ -30,13 +29,14 @@ import java.util.Map.Entry;
  * <ul>
  *   <li>Prevents item removal by cancelling all click events</li>
  *   <li>Handles navigation between pages (Previous/Next buttons)</li>
+ *   <li>Leaves search mode through the search button</li>
  *   <li>Processes sign selection and provides load instructions</li>
  *   <li>Manages the Exit button to close the GUI</li>
  * </ul>
  * <p>
- * The listener identifies Sign Library GUIs by checking if the inventory title starts
- * with "Sign Library". It parses page information from the title format:
- * "Sign Library (Page X/Y)" where X is the current page and Y is the total pages.
+ * The listener identifies Sign Library GUIs by their {@link SignLibraryHolder}, which
+ * also carries the current page, the listed entries and the search query. Clicks in
+ * any other inventory leave after a single {@code instanceof} check.
  * 
  * @author IroncladNetwork
  * @since 2.0.0
@@ -58,9 +58,10 @@ public class SignLibraryGUIListener implements Listener {
 
     @EventHandler
     public void onInventoryClick(InventoryClickEvent event) {
-        // Check if the inventory view is the Sign Library GUI by its title.
-        if (event.getView().getTitle() == null || !event.getView().getTitle().contains("Sign Library"))
+        // Check if the inventory view is the Sign Library GUI by its holder.
+        if (!(event.getInventory().getHolder() instanceof SignLibraryHolder))
             return;
+        SignLibraryHolder holder = (SignLibraryHolder) event.getInventory().getHolder();
 
         // Cancel all clicks to prevent the player from taking items.
         event.setCancelled(true);
@@ -69,49 +70,51 @@ public class SignLibraryGUIListener implements Listener {
         if (clickedItem == null || clickedItem.getType() == Material.AIR || !clickedItem.hasItemMeta())
             return;
 
-        ItemMeta meta = clickedItem.getItemMeta();
-        if (meta == null) return; // Prevent NPE
-        String displayName = meta.getDisplayName();
+        // Clicks in the player's own inventory have nothing to act on.
+        int slot = event.getRawSlot();
+        if (slot >= SignLibraryGUI.INVENTORY_SIZE)
+            return;
+
         Player player = (Player) event.getWhoClicked();
 
         // Exit button: close the inventory.
-        if (clickedItem.getType() == Material.BARRIER) {
+        if (slot == SignLibraryGUI.EXIT_SLOT) {
             player.closeInventory();
             return;
         }
 
-        // Navigation buttons.
-        if (clickedItem.getType() == Material.ARROW) {
-            // Parse current page from the inventory title.
-            int currentPage = parseCurrentPage(event.getView().getTitle());
-            if (displayName.contains("Previous Page")) {
-                int newPage = currentPage - 1; // currentPage is 1-indexed
-                openPageForPlayer(player, newPage);
-            } else if (displayName.contains("Next Page")) {
-                int newPage = currentPage + 1;
-                openPageForPlayer(player, newPage);
+        // Search button: return from search results to the full library.
+        if (slot == SignLibraryGUI.SEARCH_SLOT) {
+            if (holder.getSession().isSearch()) {
+                SignLibraryGUI.open(player, signLibraryManager.getAllSigns(player));
             }
             return;
         }
 
+        // Navigation buttons page through the session the holder belongs to.
+        if (slot == SignLibraryGUI.PREVIOUS_SLOT) {
+            SignLibraryGUI.openPage(player, holder.getSession(), holder.getPage() - 1);
+            return;
+        }
+        if (slot == SignLibraryGUI.NEXT_SLOT) {
+            SignLibraryGUI.openPage(player, holder.getSession(), holder.getPage() + 1);
+            return;
+        }
+
+        // Sort button: re-sort the session and start again from the first page.
+        if (slot == SignLibraryGUI.SORT_SLOT) {
+            holder.getSession().cycleSortMode();
+            SignLibraryGUI.openPage(player, holder.getSession(), 0);
+            return;
+        }
+
         // Handle a click on a sign entry item.
-        if (clickedItem.getType().name().endsWith("_SIGN")) {
+        Entry<String, SavedSignData> entry = holder.getEntry(slot);
+        if (entry != null) {
             if (event.getClick() == ClickType.LEFT) {
-                // Extract sign name from lore (should be at index 1 after the top separator)
-                List<String> lore = meta.getLore();
-                String signName = null;
-                if (lore != null && lore.size() > 1) {
-                    // The name is on line index 1, after SEPARATOR_TOP
-                    String nameLine = lore.get(1);
-                    signName = ChatColor.stripColor(nameLine).trim();
-                }
-                
-                if (signName == null) {
-                    player.sendMessage(Lang.SIGN_NAME_NOT_IDENTIFIED.getWithPrefix());
-                    return;
-                }
+                String signName = entry.getKey();
                 
-                // Load sign data
+                // Load the current sign data, it may have changed since the GUI was opened
                 SavedSignData signData = signLibraryManager.getSign(player, signName);
                 if (signData == null) {
                     player.sendMessage(Lang.SIGN_NOT_FOUND.getWithPrefix());
@@ -119,13 +122,13 @@ public class SignLibraryGUIListener implements Listener {
                 }
                 
                 ItemStack heldItem = player.getInventory().getItemInMainHand();
-                if (heldItem == null || heldItem.getType() == Material.AIR || !heldItem.getType().name().endsWith("_SIGN")) {
+                if (heldItem == null || heldItem.getType() == Material.AIR || !SignMaterials.isSign(heldItem.getType())) {
                     player.sendMessage(Lang.MUST_HOLD_SIGN.getWithPrefix());
                     return;
                 }
                 
                 // Check sign type compatibility
-                boolean heldHanging = heldItem.getType().name().contains("HANGING_SIGN");
+                boolean heldHanging = SignMaterials.isHanging(heldItem.getType());
                 boolean savedHanging = signData.getSignType().equalsIgnoreCase("hanging");
                 if (heldHanging != savedHanging) {
                     player.sendMessage(Lang.SIGN_TYPE_MISMATCH.formatWithPrefix(
@@ -134,36 +137,13 @@ public class SignLibraryGUIListener implements Listener {
                     return;
                 }
                 
-                // Apply sign data to held sign
-                NBTItem nbtItem = new NBTItem(heldItem);
-                
-                // Clear any existing NBT data first
-                nbtItem.removeKey("copiedSignFront");
-                nbtItem.removeKey("copiedSignBack");
-                nbtItem.removeKey("copiedSignFrontColor");
-                nbtItem.removeKey("copiedSignBackColor");
-                nbtItem.removeKey("signGlowing");
-                nbtItem.removeKey("frontGlowing");
-                nbtItem.removeKey("backGlowing");
-                nbtItem.removeKey("signType");
-                
-                nbtItem.setString("copiedSignFront", String.join("\n", signData.getFront()));
-                nbtItem.setString("copiedSignBack", String.join("\n", signData.getBack()));
-                nbtItem.setString("copiedSignFrontColor", signData.getFrontColor());
-                nbtItem.setString("copiedSignBackColor", signData.getBackColor());
-                
-                // Store per-side glow states
-                nbtItem.setBoolean("frontGlowing", signData.isFrontGlowing());
-                nbtItem.setBoolean("backGlowing", signData.isBackGlowing());
-                nbtItem.setBoolean("signGlowing", signData.isGlowing()); // Legacy compatibility
-                
-                nbtItem.setString("signType", signData.getSignType());
+                // Apply sign data to held sign, replacing any existing copied data
+                ItemStack updatedItem = CopiedSignPayload.of(signData).writeTo(heldItem);
                 
                 // Update item with premium lore
-                ItemStack updatedItem = nbtItem.getItem();
                 ItemMeta updatedMeta = updatedItem.getItemMeta();
                 if (updatedMeta != null) {
-                    List<String> newLore = SignLoreBuilder.buildPremiumSignLore(
+                    List<String> newLore = SignLoreBuilder.buildItemSignLore(
                         signName,
                         signData.getFront(),
                         signData.getBack(),
@@ -181,6 +161,7 @@ public class SignLibraryGUIListener implements Listener {
                 
                 player.getInventory().setItemInMainHand(updatedItem);
                 player.closeInventory();
+                signLibraryManager.markUsed(player, signName);
                 player.sendMessage(Lang.SIGN_LOADED_TO_HELD.formatWithPrefix("%name%", signName));
                 
                 // Send enhanced mixed glow state warning if applicable
@@ -191,34 +172,4 @@ public class SignLibraryGUIListener implements Listener {
         }
     }
 
-    /**
-     * Parses the current page number from the inventory title.
-     * Expected format: "Sign Library (Page X/Y)" where X is the current page (1-indexed).
-     *
-     * @param title The inventory title.
-     * @return The current page number (1-indexed), or 1 on parsing errors.
-     */
-    private int parseCurrentPage(String title) {
-        try {
-            int start = title.indexOf("Page ") + 5;
-            int end = title.indexOf("/");
-            String pageStr = title.substring(start, end).trim();
-            return Integer.parseInt(pageStr);
-        } catch (Exception e) {
-            return 1;
-        }
-    }
-
-    /**
-     * Reopens the Sign Library GUI for the player on the specified page.
-     *
-     * @param player       The player.
-     * @param newPageOneIndexed The new page number (1-indexed).
-     */
-    private void openPageForPlayer(Player player, int newPageOneIndexed) {
-        int newPageIndex = newPageOneIndexed - 1; // Convert to 0-indexed.
-        Map<String, SavedSignData> savedSigns = signLibraryManager.getAllSigns(player);
-        List<Entry<String, SavedSignData>> entries = new ArrayList<>(savedSigns.entrySet());
-        SignLibraryGUI.openPage(player, entries, newPageIndex);
-    }
 }
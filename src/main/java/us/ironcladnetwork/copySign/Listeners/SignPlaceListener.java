@@ -1,6 +1,6 @@
 package us.ironcladnetwork.copySign.Listeners;
 
-import de.tr7zw.nbtapi.NBTItem;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.block.Sign;
@@ -10,10 +10,13 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.entity.Player;
 import us.ironcladnetwork.copySign.CopySign;
+import us.ironcladnetwork.copySign.Util.CopiedSignPayload;
 import us.ironcladnetwork.copySign.Util.Util;
 import us.ironcladnetwork.copySign.Util.SignDataCache;
+import us.ironcladnetwork.copySign.Util.SignMaterials;
 import org.bukkit.DyeColor;
 import org.bukkit.block.sign.Side;
+import org.bukkit.block.sign.SignSide;
 import java.util.List;
 import us.ironcladnetwork.copySign.Lang.Lang;
 import us.ironcladnetwork.copySign.Util.SignValidationUtil;
@@ -26,13 +29,15 @@ import us.ironcladnetwork.copySign.Util.SignValidationUtil;
  * <ul>
  *   <li>Validates that the sign contains the required NBT data</li>
  *   <li>Checks cooldowns and permissions for paste operations</li>
- *   <li>Applies stored colors directly to the placed sign</li>
- *   <li>Caches text data for the {@link SignChangeListener} to apply</li>
+ *   <li>Applies colors, glow and the text of both sides in a single state update</li>
+ *   <li>Caches the front text for the {@link SignChangeListener} to reapply</li>
  *   <li>Enforces sign type restrictions from configuration</li>
  * </ul>
  * <p>
- * The actual text content is applied by {@link SignChangeListener} after the sign
- * is fully placed and ready for text modification.
+ * The server rewrites the front text from the sign editor once the player closes
+ * it, which would drop the copied formatting; {@link SignChangeListener} puts the
+ * cached front text back through that event, so the sign is written only once
+ * more. Colors, glow and the back side are kept from the placement update.
  * 
  * @author IroncladNetwork
  * @since 2.0.0
@@ -49,17 +54,17 @@ public class SignPlaceListener implements Listener {
     @EventHandler
     public void onSignPlace(BlockPlaceEvent event) {
         Block block = event.getBlockPlaced();
-        // Ensure the placed block is a sign.
-        if (!(block.getState() instanceof Sign))
+        // Ensure the placed block is a sign, without taking a block state snapshot.
+        if (!SignMaterials.isSign(block.getType()))
             return;
 
         ItemStack itemStack = event.getItemInHand();
         if (itemStack == null || itemStack.getType() == Material.AIR)
             return;
 
-        NBTItem nbtItem = new NBTItem(itemStack);
-        // Check that both front and back text have been stored via NBT.
-        if (!nbtItem.hasTag("copiedSignFront") || !nbtItem.hasTag("copiedSignBack"))
+        // Read the copied sign data stored via NBT, if any.
+        CopiedSignPayload payload = CopiedSignPayload.read(itemStack);
+        if (payload == null)
             return;
         
         Player player = event.getPlayer();
@@ -78,7 +83,7 @@ public class SignPlaceListener implements Listener {
         }
         
         // Check if the sign type is allowed for pasting
-        if (!SignValidationUtil.isSignTypeAllowed(itemStack.getType().name())) {
+        if (!SignValidationUtil.isSignTypeAllowed(itemStack.getType())) {
             player.sendMessage(Lang.SIGN_TYPE_NOT_ALLOWED_PASTE.getWithPrefix());
             event.setCancelled(true); // Cancel the sign placement
             return;
@@ -91,58 +96,50 @@ public class SignPlaceListener implements Listener {
             return;
         }
         
-        Sign sign = (Sign) block.getState();
+        if (!(block.getState() instanceof Sign sign))
+            return;
         
         // Apply the dye colors directly to the sign
-        if (nbtItem.hasTag("copiedSignFrontColor")) {
+        if (payload.getFrontColor() != null) {
             try {
-                DyeColor frontDyeColor = DyeColor.valueOf(nbtItem.getString("copiedSignFrontColor"));
+                DyeColor frontDyeColor = DyeColor.valueOf(payload.getFrontColor());
                 sign.getSide(Side.FRONT).setColor(frontDyeColor);
             } catch (IllegalArgumentException e) {
                 // Invalid dye color, skip it
             }
         }
         
-        if (nbtItem.hasTag("copiedSignBackColor")) {
+        if (payload.getBackColor() != null) {
             try {
-                DyeColor backDyeColor = DyeColor.valueOf(nbtItem.getString("copiedSignBackColor"));
+                DyeColor backDyeColor = DyeColor.valueOf(payload.getBackColor());
                 sign.getSide(Side.BACK).setColor(backDyeColor);
             } catch (IllegalArgumentException e) {
                 // Invalid dye color, skip it
             }
         }
         
-        // Update the sign state
+        // Apply the text and glow of both sides, so the sign is complete in this one update
+        String[] frontLines = Util.preserveColors(payload.getFront());
+        String[] backLines = Util.preserveColors(payload.getBack());
+        applySide(sign.getSide(Side.FRONT), frontLines, payload.isFrontGlowing());
+        applySide(sign.getSide(Side.BACK), backLines, payload.isBackGlowing());
         sign.update();
 
-        // Cache the text data for the SignChangeEvent
-        String copiedSignFront = nbtItem.getString("copiedSignFront");
-        String copiedSignBack = nbtItem.getString("copiedSignBack");
-
-        // Read per-side glow states, falling back to legacy 'signGlowing' tag
-        boolean frontGlowing;
-        boolean backGlowing;
-        if (nbtItem.hasTag("frontGlowing") || nbtItem.hasTag("backGlowing")) {
-            // New per-side format
-            frontGlowing = nbtItem.hasTag("frontGlowing") ? nbtItem.getBoolean("frontGlowing") : false;
-            backGlowing = nbtItem.hasTag("backGlowing") ? nbtItem.getBoolean("backGlowing") : false;
-        } else {
-            // Legacy single-glow format
-            boolean signGlowing = nbtItem.hasTag("signGlowing") ? nbtItem.getBoolean("signGlowing") : false;
-            frontGlowing = signGlowing;
-            backGlowing = signGlowing;
-        }
-
-        String[] frontLines = copiedSignFront.split("\n", -1);
-        frontLines = Util.preserveColors(frontLines);
-        String[] backLines = copiedSignBack.split("\n", -1);
-        backLines = Util.preserveColors(backLines);
-
-        // Store only the text data in cache, as we've already applied the dye colors
-        SignDataCache.put(block.getLocation(), new SignDataCache.SignData(frontLines, backLines, frontGlowing, backGlowing));
+        // Cache the text so the SignChangeEvent keeps its formatting
+        SignDataCache.put(block.getLocation(), new SignDataCache.SignData(frontLines, backLines, payload.isFrontGlowing(), payload.isBackGlowing()), player.getUniqueId());
         
         // Record command usage
         CopySign.getCooldownManager().recordCommandUse(player, "paste");
     }
     
+    /**
+     * Sets one side's lines and glow on the sign state, without updating the block.
+     */
+    private static void applySide(SignSide side, String[] lines, boolean glowing) {
+        for (int i = 0; i < Math.min(lines.length, 4); i++) {
+            side.line(i, LegacyComponentSerializer.legacySection().deserialize(lines[i] != null ? lines[i] : ""));
+        }
+        side.setGlowingText(glowing);
+    }
+    
 } 
\ No newline at end of file
@@ -1,29 +1,18 @@
 package us.ironcladnetwork.copySign.Util;
 
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Advanced color detection and analysis utility for sign text.
  * Handles both single-color and multi-color sign detection with accurate formatting.
+ * Every analysis reads a single {@link ColorScan} of the lines.
  * 
  * @author IroncladNetwork
  * @since 2.1.1
  */
 public final class ColorAnalyzer {
     
-    /**
-     * Pattern to match Minecraft color codes (§0-9, §a-f, §k-o, §r)
-     */
-    private static final Pattern COLOR_CODE_PATTERN = Pattern.compile("§([0-9a-fk-or])");
-    
-    /**
-     * Pattern to match only color codes (§0-9, §a-f), excluding formatting codes
-     */
-    private static final Pattern PURE_COLOR_PATTERN = Pattern.compile("§([0-9a-f])");
-    
     /**
      * Analyzes the color content of sign lines and returns appropriate display string.
      * 
@@ -35,47 +24,24 @@ public final class ColorAnalyzer {
             return DesignConstants.NO_COLOR;
         }
         
-        Set<String> detectedColors = new HashSet<>();
-        boolean hasColorCodes = false;
-        boolean hasNonColorFormatting = false;
-        
-        for (String line : lines) {
-            if (line == null || line.isEmpty()) {
-                continue;
-            }
-            
-            // Check for any color codes
-            Matcher colorMatcher = COLOR_CODE_PATTERN.matcher(line);
-            while (colorMatcher.find()) {
-                hasColorCodes = true;
-                String code = colorMatcher.group(1).toLowerCase();
-                
-                // Separate pure colors from formatting codes
-                if (code.matches("[0-9a-f]")) {
-                    detectedColors.add(code);
-                } else {
-                    hasNonColorFormatting = true;
-                }
-            }
-        }
+        ColorScan scan = ColorScan.of(lines);
         
         // No color codes found
-        if (!hasColorCodes) {
+        if (!scan.hasCodes()) {
             return DesignConstants.DEFAULT_COLOR;
         }
         
         // No pure color codes, only formatting
-        if (detectedColors.isEmpty()) {
+        if (scan.getColorCount() == 0) {
             return DesignConstants.SUPPORTING + "Formatted";
         }
         
         // Single color detected
-        if (detectedColors.size() == 1) {
-            String singleColor = detectedColors.iterator().next();
-            String colorName = formatSingleColor(singleColor);
+        if (scan.getColorCount() == 1) {
+            String colorName = singleColorName(scan);
             
             // Add formatting indicator if present
-            if (hasNonColorFormatting) {
+            if (scan.hasFormatting()) {
                 return DesignConstants.CLEAN_TEXT + colorName + DesignConstants.SUPPORTING + " (Formatted)";
             }
             return DesignConstants.CLEAN_TEXT + colorName;
@@ -96,15 +62,9 @@ public final class ColorAnalyzer {
             return ColorComplexity.NONE;
         }
         
-        Set<String> colors = new HashSet<>();
-        Matcher matcher = PURE_COLOR_PATTERN.matcher(line);
-        
-        while (matcher.find()) {
-            colors.add(matcher.group(1).toLowerCase());
-        }
-        
-        if (colors.isEmpty()) return ColorComplexity.NONE;
-        if (colors.size() == 1) return ColorComplexity.SINGLE;
+        int colors = ColorScan.of(line).getColorCount();
+        if (colors == 0) return ColorComplexity.NONE;
+        if (colors == 1) return ColorComplexity.SINGLE;
         return ColorComplexity.MULTI;
     }
     
@@ -173,31 +133,24 @@ public final class ColorAnalyzer {
     public static boolean hasMultiColorLines(String[] lines) {
         if (lines == null) return false;
         
-        for (String line : lines) {
-            if (analyzeLineComplexity(line) == ColorComplexity.MULTI) {
-                return true;
-            }
-        }
-        return false;
+        return ColorScan.of(lines).hasMultiColorLine();
     }
     
     /**
-     * Gets all unique colors used across all lines.
+     * Gets all unique legacy colors used across all lines.
      * 
      * @param lines Array of lines to analyze
-     * @return Set of color codes found
+     * @return Set of color codes found, in code order
      */
     public static Set<String> getAllColors(String[] lines) {
-        Set<String> allColors = new HashSet<>();
+        Set<String> allColors = new LinkedHashSet<>();
         
         if (lines == null) return allColors;
         
-        for (String line : lines) {
-            if (line == null) continue;
-            
-            Matcher matcher = PURE_COLOR_PATTERN.matcher(line);
-            while (matcher.find()) {
-                allColors.add(matcher.group(1).toLowerCase());
+        int colors = ColorScan.of(lines).getLegacyColors();
+        for (int i = 0; i < 16; i++) {
+            if ((colors & (1 << i)) != 0) {
+                allColors.add(String.valueOf(ColorScan.codeChar(i)));
             }
         }
         
@@ -211,25 +164,28 @@ public final class ColorAnalyzer {
      * @return Formatted color preview string with visual samples
      */
     public static String createColorPreview(String[] lines) {
-        Set<String> colors = getAllColors(lines);
+        ColorScan scan = ColorScan.of(lines);
         
-        if (colors.isEmpty()) {
+        if (scan.getColorCount() == 0) {
             return DesignConstants.NO_COLOR;
         }
         
-        if (colors.size() == 1) {
-            String colorCode = colors.iterator().next();
-            String colorName = formatSingleColor(colorCode);
-            return DesignConstants.createColorPreview("§" + colorCode, colorName);
+        if (scan.getColorCount() == 1) {
+            return singleColorPreview(scan);
         }
         
         StringBuilder preview = new StringBuilder();
+        int colors = scan.getLegacyColors();
         int count = 0;
-        for (String colorCode : colors) {
+        for (int i = 0; i < 16 && count < 5; i++) { // Limit to 5 color samples
+            if ((colors & (1 << i)) == 0) continue;
             if (count > 0) preview.append(" ");
-            preview.append("§").append(colorCode).append(DesignConstants.COLOR_BLOCK);
+            preview.append('§').append(ColorScan.codeChar(i)).append(DesignConstants.COLOR_BLOCK);
             count++;
-            if (count >= 5) break; // Limit to 5 color samples
+        }
+        if (count < 5 && scan.getFirstHexColor() >= 0) {
+            if (count > 0) preview.append(" ");
+            preview.append(hexColorCode(scan.getFirstHexColor())).append(DesignConstants.COLOR_BLOCK);
         }
         preview.append(" ").append(DesignConstants.createMultiColorPreview());
         
@@ -247,24 +203,21 @@ public final class ColorAnalyzer {
             return DesignConstants.NO_COLOR;
         }
         
-        Set<String> colors = getAllColors(lines);
-        boolean hasMultiColorLines = hasMultiColorLines(lines);
+        ColorScan scan = ColorScan.of(lines);
         
-        if (colors.isEmpty()) {
+        if (scan.getColorCount() == 0) {
             return DesignConstants.DEFAULT_COLOR;
         }
         
-        if (colors.size() == 1) {
-            String colorCode = colors.iterator().next();
-            String colorName = formatSingleColor(colorCode);
-            return DesignConstants.createColorPreview("§" + colorCode, colorName);
+        if (scan.getColorCount() == 1) {
+            return singleColorPreview(scan);
         }
         
         // Multiple colors detected - create enhanced preview
         StringBuilder result = new StringBuilder();
         result.append(DesignConstants.createMultiColorPreview());
         
-        if (hasMultiColorLines) {
+        if (scan.hasMultiColorLine()) {
             result.append("\n").append(DesignConstants.TREE_LAST)
                   .append(DesignConstants.MULTI_COLOR_DETECTED);
         }
@@ -272,6 +225,39 @@ public final class ColorAnalyzer {
         return result.toString();
     }
     
+    /**
+     * Names the only color of a scan with a single color.
+     */
+    private static String singleColorName(ColorScan scan) {
+        int colors = scan.getLegacyColors();
+        if (colors != 0) {
+            return formatSingleColor(String.valueOf(ColorScan.codeChar(Integer.numberOfTrailingZeros(colors))));
+        }
+        return String.format("#%06X", scan.getFirstHexColor());
+    }
+    
+    /**
+     * Creates the color sample of a scan with a single color.
+     */
+    private static String singleColorPreview(ColorScan scan) {
+        int colors = scan.getLegacyColors();
+        String colorCode = colors != 0
+                ? "§" + ColorScan.codeChar(Integer.numberOfTrailingZeros(colors))
+                : hexColorCode(scan.getFirstHexColor());
+        return DesignConstants.createColorPreview(colorCode, singleColorName(scan));
+    }
+    
+    /**
+     * Builds the §x§R§R§G§G§B§B code for a hex color.
+     */
+    private static String hexColorCode(int rgb) {
+        StringBuilder code = new StringBuilder(14).append("§x");
+        for (int shift = 20; shift >= 0; shift -= 4) {
+            code.append('§').append(Character.forDigit((rgb >> shift) & 0xF, 16));
+        }
+        return code.toString();
+    }
+    
     /**
      * Enumeration for color complexity levels.
      */
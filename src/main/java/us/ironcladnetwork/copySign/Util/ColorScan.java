@@ -0,0 +1,237 @@
+package us.ironcladnetwork.copySign.Util;
+
+/**
+ * The colour facts of a set of sign lines, gathered in one pass over their characters.
+ * <p>
+ * Each line is walked once, recognising legacy colour codes ({@code §0}-{@code §f}),
+ * formatting codes ({@code §k}-{@code §o}, {@code §r}) and hex colour runs
+ * ({@code §x§R§R§G§G§B§B}). The scan records the colours used, whether any
+ * formatting or per-line colour mixing occurs, and each line's trailing colour
+ * state as {@code ChatColor.getLastColors} would report it. {@link ColorAnalyzer}
+ * and {@link Util#preserveColors} read their answers from a scan instead of
+ * matching each line with regular expressions.
+ */
+public final class ColorScan {
+    private static final char COLOR_CHAR = '§';
+    private static final int HEX_RUN_LENGTH = 14;
+
+    // Bit per legacy colour code, 0-f
+    private int colors;
+    // First hex colour seen as 0xRRGGBB, and whether any other was seen
+    private int firstHex = -1;
+    private boolean multipleHex;
+    private int hexRuns;
+    private boolean formatting;
+    private boolean multiColorLine;
+    private final String[] lastColors;
+
+    private ColorScan(int lineCount) {
+        this.lastColors = new String[lineCount];
+    }
+
+    /**
+     * Scans sign lines.
+     *
+     * @param lines The lines to scan, may be null or contain nulls
+     * @return The colour facts of the lines
+     */
+    public static ColorScan of(String[] lines) {
+        if (lines == null) {
+            return new ColorScan(0);
+        }
+        ColorScan scan = new ColorScan(lines.length);
+        StringBuilder state = new StringBuilder(16);
+        for (int i = 0; i < lines.length; i++) {
+            scan.lastColors[i] = scan.scanLine(lines[i], state);
+        }
+        return scan;
+    }
+
+    /**
+     * Scans a single line.
+     *
+     * @param line The line to scan, may be null
+     * @return The colour facts of the line
+     */
+    public static ColorScan of(String line) {
+        ColorScan scan = new ColorScan(1);
+        scan.lastColors[0] = scan.scanLine(line, new StringBuilder(16));
+        return scan;
+    }
+
+    /**
+     * Walks one line, folding its codes into this scan.
+     *
+     * @param state Reusable buffer for the line's colour state
+     * @return The line's trailing colour state, empty if it has none
+     */
+    private String scanLine(String line, StringBuilder state) {
+        state.setLength(0);
+        if (line == null) {
+            return "";
+        }
+        int lineColors = 0;
+        int lineHex = -1;
+        boolean lineMixed = false;
+        int length = line.length();
+        for (int i = 0; i < length - 1; i++) {
+            if (line.charAt(i) != COLOR_CHAR) {
+                continue;
+            }
+            char code = line.charAt(i + 1);
+            if ((code == 'x' || code == 'X') && i + HEX_RUN_LENGTH <= length) {
+                int rgb = hexRun(line, i);
+                if (rgb >= 0) {
+                    hexRuns++;
+                    if (firstHex < 0) {
+                        firstHex = rgb;
+                    } else if (firstHex != rgb) {
+                        multipleHex = true;
+                    }
+                    if ((lineHex >= 0 && lineHex != rgb) || lineColors != 0) {
+                        lineMixed = true;
+                    }
+                    lineHex = rgb;
+                    state.setLength(0);
+                    state.append(line, i, i + HEX_RUN_LENGTH);
+                    i += HEX_RUN_LENGTH - 1;
+                    continue;
+                }
+            }
+            int color = colorIndex(code);
+            if (color >= 0) {
+                int bit = 1 << color;
+                if ((lineColors & ~bit) != 0 || lineHex >= 0) {
+                    lineMixed = true;
+                }
+                lineColors |= bit;
+                state.setLength(0);
+                state.append(COLOR_CHAR).append(code);
+                i++;
+            } else if ((code >= 'k' && code <= 'o') || code == 'r') {
+                formatting = true;
+                if (code == 'r') {
+                    state.setLength(0);
+                }
+                state.append(COLOR_CHAR).append(code);
+                i++;
+            }
+        }
+        colors |= lineColors;
+        multiColorLine |= lineMixed;
+        return state.length() == 0 ? "" : state.toString();
+    }
+
+    /**
+     * @return The colour as 0xRRGGBB if a hex run starts at the index, otherwise -1
+     */
+    private static int hexRun(String line, int start) {
+        int rgb = 0;
+        for (int i = start + 2; i < start + HEX_RUN_LENGTH; i += 2) {
+            if (line.charAt(i) != COLOR_CHAR) {
+                return -1;
+            }
+            int digit = hexDigit(line.charAt(i + 1));
+            if (digit < 0) {
+                return -1;
+            }
+            rgb = (rgb << 4) | digit;
+        }
+        return rgb;
+    }
+
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    // Legacy colour codes are lowercase, as ChatColor.getByChar expects
+    private static int colorIndex(char code) {
+        if (code >= '0' && code <= '9') {
+            return code - '0';
+        }
+        if (code >= 'a' && code <= 'f') {
+            return code - 'a' + 10;
+        }
+        return -1;
+    }
+
+    /**
+     * @return true if any colour, formatting code or hex run was found
+     */
+    public boolean hasCodes() {
+        return colors != 0 || hexRuns > 0 || formatting;
+    }
+
+    /**
+     * @return true if any formatting code ({@code §k}-{@code §o}, {@code §r}) was found
+     */
+    public boolean hasFormatting() {
+        return formatting;
+    }
+
+    /**
+     * @return The number of distinct colours, counting legacy codes and hex colours
+     */
+    public int getColorCount() {
+        int hex = firstHex < 0 ? 0 : (multipleHex ? 2 : 1);
+        return Integer.bitCount(colors) + hex;
+    }
+
+    /**
+     * @return The legacy colour codes found, as a bit per code 0-f
+     */
+    public int getLegacyColors() {
+        return colors;
+    }
+
+    /**
+     * @return The first hex colour found as 0xRRGGBB, or -1 if none
+     */
+    public int getFirstHexColor() {
+        return firstHex;
+    }
+
+    /**
+     * @return The number of hex colour runs found
+     */
+    public int getHexRuns() {
+        return hexRuns;
+    }
+
+    /**
+     * @return true if any single line switches between different colours
+     */
+    public boolean hasMultiColorLine() {
+        return multiColorLine;
+    }
+
+    /**
+     * Gets the colour state in effect at the end of a line, the codes needed
+     * to continue writing in the same colour and formatting.
+     *
+     * @param index The line index
+     * @return The colour state, empty if the line has none
+     */
+    public String getLastColors(int index) {
+        return lastColors[index];
+    }
+
+    /**
+     * Converts a legacy colour index from {@link #getLegacyColors()} to its code character.
+     *
+     * @param index The colour index, 0-15
+     * @return The code character, 0-9 or a-f
+     */
+    public static char codeChar(int index) {
+        return Character.forDigit(index, 16);
+    }
+}
@@ -38,6 +38,26 @@ public class ConfigManager {
         cache.put(CACHE_MAX_SIGN_NAME_LENGTH, config.getInt("validation.max-sign-name-length", 32));
         cache.put(CACHE_CACHE_EXPIRY, config.getInt("performance.cache-expiry-seconds", 30));
         cache.put(CACHE_RESERVED_NAMES, config.getStringList("validation.reserved-names"));
+        
+        // Rebuild the sign material table for the allowed sign types
+        SignMaterials.rebuild(config.getStringList("sign-types.allowed"));
+        
+        // Compile the library quota tiers before permissions are resolved against them
+        List<Integer> signTiers = config.contains("library.limit-tiers")
+                ? config.getIntegerList("library.limit-tiers") : LibraryQuota.DEFAULT_SIGN_TIERS;
+        LibraryQuota.rebuild(signTiers, config.getIntegerList("library.size-tiers"));
+        
+        // Item lore profile and size budget for carried sign items
+        SignLoreBuilder.configure(
+                SignLoreBuilder.LoreProfile.parse(config.getString("performance.item-lore.profile", "full")),
+                config.getInt("performance.item-lore.max-bytes", 0));
+        // Rendered lore may depend on the settings above
+        ErrorHandler.debug("Lore cache before reload: " + LoreCache.getHits() + " hits, "
+                + LoreCache.getMisses() + " misses, " + LoreCache.getSize() + " entries");
+        LoreCache.reset(config.getInt("performance.lore-cache-size", 512));
+        
+        // Drop cached permissions so they are resolved again under the new settings
+        PermissionSnapshot.reset(config.getInt("performance.permission-cache-seconds", 10));
     }
     
     // General settings
@@ -91,6 +111,10 @@ public class ConfigManager {
         return plugin.getConfigInt("library.max-saved-signs", 50);
     }
     
+    public int getMaxLibrarySizeKb() {
+        return plugin.getConfigInt("library.max-library-size-kb", 0);
+    }
+    
     public boolean allowOverwrite() {
         return plugin.getConfigBoolean("library.allow-overwrite", false);
     }
@@ -111,6 +135,19 @@ public class ConfigManager {
         return plugin.getConfigBoolean("library.gui.show-preview", true);
     }
     
+    public int getLibraryEvictionDelay() {
+        return plugin.getConfigInt("library.cache.eviction-delay", 300);
+    }
+    
+    // Clipboard settings
+    public boolean isServerSideClipboard() {
+        return plugin.getConfigBoolean("clipboard.server-side", false);
+    }
+    
+    public int getClipboardRetentionDays() {
+        return plugin.getConfigInt("clipboard.retention-days", 365);
+    }
+    
     // Cooldown settings
     public int getCooldown(String action) {
         return plugin.getConfigInt("cooldowns." + action, 0);
@@ -147,6 +184,22 @@ public class ConfigManager {
         return plugin.getConfigBoolean("storage.backup.on-startup", true);
     }
     
+    public String getStorageType() {
+        return plugin.getConfigString("storage.type", StorageBackend.TYPE_YAML);
+    }
+    
+    public int getFlushIntervalTicks() {
+        return plugin.getConfigInt("storage.write-behind.flush-interval-ticks", 20);
+    }
+    
+    public int getJournalCompactionInterval() {
+        return plugin.getConfigInt("storage.journal.compaction-interval", 10);
+    }
+    
+    public int getMaxJournalSizeKb() {
+        return plugin.getConfigInt("storage.journal.max-size-kb", 1024);
+    }
+    
     // Protection settings
     public boolean respectWorldGuard() {
         return plugin.getConfigBoolean("protection.respect-worldguard", true);
@@ -246,6 +299,12 @@ public class ConfigManager {
             plugin.getLogger().warning("library.max-saved-signs must be -1 (unlimited) or positive. Using default: 50");
         }
         
+        // Validate storage type
+        String storageType = getStorageType();
+        if (!storageType.equalsIgnoreCase(StorageBackend.TYPE_YAML) && !storageType.equalsIgnoreCase(StorageBackend.TYPE_SQLITE)) {
+            plugin.getLogger().warning("storage.type must be 'yaml' or 'sqlite'. Using default: yaml");
+        }
+        
         // Check for deprecated or unused options
         if (config.contains("performance.max-batch-size")) {
             plugin.getLogger().info("Note: performance.max-batch-size is not yet implemented");
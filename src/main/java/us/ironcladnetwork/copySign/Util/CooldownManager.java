@@ -35,7 +35,7 @@ public class CooldownManager {
      */
     public boolean canUseCommand(Player player, String command) {
         // Check if player has cooldown bypass permission
-        if (player.hasPermission("copysign.bypass.cooldowns")) {
+        if (PermissionSnapshot.of(player).has(PermissionSnapshot.BYPASS_COOLDOWNS)) {
             return true;
         }
         
@@ -0,0 +1,291 @@
+package us.ironcladnetwork.copySign.Util;
+
+import de.tr7zw.nbtapi.NBTCompound;
+import de.tr7zw.nbtapi.NBTItem;
+import de.tr7zw.nbtapi.NBTList;
+import org.bukkit.inventory.ItemStack;
+import us.ironcladnetwork.copySign.CopySign;
+
+import java.util.List;
+
+/**
+ * The copied sign data carried by a sign item.
+ * <p>
+ * The data is stored as a single versioned compound under {@value #KEY}, with
+ * each side's lines as a string list so they are never joined or split. Items
+ * written by older versions carry up to eight separate tags
+ * ({@code copiedSignFront}, {@code copiedSignBack}, {@code frontGlowing},
+ * {@code signType}, ...) with newline-joined text; those are still read, and
+ * replaced by the compound the next time the item is written.
+ * <p>
+ * With the {@link SignClipboard} enabled the compound holds only a handle
+ * ({@value #HANDLE_KEY}) to the content stored on the server, plus the flags.
+ * Content that cannot be stored under its handle is embedded as usual.
+ * <p>
+ * Every copy, paste, load and clear reads or writes the item through this
+ * class, so each operation opens the item's NBT once.
+ */
+public final class CopiedSignPayload {
+    public static final String KEY = "copySign";
+    private static final int VERSION = 1;
+
+    // Compound fields
+    private static final String VERSION_KEY = "v";
+    private static final String FRONT_KEY = "f";
+    private static final String BACK_KEY = "b";
+    private static final String FRONT_COLOR_KEY = "fc";
+    private static final String BACK_COLOR_KEY = "bc";
+    private static final String FLAGS_KEY = "g";
+    private static final String HANDLE_KEY = "h";
+    private static final byte FRONT_GLOWING = 1;
+    private static final byte BACK_GLOWING = 2;
+    private static final byte HANGING = 4;
+
+    // Tags written by older versions
+    private static final String[] LEGACY_KEYS = {
+        "copiedSignFront", "copiedSignBack", "copiedSignFrontColor", "copiedSignBackColor",
+        "signGlowing", "frontGlowing", "backGlowing", "signType"
+    };
+
+    private final String[] front;
+    private final String[] back;
+    private final String frontColor;
+    private final String backColor;
+    private final boolean frontGlowing;
+    private final boolean backGlowing;
+    private final String signType;
+
+    /**
+     * @param front        Front lines
+     * @param back         Back lines
+     * @param frontColor   Front dye color name, or null if colors were not copied
+     * @param backColor    Back dye color name, or null if colors were not copied
+     * @param frontGlowing Whether the front side glows
+     * @param backGlowing  Whether the back side glows
+     * @param signType     "hanging" or "regular"
+     */
+    public CopiedSignPayload(String[] front, String[] back, String frontColor, String backColor,
+                             boolean frontGlowing, boolean backGlowing, String signType) {
+        this.front = front;
+        this.back = back;
+        this.frontColor = frontColor;
+        this.backColor = backColor;
+        this.frontGlowing = frontGlowing;
+        this.backGlowing = backGlowing;
+        this.signType = signType;
+    }
+
+    /**
+     * Creates the payload for a saved sign or template.
+     *
+     * @param data The saved sign
+     * @return The payload carrying the same data
+     */
+    public static CopiedSignPayload of(SavedSignData data) {
+        return new CopiedSignPayload(data.getFront(), data.getBack(), data.getFrontColor(), data.getBackColor(),
+                data.isFrontGlowing(), data.isBackGlowing(), data.getSignType());
+    }
+
+    /**
+     * Reads the copied sign data from an item.
+     *
+     * @param item The item to read, may be null
+     * @return The payload, or null if the item carries no copied sign data or
+     *         its clipboard entry has expired
+     */
+    public static CopiedSignPayload read(ItemStack item) {
+        if (item == null || item.getType().isAir()) {
+            return null;
+        }
+        NBTItem nbtItem = new NBTItem(item);
+        NBTCompound compound = nbtItem.getCompound(KEY);
+        if (compound != null) {
+            if (compound.hasTag(HANDLE_KEY)) {
+                // An unknown handle has expired, so there is nothing to paste
+                return resolve(compound.getString(HANDLE_KEY));
+            }
+            byte flags = compound.getByte(FLAGS_KEY);
+            return new CopiedSignPayload(
+                    toArray(compound.getStringList(FRONT_KEY)),
+                    toArray(compound.getStringList(BACK_KEY)),
+                    compound.hasTag(FRONT_COLOR_KEY) ? compound.getString(FRONT_COLOR_KEY) : null,
+                    compound.hasTag(BACK_COLOR_KEY) ? compound.getString(BACK_COLOR_KEY) : null,
+                    (flags & FRONT_GLOWING) != 0,
+                    (flags & BACK_GLOWING) != 0,
+                    (flags & HANGING) != 0 ? "hanging" : "regular");
+        }
+        if (nbtItem.hasTag("copiedSignFront") && nbtItem.hasTag("copiedSignBack")) {
+            return readLegacy(nbtItem);
+        }
+        return null;
+    }
+
+    private static CopiedSignPayload resolve(String handle) {
+        SignClipboard clipboard = CopySign.getSignClipboard();
+        return clipboard != null ? clipboard.resolve(handle) : null;
+    }
+
+    private static CopiedSignPayload readLegacy(NBTItem nbtItem) {
+        boolean frontGlowing;
+        boolean backGlowing;
+        if (nbtItem.hasTag("frontGlowing") || nbtItem.hasTag("backGlowing")) {
+            frontGlowing = nbtItem.hasTag("frontGlowing") && nbtItem.getBoolean("frontGlowing");
+            backGlowing = nbtItem.hasTag("backGlowing") && nbtItem.getBoolean("backGlowing");
+        } else {
+            // Oldest items carry a single glow state for both sides
+            frontGlowing = nbtItem.hasTag("signGlowing") && nbtItem.getBoolean("signGlowing");
+            backGlowing = frontGlowing;
+        }
+        return new CopiedSignPayload(
+                nbtItem.getString("copiedSignFront").split("\n", -1),
+                nbtItem.getString("copiedSignBack").split("\n", -1),
+                nbtItem.hasTag("copiedSignFrontColor") ? nbtItem.getString("copiedSignFrontColor") : null,
+                nbtItem.hasTag("copiedSignBackColor") ? nbtItem.getString("copiedSignBackColor") : null,
+                frontGlowing,
+                backGlowing,
+                nbtItem.hasTag("signType") ? nbtItem.getString("signType") : "regular");
+    }
+
+    /**
+     * Checks whether an item carries copied sign data.
+     *
+     * @param item The item to check, may be null
+     * @return true if the item carries copied sign data
+     */
+    public static boolean isPresent(ItemStack item) {
+        if (item == null || item.getType().isAir()) {
+            return false;
+        }
+        NBTItem nbtItem = new NBTItem(item);
+        return nbtItem.hasTag(KEY) || (nbtItem.hasTag("copiedSignFront") && nbtItem.hasTag("copiedSignBack"));
+    }
+
+    /**
+     * Writes this payload to a copy of an item, replacing any copied sign data
+     * it carried, including tags written by older versions. If the server-side
+     * clipboard is enabled only a handle to the content is written.
+     *
+     * @param item The sign item
+     * @return The updated copy of the item
+     */
+    public ItemStack writeTo(ItemStack item) {
+        NBTItem nbtItem = new NBTItem(item);
+        removeLegacy(nbtItem);
+        nbtItem.removeKey(KEY);
+        NBTCompound compound = nbtItem.addCompound(KEY);
+        compound.setInteger(VERSION_KEY, VERSION);
+        String handle = store();
+        if (handle != null) {
+            compound.setString(HANDLE_KEY, handle);
+        } else {
+            addLines(compound.getStringList(FRONT_KEY), front);
+            addLines(compound.getStringList(BACK_KEY), back);
+            if (frontColor != null) {
+                compound.setString(FRONT_COLOR_KEY, frontColor);
+            }
+            if (backColor != null) {
+                compound.setString(BACK_COLOR_KEY, backColor);
+            }
+        }
+        byte flags = 0;
+        if (frontGlowing) flags |= FRONT_GLOWING;
+        if (backGlowing) flags |= BACK_GLOWING;
+        if (isHanging()) flags |= HANGING;
+        compound.setByte(FLAGS_KEY, flags);
+        return nbtItem.getItem();
+    }
+
+    // The clipboard handle for this payload, or null to embed the content
+    private String store() {
+        SignClipboard clipboard = CopySign.getSignClipboard();
+        return clipboard != null && clipboard.isEnabled() ? clipboard.store(this) : null;
+    }
+
+    /**
+     * Removes all copied sign data from a copy of an item.
+     *
+     * @param item The sign item
+     * @return The cleared copy of the item
+     */
+    public static ItemStack clear(ItemStack item) {
+        NBTItem nbtItem = new NBTItem(item);
+        removeLegacy(nbtItem);
+        nbtItem.removeKey(KEY);
+        return nbtItem.getItem();
+    }
+
+    /**
+     * Converts this payload to saved sign data.
+     *
+     * @param defaultColor Color name used for a side whose color was not copied
+     * @param lore         Lore to keep with the sign, may be null
+     * @return The saved sign data
+     */
+    public SavedSignData toSavedSignData(String defaultColor, List<String> lore) {
+        return new SavedSignData(front, back, frontGlowing, backGlowing,
+                frontColor != null ? frontColor : defaultColor,
+                backColor != null ? backColor : defaultColor,
+                signType, lore);
+    }
+
+    public String[] getFront() {
+        return front;
+    }
+
+    public String[] getBack() {
+        return back;
+    }
+
+    /**
+     * @return The front dye color name, or null if colors were not copied
+     */
+    public String getFrontColor() {
+        return frontColor;
+    }
+
+    /**
+     * @return The back dye color name, or null if colors were not copied
+     */
+    public String getBackColor() {
+        return backColor;
+    }
+
+    public boolean isFrontGlowing() {
+        return frontGlowing;
+    }
+
+    public boolean isBackGlowing() {
+        return backGlowing;
+    }
+
+    public String getSignType() {
+        return signType;
+    }
+
+    public boolean isHanging() {
+        return "hanging".equalsIgnoreCase(signType);
+    }
+
+    private static void removeLegacy(NBTItem nbtItem) {
+        for (String key : LEGACY_KEYS) {
+            nbtItem.removeKey(key);
+        }
+    }
+
+    private static void addLines(NBTList<String> list, String[] lines) {
+        if (lines == null) {
+            return;
+        }
+        for (String line : lines) {
+            list.add(line != null ? line : "");
+        }
+    }
+
+    private static String[] toArray(NBTList<String> list) {
+        String[] lines = new String[list.size()];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = list.get(i);
+        }
+        return lines;
+    }
+}
@@ -1,36 +1,30 @@
 package us.ironcladnetwork.copySign.Util;
 
-import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import us.ironcladnetwork.copySign.CopySign;
 
-import java.io.File;
-import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manager for handling individual player CopySign feature toggle states.
  * <p>
  * This class manages whether the CopySign functionality is enabled or disabled for each
- * player individually. It provides persistent storage of player preferences using a
- * YAML configuration file ("players.yml") in the plugin's data folder.
+ * player individually. Player preferences are persisted through the configured
+ * {@link StorageBackend} (players.yml with the default YAML storage).
  * <p>
  * Key features:
  * <ul>
  *   <li>Per-player toggle state management</li>
- *   <li>Persistent storage in players.yml</li>
+ *   <li>Persistent storage through the storage backend</li>
  *   <li>Configurable default state for new players</li>
- *   <li>Automatic file creation and error recovery</li>
  *   <li>Memory caching for performance</li>
  * </ul>
  * <p>
- * The manager loads all player states into memory on initialization and saves
- * changes immediately when toggle states are modified. New players inherit the
- * default state from the plugin configuration.
+ * The manager loads all player states into memory on initialization and hands
+ * changes to the backend, which writes them with its next flush. New players
+ * inherit the default state from the plugin configuration.
  * 
  * @author IroncladNetwork
  * @since 2.0.0
@@ -38,84 +32,28 @@ import java.util.concurrent.CompletableFuture;
  * @see ErrorHandler
  */
 public class CopySignToggleManager {
-    private final Map<UUID, Boolean> playerStates = new HashMap<>();
-    private final File playersFile;
-    private YamlConfiguration playersConfig;
+    private final Map<UUID, Boolean> playerStates = new ConcurrentHashMap<>();
+    private final StorageBackend storage;
     private final CopySign plugin;
 
     /**
-     * Initializes the manager by loading player states from the specified data folder.
-     * If the players.yml file does not exist, it will be created with default values.
+     * Initializes the manager by loading player states from the storage backend.
      *
-     * @param dataFolder The plugin's data folder.
+     * @param storage The storage backend holding the toggle states.
      * @param plugin The plugin instance for accessing config.
      */
-    public CopySignToggleManager(File dataFolder, CopySign plugin) {
+    public CopySignToggleManager(StorageBackend storage, CopySign plugin) {
+        this.storage = storage;
         this.plugin = plugin;
-        playersFile = new File(dataFolder, "players.yml");
-        
-        if (!playersFile.exists()) {
-            try {
-                // Ensure the parent directories exist.
-                if (!playersFile.getParentFile().exists() && !playersFile.getParentFile().mkdirs()) {
-                    throw new IOException("Failed to create plugin data directory");
-                }
-                
-                if (!playersFile.createNewFile()) {
-                    throw new IOException("Failed to create players.yml file");
-                }
-                
-                playersConfig = new YamlConfiguration();
-                playersConfig.createSection("players");
-                saveConfig();
-                
-                ErrorHandler.debug("Created new players.yml file");
-            } catch (IOException e) {
-                ErrorHandler.handleFileError("creating players.yml", playersFile, e, null);
-                // Create a minimal in-memory config as fallback
-                playersConfig = new YamlConfiguration();
-                playersConfig.createSection("players");
-            }
-        } else {
-            try {
-                playersConfig = YamlConfiguration.loadConfiguration(playersFile);
-                
-                if (playersConfig == null) {
-                    throw new IllegalStateException("Failed to load configuration from players.yml");
-                }
-                
-                ErrorHandler.debug("Successfully loaded players.yml");
-            } catch (Exception e) {
-                ErrorHandler.handleConfigError("players.yml", e);
-                // Create a minimal in-memory config as fallback
-                playersConfig = new YamlConfiguration();
-                playersConfig.createSection("players");
-            }
-        }
-        
         loadStates();
     }
 
     /**
-     * Loads player CopySign states from the players.yml file into memory.
+     * Loads player CopySign states from the storage backend into memory.
      */
     private void loadStates() {
         try {
-            if (playersConfig != null && playersConfig.contains("players")) {
-                ConfigurationSection playersSection = playersConfig.getConfigurationSection("players");
-                if (playersSection != null) {
-                    playersSection.getKeys(false).forEach(key -> {
-                        try {
-                            UUID uuid = UUID.fromString(key);
-                            boolean status = playersConfig.getBoolean("players." + key);
-                            playerStates.put(uuid, status);
-                        } catch (IllegalArgumentException ex) {
-                            ErrorHandler.handlePlayerDataError(key, "toggle state", ex);
-                        }
-                    });
-                }
-            }
-            
+            playerStates.putAll(storage.loadToggles());
             ErrorHandler.debug("Loaded " + playerStates.size() + " player toggle states");
         } catch (Exception e) {
             ErrorHandler.handleGeneralError("loading player toggle states", e, null);
@@ -123,87 +61,13 @@ public class CopySignToggleManager {
     }
 
     /**
-     * Saves the current player states into the players.yml file.
-     */
-    private void saveConfig() {
-        try {
-            // Create backup before saving
-            ErrorHandler.createBackup(playersFile);
-            
-            // Validate config before saving
-            if (playersConfig == null) {
-                throw new IllegalStateException("Configuration is null, cannot save");
-            }
-            
-            playerStates.forEach((uuid, state) ->
-                    playersConfig.set("players." + uuid.toString(), state)
-            );
-            
-            playersConfig.save(playersFile);
-            ErrorHandler.debug("Successfully saved players.yml");
-            
-        } catch (IOException e) {
-            ErrorHandler.handleFileError("saving players.yml", playersFile, e, null);
-        } catch (Exception e) {
-            ErrorHandler.handleGeneralError("saving player toggle configuration", e, null);
-        }
-    }
-
-    /**
-     * Asynchronously saves the current player toggle configuration to prevent main thread blocking.
-     * This method creates a backup and saves the file in a separate thread to avoid server lag.
-     * 
-     * @param player The player whose toggle state was changed (for error reporting)
-     * @param enabled The new toggle state (for debug logging)
-     */
-    private void saveConfigAsync(Player player, boolean enabled) {
-        CompletableFuture.runAsync(() -> {
-            try {
-                // Create backup before saving (async)
-                ErrorHandler.createBackup(playersFile);
-                
-                // Validate config before saving
-                if (playersConfig == null) {
-                    throw new IllegalStateException("Configuration is null, cannot save");
-                }
-                
-                // Save the configuration file
-                playersConfig.save(playersFile);
-                
-                ErrorHandler.debug("Asynchronously saved toggle state for " + player.getName() + " to " + enabled);
-                
-            } catch (IOException e) {
-                ErrorHandler.handleFileError("saving player toggle state", playersFile, e, player);
-            } catch (Exception e) {
-                ErrorHandler.handleGeneralError("saving player toggle configuration async", e, player);
-            }
-        });
-    }
-
-    /**
-     * Synchronously saves the configuration.
-     * Used during plugin shutdown to ensure data is saved before disable.
+     * Synchronously writes all pending toggle changes.
+     * Used by the auto-save task to ensure data is on disk.
      * 
      * @return true if save was successful, false otherwise
      */
     public boolean saveConfigSync() {
-        try {
-            // Create backup before saving
-            ErrorHandler.createBackup(playersFile);
-            
-            // Save the configuration file
-            playersConfig.save(playersFile);
-            
-            ErrorHandler.debug("Synchronously saved player toggle states");
-            return true;
-            
-        } catch (IOException e) {
-            ErrorHandler.handleFileError("saving player toggle states", playersFile, e, null);
-            return false;
-        } catch (Exception e) {
-            ErrorHandler.handleGeneralError("saving player toggle configuration sync", e, null);
-            return false;
-        }
+        return storage.flush();
     }
 
     /**
@@ -216,12 +80,10 @@ public class CopySignToggleManager {
     public boolean isEnabled(Player player) {
         boolean defaultEnabled = plugin.getConfigBoolean("general.default-enabled", true);
         
-        // If caching is disabled, always load from config
+        // If caching is disabled, always load from storage
         if (!plugin.getConfigManager().isCacheToggleStates()) {
-            if (playersConfig.contains("players." + player.getUniqueId().toString())) {
-                return playersConfig.getBoolean("players." + player.getUniqueId().toString(), defaultEnabled);
-            }
-            return defaultEnabled;
+            Boolean stored = storage.loadToggle(player.getUniqueId());
+            return stored != null ? stored : defaultEnabled;
         }
         
         // Use cached value
@@ -243,10 +105,10 @@ public class CopySignToggleManager {
             
             // Update in-memory state immediately (synchronous for instant response)
             playerStates.put(player.getUniqueId(), enabled);
-            playersConfig.set("players." + player.getUniqueId().toString(), enabled);
             
-            // Save to file asynchronously to prevent main thread blocking
-            saveConfigAsync(player, enabled);
+            // The backend writes the change off the main thread with its next flush
+            storage.saveToggle(player.getUniqueId(), enabled);
+            ErrorHandler.debug("Set toggle state for " + player.getName() + " to " + enabled);
             
         } catch (Exception e) {
             ErrorHandler.handleGeneralError("setting player toggle state", e, player);
@@ -429,35 +429,9 @@ public class ErrorHandler {
             return true; // Null content is allowed (empty sign)
         }
         
-        // Normalize Unicode to prevent normalization attacks
-        String normalized = Normalizer.normalize(input, Normalizer.Form.NFKC);
-        
-        if (normalized.length() > maxLength) {
-            return false;
-        }
-        
-        // Check for suspicious patterns
-        return normalized.codePoints().allMatch(codePoint -> {
-            int type = Character.getType(codePoint);
-            
-            // Block most control characters except common formatting
-            if (type == Character.CONTROL) {
-                // Allow newline, tab, and carriage return
-                return codePoint == '\n' || codePoint == '\t' || codePoint == '\r';
-            }
-            
-            // Block private use characters that could be exploited
-            if (type == Character.PRIVATE_USE) {
-                return false;
-            }
-            
-            // Block unassigned characters
-            if (type == Character.UNASSIGNED) {
-                return false;
-            }
-            
-            return true;
-        });
+        // Checked in NFKC form to prevent normalization attacks; plain text skips normalizing
+        SignTextValidator.Report report = SignTextValidator.scan(input);
+        return !report.hasForbidden() && report.getNormalizedLength() <= maxLength;
     }
     
     /**
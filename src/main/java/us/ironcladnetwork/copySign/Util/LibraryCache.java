@@ -0,0 +1,337 @@
+package us.ironcladnetwork.copySign.Util;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import us.ironcladnetwork.copySign.CopySign;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Holds decoded sign libraries and decides which of them stay in memory.
+ * <p>
+ * Each loaded library is a map of immutable {@link SavedSignData} that is the
+ * source of truth for reads. Writes update it in place and are passed through
+ * to the storage backend, so a library is only decoded once per load. A
+ * {@link NameIndex} of each library's sign names is kept alongside it for
+ * tab completion, and a {@link SearchIndex} of its text for searching.
+ * <p>
+ * A library is prefetched off the main thread while its owner logs in, stays
+ * loaded while they are online, and is unloaded once they have been offline
+ * for the configured grace period. A prefetched library whose owner never
+ * joins, because the login was refused or dropped, is unloaded the same way.
+ * <p>
+ * Loading a sign only updates its last use in memory. Uses are written back at
+ * most once per {@link #USE_WRITE_INTERVAL} per sign, and when the library is
+ * unloaded or the plugin disables, so browsing does not turn into writes.
+ */
+public class LibraryCache {
+    // How stale a sign's stored last use may get before a use is written back
+    private static final long USE_WRITE_INTERVAL = TimeUnit.HOURS.toMillis(1);
+    // How long a prefetched library waits for its owner to join
+    private static final long LOGIN_TIMEOUT_TICKS = 60 * 20L;
+
+    private final StorageBackend storage;
+    private final CopySign plugin;
+    private final long evictionDelayTicks;
+
+    // Decoded libraries keyed by owner. Mutations go through compute() so the
+    // map and the backend stay in the same order.
+    private final Map<UUID, Library> libraries = new ConcurrentHashMap<>();
+    private final Set<UUID> online = ConcurrentHashMap.newKeySet();
+    // Release generation per player, so a rejoin cancels a pending eviction
+    private final Map<UUID, Long> pendingReleases = new ConcurrentHashMap<>();
+    private final AtomicLong releaseCounter = new AtomicLong();
+
+    public LibraryCache(StorageBackend storage, CopySign plugin) {
+        this.storage = storage;
+        this.plugin = plugin;
+        this.evictionDelayTicks = Math.max(0, plugin.getConfigManager().getLibraryEvictionDelay()) * 20L;
+
+        // Players already online after a reload keep their libraries loaded
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            online.add(player.getUniqueId());
+        }
+    }
+
+    /**
+     * Loads a library ahead of use. Safe to call from the async login thread.
+     * The library is unloaded again unless its owner joins in time.
+     *
+     * @param playerId The owner's UUID
+     */
+    public void prefetch(UUID playerId) {
+        try {
+            getLibrary(playerId);
+            if (!online.contains(playerId)) {
+                scheduleUnload(playerId, Math.max(evictionDelayTicks, LOGIN_TIMEOUT_TICKS));
+            }
+            ErrorHandler.debug("Prefetched sign library for " + playerId);
+        } catch (Exception e) {
+            // The library is loaded on first use instead
+            ErrorHandler.handlePlayerDataError(playerId.toString(), "prefetching sign library", e);
+        }
+    }
+
+    /**
+     * Pins a player's library while they are online.
+     *
+     * @param playerId The owner's UUID
+     */
+    public void markOnline(UUID playerId) {
+        online.add(playerId);
+        pendingReleases.remove(playerId);
+    }
+
+    /**
+     * Schedules a player's library to be unloaded after the grace period.
+     *
+     * @param playerId The owner's UUID
+     */
+    public void release(UUID playerId) {
+        online.remove(playerId);
+        scheduleUnload(playerId, evictionDelayTicks);
+    }
+
+    /**
+     * Unloads a library after a delay, unless its owner is online by then or
+     * a later release or prefetch rescheduled it.
+     */
+    private void scheduleUnload(UUID playerId, long delayTicks) {
+        long generation = releaseCounter.incrementAndGet();
+        pendingReleases.put(playerId, generation);
+
+        if (!plugin.isEnabled()) {
+            return; // Shutting down, the backend is closed instead
+        }
+        SchedulerUtil.runAsyncDelayed(plugin, () -> {
+            // Skip if the player came back or released again since
+            if (online.contains(playerId) || !pendingReleases.remove(playerId, generation)) {
+                return;
+            }
+            unload(playerId);
+            ErrorHandler.debug("Unloaded sign library for " + playerId);
+        }, delayTicks);
+    }
+
+    /**
+     * Gets a player's decoded library, loading it from storage on first use.
+     *
+     * @param playerId The owner's UUID
+     * @return A read-only live view of the library
+     */
+    public Map<String, SavedSignData> getLibrary(UUID playerId) {
+        return Collections.unmodifiableMap(get(playerId).signs);
+    }
+
+    /**
+     * Gets a single saved sign.
+     *
+     * @param playerId The owner's UUID
+     * @param name The sign's name
+     * @return The sign, or null if not found
+     */
+    public SavedSignData getSign(UUID playerId, String name) {
+        return get(playerId).signs.get(name);
+    }
+
+    /**
+     * Finds a player's sign names starting with a prefix, ignoring case.
+     *
+     * @param playerId The owner's UUID
+     * @param prefix The typed prefix
+     * @return The matching sign names
+     */
+    public List<String> completeNames(UUID playerId, String prefix) {
+        return get(playerId).names.complete(prefix);
+    }
+
+    /**
+     * Searches a player's signs by name and text.
+     *
+     * @param playerId The owner's UUID
+     * @param query The words to look for
+     * @return The matching sign names, best match first
+     */
+    public List<String> search(UUID playerId, String query) {
+        return get(playerId).search.search(query);
+    }
+
+    /**
+     * Gets the total text size of a player's library, as counted by size quotas.
+     *
+     * @param playerId The owner's UUID
+     * @return The number of UTF-8 bytes across all saved signs
+     * @see SavedSignData#getTextBytes()
+     */
+    public long getTextBytes(UUID playerId) {
+        return get(playerId).textBytes;
+    }
+
+    /**
+     * Stores a sign in the decoded library and passes it on to storage.
+     *
+     * @param playerId The owner's UUID
+     * @param name The sign's name
+     * @param data The sign to store
+     * @param callback Called with the durable result, may be null
+     */
+    public void saveSign(UUID playerId, String name, SavedSignData data, Consumer<Boolean> callback) {
+        libraries.compute(playerId, (id, library) -> {
+            if (library == null) {
+                library = load(id);
+            }
+            SavedSignData previous = library.signs.put(name, data);
+            if (previous == null) {
+                library.names.add(name);
+            } else {
+                library.textBytes -= previous.getTextBytes();
+            }
+            library.textBytes += data.getTextBytes();
+            library.search.put(name, data);
+            library.unsavedUses.remove(name);
+            storage.saveSign(id, name, data, callback);
+            return library;
+        });
+    }
+
+    /**
+     * Removes a sign from the decoded library and from storage.
+     *
+     * @param playerId The owner's UUID
+     * @param name The sign's name
+     * @param callback Called with the durable result if the sign existed, may be null
+     * @return true if the sign existed
+     */
+    public boolean deleteSign(UUID playerId, String name, Consumer<Boolean> callback) {
+        boolean[] removed = new boolean[1];
+        libraries.compute(playerId, (id, library) -> {
+            if (library == null) {
+                library = load(id);
+            }
+            SavedSignData previous = library.signs.remove(name);
+            if (previous != null) {
+                library.textBytes -= previous.getTextBytes();
+                library.names.remove(name);
+                library.search.remove(name);
+                library.unsavedUses.remove(name);
+                removed[0] = true;
+                storage.deleteSign(id, name, callback);
+            }
+            return library;
+        });
+        return removed[0];
+    }
+
+    /**
+     * Marks a sign as used. The use is written to storage only if the stored
+     * last use is older than {@link #USE_WRITE_INTERVAL}.
+     *
+     * @param playerId The owner's UUID
+     * @param name The sign's name
+     * @param time The time of use, in epoch millis
+     * @return The updated sign, or null if not found
+     */
+    public SavedSignData markUsed(UUID playerId, String name, long time) {
+        SavedSignData[] used = new SavedSignData[1];
+        libraries.compute(playerId, (id, library) -> {
+            if (library == null) {
+                library = load(id);
+            }
+            SavedSignData data = library.signs.get(name);
+            if (data == null) {
+                return library;
+            }
+            long stored = library.unsavedUses.getOrDefault(name, data.getLastUsedAt());
+            used[0] = data.withLastUsedAt(time);
+            library.signs.put(name, used[0]);
+            if (time - stored >= USE_WRITE_INTERVAL) {
+                library.unsavedUses.remove(name);
+                storage.saveSign(id, name, used[0], null);
+            } else {
+                library.unsavedUses.put(name, stored);
+            }
+            return library;
+        });
+        return used[0];
+    }
+
+    /**
+     * Writes back the uses of every loaded library that have only been kept
+     * in memory. Called before the backend is closed.
+     */
+    public void saveUses() {
+        for (UUID playerId : libraries.keySet()) {
+            libraries.computeIfPresent(playerId, (id, library) -> {
+                saveUses(id, library);
+                return library;
+            });
+        }
+    }
+
+    // Called inside compute()
+    private void saveUses(UUID playerId, Library library) {
+        for (String name : library.unsavedUses.keySet()) {
+            SavedSignData data = library.signs.get(name);
+            if (data != null) {
+                storage.saveSign(playerId, name, data, null);
+            }
+        }
+        library.unsavedUses.clear();
+    }
+
+    private Library get(UUID playerId) {
+        Library library = libraries.get(playerId);
+        if (library == null) {
+            library = libraries.computeIfAbsent(playerId, this::load);
+        }
+        return library;
+    }
+
+    private Library load(UUID playerId) {
+        Map<String, SavedSignData> signs = new ConcurrentHashMap<>(storage.loadLibrary(playerId));
+        return new Library(signs, new NameIndex(signs.keySet()), new SearchIndex(signs));
+    }
+
+    /**
+     * Drops a decoded library and lets the backend release its copy. Only the
+     * in-memory uses are written inside compute(); the backend may have to
+     * write the library out, which happens after the entry is gone.
+     */
+    private void unload(UUID playerId) {
+        libraries.computeIfPresent(playerId, (id, library) -> {
+            saveUses(id, library);
+            return null;
+        });
+        storage.unloadLibrary(playerId);
+    }
+
+    /**
+     * A decoded library together with its indexes.
+     */
+    private static final class Library {
+        final Map<String, SavedSignData> signs;
+        final NameIndex names;
+        final SearchIndex search;
+        // Stored last use of signs whose newer use is only in memory
+        final Map<String, Long> unsavedUses = new ConcurrentHashMap<>();
+        // Running total of SavedSignData#getTextBytes(), written inside compute()
+        volatile long textBytes;
+
+        Library(Map<String, SavedSignData> signs, NameIndex names, SearchIndex search) {
+            this.signs = signs;
+            this.names = names;
+            this.search = search;
+            for (SavedSignData data : signs.values()) {
+                textBytes += data.getTextBytes();
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package us.ironcladnetwork.copySign.Util;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rendered Sign Library entry items, kept per player and sign name.
+ * <p>
+ * Building an entry item runs the full lore builder, so each one is rendered
+ * once and reused on every page open until the sign changes. Items are keyed
+ * on {@link SavedSignData#getContentVersion()}: every save stores a new
+ * instance with a new version, so an item rendered from older content is never
+ * served, while recording a use keeps the version and the rendered item. Saves
+ * and deletes also drop the item eagerly so the cache does not hold on to
+ * stale entries.
+ */
+public final class LibraryItemCache {
+    private static final Map<UUID, Map<String, Rendered>> items = new ConcurrentHashMap<>();
+
+    private LibraryItemCache() {
+    }
+
+    /**
+     * Gets the rendered item for a library entry, rendering it on first use.
+     * The returned item is shared; inventories copy it when it is set.
+     *
+     * @param playerId The owner's UUID
+     * @param name     The sign's name
+     * @param data     The sign's current data
+     * @return The rendered entry item
+     */
+    public static ItemStack get(UUID playerId, String name, SavedSignData data) {
+        Map<String, Rendered> library = items.computeIfAbsent(playerId, id -> new ConcurrentHashMap<>());
+        Rendered rendered = library.get(name);
+        if (rendered == null || rendered.contentVersion != data.getContentVersion()) {
+            rendered = new Rendered(data.getContentVersion(), render(name, data));
+            library.put(name, rendered);
+        }
+        return rendered.item;
+    }
+
+    /**
+     * Drops the rendered item of a sign that was saved or deleted.
+     *
+     * @param playerId The owner's UUID
+     * @param name     The sign's name
+     */
+    public static void invalidate(UUID playerId, String name) {
+        Map<String, Rendered> library = items.get(playerId);
+        if (library != null) {
+            library.remove(name);
+        }
+    }
+
+    /**
+     * Drops every rendered item of a player.
+     *
+     * @param playerId The owner's UUID
+     */
+    public static void invalidateAll(UUID playerId) {
+        items.remove(playerId);
+    }
+
+    public static void clear() {
+        items.clear();
+    }
+
+    private static ItemStack render(String signName, SavedSignData data) {
+        // Choose material based on sign type.
+        Material material = data.getSignType().equalsIgnoreCase("hanging")
+                ? Material.OAK_HANGING_SIGN : Material.OAK_SIGN;
+        ItemStack signItem = new ItemStack(material);
+        ItemMeta meta = signItem.getItemMeta();
+        if (meta == null) return signItem;
+        // Let Minecraft show natural item name, only add content identifier to lore
+        List<String> lore = SignLoreBuilder.buildPremiumSignLore(
+            signName, // ONLY content identifier - no physical item name duplication
+            data.getFront(),
+            data.getBack(),
+            data.getFrontColor(),
+            data.getBackColor(),
+            data.isFrontGlowing(),
+            data.isBackGlowing(),
+            data.getSignType(),
+            "Library"
+        );
+
+        // Add load instructions
+        lore.add("");
+        lore.add(DesignConstants.INFORMATION + "• Click " + DesignConstants.SUPPORTING + "to load sign");
+
+        meta.setLore(lore);
+        signItem.setItemMeta(meta);
+        return signItem;
+    }
+
+    /**
+     * A rendered item together with the content version it was rendered from.
+     */
+    private static final class Rendered {
+        final Object contentVersion;
+        final ItemStack item;
+
+        Rendered(Object contentVersion, ItemStack item) {
+            this.contentVersion = contentVersion;
+            this.item = item;
+        }
+    }
+}
@@ -0,0 +1,429 @@
+package us.ironcladnetwork.copySign.Util;
+
+import org.bukkit.configuration.InvalidConfigurationException;
+import us.ironcladnetwork.copySign.CopySign;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of sign library mutations.
+ * <p>
+ * Every save or delete is recorded as a single checksummed line. Records are
+ * buffered and group-committed by {@link #flush()}, which the owner calls once
+ * per flush window: one sequential append and one fsync, after which the
+ * callbacks of every record in the batch are completed. A failed append keeps
+ * the records and their callbacks queued for the next flush. The per-player
+ * shards act as the snapshot; the journal is compacted by sealing the current
+ * segment, writing the shards it touched and deleting the sealed segments.
+ * <p>
+ * Segments are named {@code journal-<seq>.log} and replayed in sequence order
+ * on startup. A torn final record (e.g. after a crash mid-write) fails its
+ * checksum and is dropped. A corrupt record anywhere else is skipped and
+ * replay carries on, since the records after it were already reported
+ * durable; skipped records are logged.
+ */
+public class LibraryJournal {
+
+    /**
+     * Type of a journaled mutation.
+     */
+    public enum Operation {
+        SAVE('S'),
+        DELETE('D');
+
+        private final char code;
+
+        Operation(char code) {
+            this.code = code;
+        }
+
+        static Operation fromCode(char code) {
+            for (Operation operation : values()) {
+                if (operation.code == code) {
+                    return operation;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A single journaled mutation. Saves carry the full sign data, so replaying
+     * a record is idempotent.
+     */
+    public static final class Record {
+        private final Operation operation;
+        private final UUID playerId;
+        private final String name;
+        private final SavedSignData data;
+
+        private Record(Operation operation, UUID playerId, String name, SavedSignData data) {
+            this.operation = operation;
+            this.playerId = playerId;
+            this.name = name;
+            this.data = data;
+        }
+
+        public static Record save(UUID playerId, String name, SavedSignData data) {
+            return new Record(Operation.SAVE, playerId, name, data);
+        }
+
+        public static Record delete(UUID playerId, String name) {
+            return new Record(Operation.DELETE, playerId, name, null);
+        }
+
+        public Operation getOperation() {
+            return operation;
+        }
+
+        public UUID getPlayerId() {
+            return playerId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public SavedSignData getData() {
+            return data;
+        }
+    }
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final Base64.Encoder ENCODER = Base64.getEncoder();
+    private static final Base64.Decoder DECODER = Base64.getDecoder();
+
+    private final CopySign plugin;
+    private final File folder;
+
+    // Guards the channel, the pending buffer and segment rotation
+    private final Object lock = new Object();
+    private final List<String> pendingLines = new ArrayList<>();
+    private final List<Consumer<Boolean>> pendingCallbacks = new ArrayList<>();
+
+    private FileChannel channel;
+    private long currentSequence;
+    private long size;
+
+    public LibraryJournal(File folder, CopySign plugin) {
+        this.folder = folder;
+        this.plugin = plugin;
+    }
+
+    /**
+     * Replays every existing segment in order.
+     *
+     * @param consumer Receives each valid record
+     * @return The number of records replayed
+     */
+    public int replay(Consumer<Record> consumer) {
+        int replayed = 0;
+        for (File segment : getSegments()) {
+            try (BufferedReader reader = Files.newBufferedReader(segment.toPath(), StandardCharsets.UTF_8)) {
+                int lineNumber = 0;
+                int skipped = 0;
+                String line = reader.readLine();
+                while (line != null) {
+                    lineNumber++;
+                    // Read ahead so a bad final record can be told apart from a corrupt one
+                    String next = reader.readLine();
+                    Record record = decode(line);
+                    if (record != null) {
+                        consumer.accept(record);
+                        replayed++;
+                    } else if (next == null) {
+                        plugin.getLogger().warning("Dropping torn final journal record at "
+                            + segment.getName() + ":" + lineNumber);
+                    } else {
+                        plugin.getLogger().warning("Skipping corrupt journal record at "
+                            + segment.getName() + ":" + lineNumber);
+                        skipped++;
+                    }
+                    line = next;
+                }
+                if (skipped > 0) {
+                    plugin.getLogger().warning("Skipped " + skipped + " corrupt records in " + segment.getName()
+                        + "; the changes they held are lost.");
+                }
+            } catch (IOException e) {
+                ErrorHandler.handleFileError("replaying sign library journal", segment, e, null);
+            }
+        }
+        return replayed;
+    }
+
+    /**
+     * Opens a fresh segment for appending. Existing segments are left for
+     * {@link #deleteSegments(List)} once their contents are in the shards.
+     *
+     * @throws IOException if the segment can't be opened
+     */
+    public void open() throws IOException {
+        synchronized (lock) {
+            long sequence = 0;
+            for (File segment : getSegments()) {
+                sequence = Math.max(sequence, parseSequence(segment));
+            }
+            openSegment(sequence + 1);
+        }
+    }
+
+    /**
+     * Queues a record for the next group commit.
+     *
+     * @param record The mutation to journal
+     * @param callback Optional callback completed once the record is durable
+     */
+    public void append(Record record, Consumer<Boolean> callback) {
+        String line = encode(record);
+        synchronized (lock) {
+            pendingLines.add(line);
+            if (callback != null) {
+                pendingCallbacks.add(callback);
+            }
+        }
+    }
+
+    /**
+     * Appends all queued records with a single write and fsync.
+     *
+     * @return true if the records are durable
+     */
+    public boolean flush() {
+        List<Consumer<Boolean>> callbacks;
+        synchronized (lock) {
+            if (pendingLines.isEmpty()) {
+                return true;
+            }
+
+            StringBuilder batch = new StringBuilder(pendingLines.size() * 256);
+            for (String line : pendingLines) {
+                batch.append(line).append('\n');
+            }
+            if (!write(batch.toString().getBytes(StandardCharsets.UTF_8))) {
+                // The records and their callbacks stay queued and are retried next flush
+                return false;
+            }
+            ErrorHandler.debug("Journaled " + pendingLines.size() + " sign library mutations");
+            pendingLines.clear();
+            callbacks = new ArrayList<>(pendingCallbacks);
+            pendingCallbacks.clear();
+        }
+
+        if (!callbacks.isEmpty() && plugin.isEnabled()) {
+            SchedulerUtil.runGlobal(plugin, () -> {
+                for (Consumer<Boolean> callback : callbacks) {
+                    callback.accept(true);
+                }
+            });
+        }
+        return true;
+    }
+
+    /**
+     * Flushes pending records, seals the current segment and opens a new one.
+     *
+     * @return The sealed segments, to be deleted once the shards are written
+     */
+    public List<File> rotate() {
+        synchronized (lock) {
+            flush();
+            List<File> sealed = getSegments();
+            try {
+                closeChannel();
+                openSegment(currentSequence + 1);
+            } catch (IOException e) {
+                ErrorHandler.handleFileError("rotating sign library journal", getSegmentFile(currentSequence + 1), e, null);
+                // Keep appending to whatever is open; nothing can be safely deleted
+                return new ArrayList<>();
+            }
+            return sealed;
+        }
+    }
+
+    /**
+     * Deletes segments whose records are persisted in the shards.
+     *
+     * @param segments The segments returned by {@link #rotate()}
+     */
+    public void deleteSegments(List<File> segments) {
+        for (File segment : segments) {
+            try {
+                Files.deleteIfExists(segment.toPath());
+            } catch (IOException e) {
+                ErrorHandler.handleFileError("deleting compacted journal segment", segment, e, null);
+            }
+        }
+    }
+
+    /**
+     * Gets the size of the current segment in bytes.
+     *
+     * @return The current segment size
+     */
+    public long getSize() {
+        synchronized (lock) {
+            return size;
+        }
+    }
+
+    /**
+     * Flushes pending records and closes the segment.
+     *
+     * @return true if all records were flushed
+     */
+    public boolean close() {
+        synchronized (lock) {
+            boolean result = flush();
+            try {
+                closeChannel();
+            } catch (IOException e) {
+                ErrorHandler.handleFileError("closing sign library journal", getSegmentFile(currentSequence), e, null);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Lists existing segments in sequence order.
+     *
+     * @return The segment files
+     */
+    public List<File> getSegments() {
+        File[] files = folder.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)
+            && parseSequence(name) >= 0);
+        if (files == null) {
+            return new ArrayList<>();
+        }
+        List<File> segments = new ArrayList<>(Arrays.asList(files));
+        segments.sort(Comparator.comparingLong(LibraryJournal::parseSequence));
+        return segments;
+    }
+
+    private boolean write(byte[] bytes) {
+        if (channel == null) {
+            ErrorHandler.handleGeneralError("writing sign library journal",
+                new IllegalStateException("Journal is not open"), null);
+            return false;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            size += bytes.length;
+            return true;
+        } catch (IOException e) {
+            ErrorHandler.handleFileError("writing sign library journal", getSegmentFile(currentSequence), e, null);
+            // Drop any partial record so the retry doesn't follow a torn line
+            try {
+                channel.truncate(size);
+            } catch (IOException ignored) {
+                // Replay stops at the torn record; nothing more can be done here
+            }
+            return false;
+        }
+    }
+
+    private void openSegment(long sequence) throws IOException {
+        if (!folder.exists() && !folder.mkdirs()) {
+            throw new IOException("Failed to create library directory");
+        }
+        File file = getSegmentFile(sequence);
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        currentSequence = sequence;
+        size = channel.size();
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private File getSegmentFile(long sequence) {
+        return new File(folder, SEGMENT_PREFIX + sequence + SEGMENT_SUFFIX);
+    }
+
+    private static long parseSequence(File file) {
+        return parseSequence(file.getName());
+    }
+
+    private static long parseSequence(String fileName) {
+        try {
+            return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Encodes a record as {@code crc \t op \t uuid \t name \t payload}, with the
+     * name and YAML payload Base64 encoded so a record is always one line.
+     */
+    private static String encode(Record record) {
+        String payload = "";
+        if (record.data != null) {
+            payload = ENCODER.encodeToString(record.data.saveToString().getBytes(StandardCharsets.UTF_8));
+        }
+        String body = record.operation.code + "\t" + record.playerId + "\t"
+            + ENCODER.encodeToString(record.name.getBytes(StandardCharsets.UTF_8)) + "\t" + payload;
+        return Long.toHexString(checksum(body)) + "\t" + body;
+    }
+
+    private static Record decode(String line) {
+        int separator = line.indexOf('\t');
+        if (separator <= 0) {
+            return null;
+        }
+        String body = line.substring(separator + 1);
+        try {
+            if (Long.parseLong(line.substring(0, separator), 16) != checksum(body)) {
+                return null;
+            }
+
+            String[] fields = body.split("\t", -1);
+            if (fields.length != 4 || fields[0].length() != 1) {
+                return null;
+            }
+            Operation operation = Operation.fromCode(fields[0].charAt(0));
+            if (operation == null) {
+                return null;
+            }
+            UUID playerId = UUID.fromString(fields[1]);
+            String name = new String(DECODER.decode(fields[2]), StandardCharsets.UTF_8);
+
+            if (operation == Operation.DELETE) {
+                return Record.delete(playerId, name);
+            }
+            return Record.save(playerId, name,
+                SavedSignData.loadFromString(new String(DECODER.decode(fields[3]), StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException | InvalidConfigurationException e) {
+            return null;
+        }
+    }
+
+    private static long checksum(String body) {
+        CRC32 crc = new CRC32();
+        crc.update(body.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+}
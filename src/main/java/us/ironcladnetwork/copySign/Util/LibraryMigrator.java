@@ -0,0 +1,106 @@
+package us.ironcladnetwork.copySign.Util;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import us.ironcladnetwork.copySign.CopySign;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Handles the one-time migration of the legacy monolithic savedSigns.yml
+ * into per-player library shards.
+ * <p>
+ * Each player section under {@code players.<uuid>} is written to its own shard
+ * file through {@link YamlStorageBackend#getShardFile(UUID)}. Once every player
+ * has been written the legacy file is renamed to {@code savedSigns.yml.migrated}
+ * so the migration never runs twice and the original data stays available.
+ */
+public class LibraryMigrator {
+    private final CopySign plugin;
+    private final File legacyFile;
+    private final YamlStorageBackend storage;
+
+    public LibraryMigrator(File dataFolder, CopySign plugin, YamlStorageBackend storage) {
+        this.plugin = plugin;
+        this.legacyFile = new File(dataFolder, "savedSigns.yml");
+        this.storage = storage;
+    }
+
+    /**
+     * Checks for a legacy savedSigns.yml and splits it into shards if present.
+     *
+     * @return true if a migration was performed
+     */
+    public boolean migrate() {
+        if (!legacyFile.exists()) {
+            return false; // Nothing to migrate
+        }
+
+        plugin.getLogger().info("Migrating savedSigns.yml to per-player library shards...");
+
+        YamlConfiguration legacyConfig;
+        try {
+            legacyConfig = YamlConfiguration.loadConfiguration(legacyFile);
+        } catch (Exception e) {
+            ErrorHandler.handleConfigError("savedSigns.yml", e);
+            return false;
+        }
+
+        ConfigurationSection playersSection = legacyConfig.getConfigurationSection("players");
+        int migrated = 0;
+        int skipped = 0;
+        if (playersSection != null) {
+            for (String key : playersSection.getKeys(false)) {
+                UUID playerId;
+                try {
+                    playerId = UUID.fromString(key);
+                } catch (IllegalArgumentException e) {
+                    ErrorHandler.handlePlayerDataError(key, "sign library migration", e);
+                    skipped++;
+                    continue;
+                }
+
+                ConfigurationSection playerSection = playersSection.getConfigurationSection(key);
+                if (playerSection == null) {
+                    continue;
+                }
+
+                File shardFile = storage.getShardFile(playerId);
+                if (shardFile.exists()) {
+                    // Left over from an interrupted migration - the shard is authoritative
+                    skipped++;
+                    continue;
+                }
+
+                YamlConfiguration shard = new YamlConfiguration();
+                ConfigurationSection signsSection = shard.createSection(YamlStorageBackend.SIGNS_SECTION);
+                for (String signName : playerSection.getKeys(false)) {
+                    ConfigurationSection signSection = playerSection.getConfigurationSection(signName);
+                    if (signSection != null) {
+                        SavedSignData.loadFromConfigurationSection(signSection)
+                                .saveToConfigurationSection(signsSection.createSection(signName));
+                    }
+                }
+
+                try {
+                    YamlStorageBackend.writeAtomically(shardFile, shard.saveToString());
+                    migrated++;
+                } catch (IOException e) {
+                    ErrorHandler.handleFileError("migrating sign library", shardFile, e, null);
+                    plugin.getLogger().severe("Sign library migration aborted. savedSigns.yml has been left in place.");
+                    return false;
+                }
+            }
+        }
+
+        File migratedFile = new File(legacyFile.getParentFile(), legacyFile.getName() + ".migrated");
+        if (!legacyFile.renameTo(migratedFile)) {
+            plugin.getLogger().warning("Failed to rename savedSigns.yml after migration. Existing shards will be kept on the next start.");
+        }
+
+        plugin.getLogger().info("Sign library migration completed: " + migrated + " players migrated, " + skipped + " skipped.");
+        return true;
+    }
+}
@@ -0,0 +1,74 @@
+package us.ironcladnetwork.copySign.Util;
+
+import org.bukkit.entity.Player;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Permission tiers for sign library quotas, compiled from the config.
+ * <p>
+ * {@code library.limit-tiers} lists the sign counts granted by
+ * {@code copysign.library.limit.<count>} and {@code library.size-tiers} the
+ * sizes in KB granted by {@code copysign.library.size.<kb>}. Each list is kept
+ * sorted highest first, so a player's tier is the first node they have. Tiers
+ * are resolved once per {@link PermissionSnapshot}; a save only reads the
+ * resolved values. Rebuilt by {@link ConfigManager#reloadCache()}.
+ */
+public final class LibraryQuota {
+    public static final String SIZE_PREFIX = "copysign.library.size.";
+    // Sign count tiers used when the config predates library.limit-tiers
+    public static final List<Integer> DEFAULT_SIGN_TIERS = List.of(5, 10, 25, 50, 75, 100);
+
+    private static volatile int[] signTiers = compile(DEFAULT_SIGN_TIERS);
+    private static volatile int[] sizeTiers = {};
+
+    private LibraryQuota() {
+    }
+
+    /**
+     * Compiles the configured tiers.
+     *
+     * @param signCounts Sign counts that may be granted by permission
+     * @param sizesKb    Library sizes in KB that may be granted by permission
+     */
+    public static void rebuild(Collection<Integer> signCounts, Collection<Integer> sizesKb) {
+        signTiers = compile(signCounts);
+        sizeTiers = compile(sizesKb);
+    }
+
+    /**
+     * @param player The player to resolve
+     * @return The highest sign count tier the player has, or 0 if none
+     */
+    static int resolveSignTier(Player player) {
+        return resolve(player, Permissions.LIBRARY_LIMIT_PREFIX, signTiers);
+    }
+
+    /**
+     * @param player The player to resolve
+     * @return The highest size tier the player has in KB, or 0 if none
+     */
+    static int resolveSizeTier(Player player) {
+        return resolve(player, SIZE_PREFIX, sizeTiers);
+    }
+
+    private static int resolve(Player player, String prefix, int[] tiers) {
+        for (int tier : tiers) {
+            if (player.hasPermission(prefix + tier)) {
+                return tier;
+            }
+        }
+        return 0;
+    }
+
+    // Positive, distinct and highest first
+    private static int[] compile(Collection<Integer> values) {
+        return values.stream()
+                .filter(value -> value != null && value > 0)
+                .distinct()
+                .sorted((a, b) -> Integer.compare(b, a))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+}
@@ -0,0 +1,238 @@
+package us.ironcladnetwork.copySign.Util;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A viewer's pagination session over a sign library.
+ * <p>
+ * The session holds the library's entries in a fixed order, either sorted by
+ * one of the {@link SortMode}s or, for search results, in rank order. It is
+ * kept open while the viewer is online and updated entry by entry as signs
+ * are saved and deleted, so turning a page only copies that page's entries and
+ * signs keep their position relative to each other.
+ *
+ * @see SignLibraryGUI
+ */
+public class LibrarySession {
+
+    /**
+     * Orders in which a library can be listed. Ties are broken by name so the
+     * order is total and stable.
+     */
+    public enum SortMode {
+        NAME("Name", (a, b) -> 0),
+        LAST_USED("Last Used", (a, b) -> Long.compare(b.getLastUsedAt(), a.getLastUsedAt())),
+        CREATED("Newest", (a, b) -> Long.compare(b.getCreatedAt(), a.getCreatedAt())),
+        SIZE("Size", (a, b) -> Integer.compare(b.getTextLength(), a.getTextLength()));
+
+        private final String displayName;
+        private final Comparator<Entry<String, SavedSignData>> comparator;
+
+        SortMode(String displayName, Comparator<SavedSignData> byData) {
+            this.displayName = displayName;
+            Comparator<Entry<String, SavedSignData>> byName = Comparator.comparing(Entry::getKey, String.CASE_INSENSITIVE_ORDER);
+            this.comparator = Comparator.<Entry<String, SavedSignData>, SavedSignData>comparing(Entry::getValue, byData)
+                    .thenComparing(byName)
+                    .thenComparing(Entry::getKey);
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        /**
+         * @return The sort mode after this one, wrapping around
+         */
+        public SortMode next() {
+            SortMode[] modes = values();
+            return modes[(ordinal() + 1) % modes.length];
+        }
+    }
+
+    // Open sessions keyed by viewer
+    private static final Map<UUID, LibrarySession> sessions = new ConcurrentHashMap<>();
+
+    private final UUID ownerId;
+    private final String query;
+    private SortMode sortMode;
+    private final List<Entry<String, SavedSignData>> entries;
+    // Current entry per name, to locate an entry before it changes
+    private final Map<String, Entry<String, SavedSignData>> byName = new HashMap<>();
+
+    private LibrarySession(UUID ownerId, Map<String, SavedSignData> signs, SortMode sortMode, String query) {
+        this.ownerId = ownerId;
+        this.query = query;
+        this.sortMode = sortMode;
+        this.entries = new ArrayList<>(signs.size());
+        for (Map.Entry<String, SavedSignData> sign : signs.entrySet()) {
+            Entry<String, SavedSignData> entry = new SimpleImmutableEntry<>(sign.getKey(), sign.getValue());
+            entries.add(entry);
+            byName.put(entry.getKey(), entry);
+        }
+        if (query == null) {
+            entries.sort(sortMode.comparator);
+        }
+    }
+
+    /**
+     * Opens a session over a whole library, replacing the viewer's previous
+     * session but keeping its sort mode.
+     *
+     * @param viewerId The viewer's UUID
+     * @param ownerId  The library owner's UUID
+     * @param signs    The library's signs
+     * @return The new session
+     */
+    public static LibrarySession openLibrary(UUID viewerId, UUID ownerId, Map<String, SavedSignData> signs) {
+        LibrarySession session = new LibrarySession(ownerId, signs, previousSortMode(viewerId), null);
+        sessions.put(viewerId, session);
+        return session;
+    }
+
+    /**
+     * Opens a session over search results, kept in rank order.
+     *
+     * @param viewerId The viewer's UUID
+     * @param ownerId  The library owner's UUID
+     * @param query    The search query
+     * @param results  The matching signs, best match first
+     * @return The new session
+     */
+    public static LibrarySession openSearch(UUID viewerId, UUID ownerId, String query, Map<String, SavedSignData> results) {
+        LibrarySession session = new LibrarySession(ownerId, results, previousSortMode(viewerId), query);
+        sessions.put(viewerId, session);
+        return session;
+    }
+
+    private static SortMode previousSortMode(UUID viewerId) {
+        LibrarySession previous = sessions.get(viewerId);
+        return previous != null ? previous.getSortMode() : SortMode.NAME;
+    }
+
+    /**
+     * Closes a viewer's session.
+     *
+     * @param viewerId The viewer's UUID
+     */
+    public static void close(UUID viewerId) {
+        sessions.remove(viewerId);
+    }
+
+    /**
+     * Passes a saved sign on to every session over its library.
+     *
+     * @param ownerId The library owner's UUID
+     * @param name    The sign's name
+     * @param data    The sign's new data
+     */
+    public static void onSignSaved(UUID ownerId, String name, SavedSignData data) {
+        for (LibrarySession session : sessions.values()) {
+            if (session.ownerId.equals(ownerId)) {
+                session.put(name, data);
+            }
+        }
+    }
+
+    /**
+     * Passes a deleted sign on to every session over its library.
+     *
+     * @param ownerId The library owner's UUID
+     * @param name    The sign's name
+     */
+    public static void onSignDeleted(UUID ownerId, String name) {
+        for (LibrarySession session : sessions.values()) {
+            if (session.ownerId.equals(ownerId)) {
+                session.remove(name);
+            }
+        }
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public boolean isSearch() {
+        return query != null;
+    }
+
+    public synchronized SortMode getSortMode() {
+        return sortMode;
+    }
+
+    /**
+     * Switches to the next sort mode. Search results stay in rank order.
+     */
+    public synchronized void cycleSortMode() {
+        if (isSearch()) {
+            return;
+        }
+        sortMode = sortMode.next();
+        entries.sort(sortMode.comparator);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return The number of pages, at least 1
+     */
+    public synchronized int getPageCount() {
+        return Math.max(1, (entries.size() + SignLibraryGUI.ENTRIES_PER_PAGE - 1) / SignLibraryGUI.ENTRIES_PER_PAGE);
+    }
+
+    /**
+     * Copies the entries shown on a page.
+     *
+     * @param page The page index (0-indexed)
+     * @return The page's entries in display order
+     */
+    public synchronized List<Entry<String, SavedSignData>> getPage(int page) {
+        int start = page * SignLibraryGUI.ENTRIES_PER_PAGE;
+        if (start < 0 || start >= entries.size()) {
+            return Collections.emptyList();
+        }
+        int end = Math.min(start + SignLibraryGUI.ENTRIES_PER_PAGE, entries.size());
+        return new ArrayList<>(entries.subList(start, end));
+    }
+
+    private synchronized void put(String name, SavedSignData data) {
+        Entry<String, SavedSignData> entry = new SimpleImmutableEntry<>(name, data);
+        Entry<String, SavedSignData> old = byName.get(name);
+        if (isSearch()) {
+            // Results keep their rank; a changed result is refreshed in place
+            if (old != null) {
+                entries.set(entries.indexOf(old), entry);
+                byName.put(name, entry);
+            }
+            return;
+        }
+        if (old != null) {
+            entries.remove(Collections.binarySearch(entries, old, sortMode.comparator));
+        }
+        int index = Collections.binarySearch(entries, entry, sortMode.comparator);
+        entries.add(index < 0 ? -index - 1 : index, entry);
+        byName.put(name, entry);
+    }
+
+    private synchronized void remove(String name) {
+        Entry<String, SavedSignData> old = byName.remove(name);
+        if (old == null) {
+            return;
+        }
+        if (isSearch()) {
+            entries.remove(old);
+        } else {
+            entries.remove(Collections.binarySearch(entries, old, sortMode.comparator));
+        }
+    }
+}
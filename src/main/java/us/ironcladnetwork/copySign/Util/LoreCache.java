@@ -0,0 +1,135 @@
+package us.ironcladnetwork.copySign.Util;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Rendered sign lore, keyed by a 64-bit hash of everything it is rendered from.
+ * <p>
+ * The same sign content is rendered on every copy, load, library page and
+ * template listing, and each render runs the {@link ColorAnalyzer} over every
+ * line. The cache keeps the most recently used renders as immutable lists, so
+ * repeated content costs one hash over its lines. Entries are keyed by the
+ * hash alone; at the configured size a collision is not a practical concern.
+ * Resized and cleared by {@link ConfigManager#reloadCache()}.
+ */
+public final class LoreCache {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static volatile int maxEntries = 512;
+    private static final Map<Long, List<String>> entries = Collections.synchronizedMap(
+            new LinkedHashMap<Long, List<String>>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, List<String>> eldest) {
+                    return size() > maxEntries;
+                }
+            });
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+
+    private LoreCache() {
+    }
+
+    /**
+     * Gets rendered lore, rendering and caching it on a miss.
+     *
+     * @param key    The content key from {@link #key}
+     * @param render Renders the lore on a miss
+     * @return The rendered lore, immutable
+     */
+    static List<String> get(long key, Supplier<List<String>> render) {
+        if (maxEntries <= 0) {
+            misses.incrementAndGet();
+            return Collections.unmodifiableList(render.get());
+        }
+        List<String> lore = entries.get(key);
+        if (lore != null) {
+            hits.incrementAndGet();
+            return lore;
+        }
+        misses.incrementAndGet();
+        lore = Collections.unmodifiableList(render.get());
+        entries.put(key, lore);
+        return lore;
+    }
+
+    /**
+     * Hashes everything sign lore is rendered from.
+     *
+     * @param variant Distinguishes renders of the same content, such as the lore profile
+     * @return The 64-bit content key
+     */
+    static long key(long variant, String itemName, String[] frontLines, String[] backLines,
+                    String frontColor, String backColor, boolean frontGlowing, boolean backGlowing,
+                    String signType, String sourceType) {
+        long hash = mix(FNV_OFFSET, variant);
+        hash = mix(hash, itemName);
+        hash = mix(hash, frontLines);
+        hash = mix(hash, backLines);
+        hash = mix(hash, frontColor);
+        hash = mix(hash, backColor);
+        hash = mix(hash, (frontGlowing ? 1 : 0) | (backGlowing ? 2 : 0));
+        hash = mix(hash, signType);
+        return mix(hash, sourceType);
+    }
+
+    /**
+     * Drops every entry and sets how many are kept.
+     *
+     * @param size Maximum number of entries; 0 or less disables the cache
+     */
+    public static void reset(int size) {
+        maxEntries = size;
+        entries.clear();
+    }
+
+    public static int getSize() {
+        return entries.size();
+    }
+
+    public static long getHits() {
+        return hits.get();
+    }
+
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    private static long mix(long hash, long value) {
+        for (int i = 0; i < 8; i++) {
+            hash = (hash ^ (value & 0xFF)) * FNV_PRIME;
+            value >>>= 8;
+        }
+        return hash;
+    }
+
+    // Null and each string are terminated so adjacent fields cannot run together
+    private static long mix(long hash, String value) {
+        if (value == null) {
+            return (hash ^ 0xFF) * FNV_PRIME;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            hash = (hash ^ (c & 0xFF)) * FNV_PRIME;
+            hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+        }
+        return (hash ^ 0xFE) * FNV_PRIME;
+    }
+
+    private static long mix(long hash, String[] lines) {
+        if (lines == null) {
+            return (hash ^ 0xFD) * FNV_PRIME;
+        }
+        hash = mix(hash, lines.length);
+        for (String line : lines) {
+            hash = mix(hash, line);
+        }
+        return hash;
+    }
+}
@@ -115,6 +115,9 @@ public class MetricsManager {
             // Sign data cache
             values.put("Sign Data", SignDataCache.getSize());
             
+            // Rendered lore cache
+            values.put("Rendered Lore", LoreCache.getSize());
+            
             // Confirmation cache
             values.put("Confirmations", CopySign.getConfirmationManager().getPendingCount());
             
@@ -226,6 +229,8 @@ public class MetricsManager {
         stats.put("Load Operations", loadOperations.get());
         stats.put("Template Operations", templateOperations.get());
         stats.put("Unique Users", uniqueUsers.size());
+        stats.put("Lore Cache Hits", (int) Math.min(Integer.MAX_VALUE, LoreCache.getHits()));
+        stats.put("Lore Cache Misses", (int) Math.min(Integer.MAX_VALUE, LoreCache.getMisses()));
         return stats;
     }
 }
\ No newline at end of file
@@ -13,7 +13,8 @@ public class NBTValidationUtil {
     
     /**
      * Validates NBT data string for size and content constraints.
-     * Uses enhanced validation including Unicode normalization and content checks.
+     * Uses enhanced validation including Unicode normalization and content checks,
+     * gathered in a single {@link SignTextValidator} scan.
      * 
      * @param data The NBT data string to validate
      * @return true if the data is valid, false otherwise
@@ -28,28 +29,48 @@ public class NBTValidationUtil {
             return false;
         }
         
-        // Use enhanced sign content validation
-        if (!ErrorHandler.isValidSignContent(data, MAX_NBT_SIZE)) {
-            return false;
+        // Content, line count and line lengths, before and after normalization
+        SignTextValidator.Report report = SignTextValidator.scan(data);
+        return !report.hasForbidden()
+                && report.getNormalizedLength() <= MAX_NBT_SIZE
+                && report.getLineCount() <= MAX_LINES
+                && report.getLongestLine() <= MAX_LINE_LENGTH
+                && report.getLongestNormalizedLine() <= MAX_LINE_LENGTH;
+    }
+    
+    /**
+     * Validates one side's lines for size and content constraints.
+     * Applies the same checks as {@link #validateNBTData(String)} without
+     * joining the lines into one string first.
+     * 
+     * @param lines The lines to validate
+     * @return true if the lines are valid, false otherwise
+     */
+    public static boolean validateNBTLines(String[] lines) {
+        if (lines == null) {
+            return true; // null is acceptable
         }
         
-        // Check individual line lengths
-        String[] lines = data.split("\n", -1);
         if (lines.length > MAX_LINES) {
             return false;
         }
         
+        // Overall size, counting the separators of the joined form
+        int size = lines.length - 1;
         for (String line : lines) {
+            if (line == null) {
+                continue;
+            }
             if (line.length() > MAX_LINE_LENGTH) {
                 return false;
             }
-            // Additional content validation for each line
-            if (!ErrorHandler.isValidSignContent(line, MAX_LINE_LENGTH)) {
+            SignTextValidator.Report report = SignTextValidator.scan(line);
+            if (report.hasForbidden() || report.getNormalizedLength() > MAX_LINE_LENGTH) {
                 return false;
             }
+            size += line.length();
         }
-        
-        return true;
+        return size <= MAX_NBT_SIZE;
     }
     
     /**
@@ -0,0 +1,63 @@
+package us.ironcladnetwork.copySign.Util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Sorted index of names for case-insensitive prefix lookups.
+ * <p>
+ * Each name is stored as its lowercase form followed by the original name, so
+ * every name starting with a prefix sits in one contiguous range of the set.
+ * A lookup costs a log-time seek plus the number of matches, independent of
+ * how many names are indexed.
+ */
+public class NameIndex {
+    // Separates the lowercase key from the original name; sorts below any real character
+    private static final char SEPARATOR = '\u0000';
+
+    private final NavigableSet<String> entries = new ConcurrentSkipListSet<>();
+
+    public NameIndex() {
+    }
+
+    public NameIndex(Collection<String> names) {
+        for (String name : names) {
+            add(name);
+        }
+    }
+
+    public void add(String name) {
+        entries.add(key(name));
+    }
+
+    public void remove(String name) {
+        entries.remove(key(name));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Finds every name starting with the given prefix, ignoring case.
+     *
+     * @param prefix The typed prefix
+     * @return The matching names in case-insensitive order
+     */
+    public List<String> complete(String prefix) {
+        String lower = prefix.toLowerCase(Locale.ENGLISH);
+        List<String> matches = new ArrayList<>();
+        for (String entry : entries.subSet(lower, true, lower + Character.MAX_VALUE, false)) {
+            matches.add(entry.substring(entry.indexOf(SEPARATOR) + 1));
+        }
+        return matches;
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ENGLISH) + SEPARATOR + name;
+    }
+}
@@ -0,0 +1,174 @@
+package us.ironcladnetwork.copySign.Util;
+
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The CopySign permissions of an online player, resolved once and reused.
+ * <p>
+ * A single copy or save can ask for half a dozen permission nodes, and each
+ * {@code hasPermission} call walks the permission plugin's tree. The snapshot
+ * resolves every node {@link Permissions} checks and the player's
+ * {@link LibraryQuota} tiers in one go and keeps the results as bits and
+ * fields, so the checks themselves are field reads. Snapshots are taken on
+ * join, retaken on world change (permissions may be per world), dropped on
+ * quit and on reload, and expire after
+ * {@code performance.permission-cache-seconds} so changes made through a
+ * permission plugin are picked up without a relog.
+ *
+ * @see Permissions
+ */
+public final class PermissionSnapshot {
+    // Bit positions of the cached nodes, in the order of NODES
+    static final int USE = 0;
+    static final int ADMIN = 1;
+    static final int RELOAD = 2;
+    static final int COPY_COLOR = 3;
+    static final int COPY_GLOW = 4;
+    static final int COPY_REGULAR_SIGNS = 5;
+    static final int COPY_HANGING_SIGNS = 6;
+    static final int PASTE_REGULAR_SIGNS = 7;
+    static final int PASTE_HANGING_SIGNS = 8;
+    static final int LIBRARY = 9;
+    static final int LIBRARY_SAVE = 10;
+    static final int LIBRARY_LOAD = 11;
+    static final int LIBRARY_DELETE = 12;
+    static final int LIBRARY_VIEW = 13;
+    static final int LIBRARY_UNLIMITED = 14;
+    static final int TEMPLATES = 15;
+    static final int TEMPLATES_VIEW = 16;
+    static final int TEMPLATES_USE = 17;
+    static final int TEMPLATES_CREATE = 18;
+    static final int TEMPLATES_EDIT = 19;
+    static final int TEMPLATES_DELETE = 20;
+    static final int BYPASS_COOLDOWNS = 21;
+    static final int BYPASS_LIMITS = 22;
+    static final int BYPASS_DISABLED_WORLDS = 23;
+    static final int BYPASS_WORLDGUARD = 24;
+
+    private static final String[] NODES = {
+        Permissions.USE,
+        Permissions.ADMIN,
+        Permissions.RELOAD,
+        Permissions.COPY_COLOR,
+        Permissions.COPY_GLOW,
+        Permissions.COPY_REGULAR_SIGNS,
+        Permissions.COPY_HANGING_SIGNS,
+        Permissions.PASTE_REGULAR_SIGNS,
+        Permissions.PASTE_HANGING_SIGNS,
+        Permissions.LIBRARY,
+        Permissions.LIBRARY_SAVE,
+        Permissions.LIBRARY_LOAD,
+        Permissions.LIBRARY_DELETE,
+        Permissions.LIBRARY_VIEW,
+        Permissions.LIBRARY_UNLIMITED,
+        Permissions.TEMPLATES,
+        Permissions.TEMPLATES_VIEW,
+        Permissions.TEMPLATES_USE,
+        Permissions.TEMPLATES_CREATE,
+        Permissions.TEMPLATES_EDIT,
+        Permissions.TEMPLATES_DELETE,
+        Permissions.BYPASS_COOLDOWNS,
+        Permissions.BYPASS_LIMITS,
+        Permissions.BYPASS_DISABLED_WORLDS,
+        Permissions.BYPASS_WORLDGUARD
+    };
+
+    private static final Map<UUID, PermissionSnapshot> snapshots = new ConcurrentHashMap<>();
+    private static volatile long ttlNanos = 10_000_000_000L;
+
+    private final long granted;
+    private final int libraryLimit;
+    private final int librarySizeKb;
+    private final long takenAt;
+
+    private PermissionSnapshot(Player player) {
+        long bits = 0;
+        for (int i = 0; i < NODES.length; i++) {
+            if (player.hasPermission(NODES[i])) {
+                bits |= 1L << i;
+            }
+        }
+        this.granted = bits;
+        this.libraryLimit = LibraryQuota.resolveSignTier(player);
+        this.librarySizeKb = LibraryQuota.resolveSizeTier(player);
+        this.takenAt = System.nanoTime();
+    }
+
+    /**
+     * Gets a player's snapshot, taking a new one if there is none or it has expired.
+     *
+     * @param player The player
+     * @return The player's current snapshot
+     */
+    public static PermissionSnapshot of(Player player) {
+        long ttl = ttlNanos;
+        if (ttl <= 0 || !player.isOnline()) {
+            // Caching disabled, or a player we would never hear quit
+            return new PermissionSnapshot(player);
+        }
+        PermissionSnapshot snapshot = snapshots.get(player.getUniqueId());
+        if (snapshot == null || System.nanoTime() - snapshot.takenAt > ttl) {
+            snapshot = refresh(player);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Takes a new snapshot of a player's permissions, replacing the old one.
+     *
+     * @param player The player
+     * @return The new snapshot
+     */
+    public static PermissionSnapshot refresh(Player player) {
+        PermissionSnapshot snapshot = new PermissionSnapshot(player);
+        if (ttlNanos > 0) {
+            snapshots.put(player.getUniqueId(), snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Drops a player's snapshot.
+     *
+     * @param playerId The player's UUID
+     */
+    public static void invalidate(UUID playerId) {
+        snapshots.remove(playerId);
+    }
+
+    /**
+     * Drops every snapshot and sets how long new ones are kept.
+     *
+     * @param seconds Snapshot lifetime in seconds; 0 or less disables caching
+     */
+    public static void reset(int seconds) {
+        ttlNanos = seconds * 1_000_000_000L;
+        snapshots.clear();
+    }
+
+    /**
+     * @param node One of the node bit positions of this class
+     * @return true if the player had the node when the snapshot was taken
+     */
+    boolean has(int node) {
+        return (granted & (1L << node)) != 0;
+    }
+
+    /**
+     * @return The highest library limit tier the player has, or 0 if none
+     */
+    int getLibraryLimit() {
+        return libraryLimit;
+    }
+
+    /**
+     * @return The highest library size tier the player has in KB, or 0 if none
+     */
+    int getLibrarySizeKb() {
+        return librarySizeKb;
+    }
+}
@@ -5,6 +5,8 @@ import org.bukkit.entity.Player;
 /**
  * Centralized permission constants and validation utilities for CopySign.
  * Provides comprehensive permission checking with granular controls.
+ * Checks read the player's {@link PermissionSnapshot} rather than querying
+ * the permission plugin each time.
  */
 public final class Permissions {
     
@@ -28,6 +30,7 @@ public final class Permissions {
     public static final String LIBRARY_DELETE = "copysign.library.delete";
     public static final String LIBRARY_VIEW = "copysign.library.view";
     public static final String LIBRARY_UNLIMITED = "copysign.library.unlimited";
+    public static final String LIBRARY_LIMIT_PREFIX = "copysign.library.limit.";
     
     // Template permissions
     public static final String TEMPLATES = "copysign.templates";
@@ -41,6 +44,7 @@ public final class Permissions {
     public static final String BYPASS_COOLDOWNS = "copysign.bypass.cooldowns";
     public static final String BYPASS_LIMITS = "copysign.bypass.limits";
     public static final String BYPASS_DISABLED_WORLDS = "copysign.bypass.worlds";
+    public static final String BYPASS_WORLDGUARD = "copysign.bypass.worldguard";
     
     // World-specific permissions (dynamic)
     public static final String WORLD_PREFIX = "copysign.world.";
@@ -48,6 +52,10 @@ public final class Permissions {
     // Private constructor to prevent instantiation
     private Permissions() {}
     
+    private static boolean has(Player player, int node) {
+        return PermissionSnapshot.of(player).has(node);
+    }
+    
     /**
      * Checks if a player has basic usage permission.
      * 
@@ -55,7 +63,7 @@ public final class Permissions {
      * @return true if player can use CopySign
      */
     public static boolean canUse(Player player) {
-        return player.hasPermission(USE);
+        return has(player, PermissionSnapshot.USE);
     }
     
     /**
@@ -65,7 +73,7 @@ public final class Permissions {
      * @return true if player has admin access
      */
     public static boolean isAdmin(Player player) {
-        return player.hasPermission(ADMIN);
+        return has(player, PermissionSnapshot.ADMIN);
     }
     
     /**
@@ -75,7 +83,7 @@ public final class Permissions {
      * @return true if player can copy colors
      */
     public static boolean canCopyColor(Player player) {
-        return player.hasPermission(COPY_COLOR);
+        return has(player, PermissionSnapshot.COPY_COLOR);
     }
     
     /**
@@ -85,7 +93,7 @@ public final class Permissions {
      * @return true if player can copy glow
      */
     public static boolean canCopyGlow(Player player) {
-        return player.hasPermission(COPY_GLOW);
+        return has(player, PermissionSnapshot.COPY_GLOW);
     }
     
     /**
@@ -97,9 +105,9 @@ public final class Permissions {
      */
     public static boolean canCopySignType(Player player, boolean isHanging) {
         if (isHanging) {
-            return player.hasPermission(COPY_HANGING_SIGNS);
+            return has(player, PermissionSnapshot.COPY_HANGING_SIGNS);
         } else {
-            return player.hasPermission(COPY_REGULAR_SIGNS);
+            return has(player, PermissionSnapshot.COPY_REGULAR_SIGNS);
         }
     }
     
@@ -112,9 +120,9 @@ public final class Permissions {
      */
     public static boolean canPasteSignType(Player player, boolean isHanging) {
         if (isHanging) {
-            return player.hasPermission(PASTE_HANGING_SIGNS);
+            return has(player, PermissionSnapshot.PASTE_HANGING_SIGNS);
         } else {
-            return player.hasPermission(PASTE_REGULAR_SIGNS);
+            return has(player, PermissionSnapshot.PASTE_REGULAR_SIGNS);
         }
     }
     
@@ -125,7 +133,7 @@ public final class Permissions {
      * @return true if player can use library features
      */
     public static boolean canUseLibrary(Player player) {
-        return player.hasPermission(LIBRARY);
+        return has(player, PermissionSnapshot.LIBRARY);
     }
     
     /**
@@ -135,7 +143,7 @@ public final class Permissions {
      * @return true if player can save signs
      */
     public static boolean canSaveToLibrary(Player player) {
-        return player.hasPermission(LIBRARY_SAVE) || player.hasPermission(LIBRARY);
+        return has(player, PermissionSnapshot.LIBRARY_SAVE) || has(player, PermissionSnapshot.LIBRARY);
     }
     
     /**
@@ -145,7 +153,7 @@ public final class Permissions {
      * @return true if player can load signs
      */
     public static boolean canLoadFromLibrary(Player player) {
-        return player.hasPermission(LIBRARY_LOAD) || player.hasPermission(LIBRARY);
+        return has(player, PermissionSnapshot.LIBRARY_LOAD) || has(player, PermissionSnapshot.LIBRARY);
     }
     
     /**
@@ -155,7 +163,7 @@ public final class Permissions {
      * @return true if player can delete signs
      */
     public static boolean canDeleteFromLibrary(Player player) {
-        return player.hasPermission(LIBRARY_DELETE) || player.hasPermission(LIBRARY);
+        return has(player, PermissionSnapshot.LIBRARY_DELETE) || has(player, PermissionSnapshot.LIBRARY);
     }
     
     /**
@@ -165,7 +173,7 @@ public final class Permissions {
      * @return true if player can view library
      */
     public static boolean canViewLibrary(Player player) {
-        return player.hasPermission(LIBRARY_VIEW) || player.hasPermission(LIBRARY);
+        return has(player, PermissionSnapshot.LIBRARY_VIEW) || has(player, PermissionSnapshot.LIBRARY);
     }
     
     /**
@@ -175,7 +183,7 @@ public final class Permissions {
      * @return true if player bypasses library limits
      */
     public static boolean hasUnlimitedLibrary(Player player) {
-        return player.hasPermission(LIBRARY_UNLIMITED) || isAdmin(player);
+        return has(player, PermissionSnapshot.LIBRARY_UNLIMITED) || isAdmin(player);
     }
     
     /**
@@ -185,7 +193,7 @@ public final class Permissions {
      * @return true if player can view templates
      */
     public static boolean canViewTemplates(Player player) {
-        return player.hasPermission(TEMPLATES_VIEW) || player.hasPermission(TEMPLATES);
+        return has(player, PermissionSnapshot.TEMPLATES_VIEW) || has(player, PermissionSnapshot.TEMPLATES);
     }
     
     /**
@@ -195,7 +203,7 @@ public final class Permissions {
      * @return true if player can use templates
      */
     public static boolean canUseTemplates(Player player) {
-        return player.hasPermission(TEMPLATES_USE) || player.hasPermission(TEMPLATES);
+        return has(player, PermissionSnapshot.TEMPLATES_USE) || has(player, PermissionSnapshot.TEMPLATES);
     }
     
     /**
@@ -205,7 +213,7 @@ public final class Permissions {
      * @return true if player can create templates
      */
     public static boolean canCreateTemplates(Player player) {
-        return player.hasPermission(TEMPLATES_CREATE) || isAdmin(player);
+        return has(player, PermissionSnapshot.TEMPLATES_CREATE) || isAdmin(player);
     }
     
     /**
@@ -215,7 +223,7 @@ public final class Permissions {
      * @return true if player can edit templates
      */
     public static boolean canEditTemplates(Player player) {
-        return player.hasPermission(TEMPLATES_EDIT) || isAdmin(player);
+        return has(player, PermissionSnapshot.TEMPLATES_EDIT) || isAdmin(player);
     }
     
     /**
@@ -225,7 +233,7 @@ public final class Permissions {
      * @return true if player can delete templates
      */
     public static boolean canDeleteTemplates(Player player) {
-        return player.hasPermission(TEMPLATES_DELETE) || isAdmin(player);
+        return has(player, PermissionSnapshot.TEMPLATES_DELETE) || isAdmin(player);
     }
     
     /**
@@ -235,7 +243,7 @@ public final class Permissions {
      * @return true if player can reload
      */
     public static boolean canReload(Player player) {
-        return player.hasPermission(RELOAD);
+        return has(player, PermissionSnapshot.RELOAD);
     }
     
     /**
@@ -245,7 +253,7 @@ public final class Permissions {
      * @return true if player bypasses cooldowns
      */
     public static boolean bypassesCooldowns(Player player) {
-        return player.hasPermission(BYPASS_COOLDOWNS) || isAdmin(player);
+        return has(player, PermissionSnapshot.BYPASS_COOLDOWNS) || isAdmin(player);
     }
     
     /**
@@ -255,7 +263,17 @@ public final class Permissions {
      * @return true if player bypasses limits
      */
     public static boolean bypassesLimits(Player player) {
-        return player.hasPermission(BYPASS_LIMITS) || isAdmin(player);
+        return has(player, PermissionSnapshot.BYPASS_LIMITS) || isAdmin(player);
+    }
+    
+    /**
+     * Checks if a player bypasses WorldGuard region checks.
+     * 
+     * @param player The player to check
+     * @return true if player bypasses WorldGuard
+     */
+    public static boolean bypassesWorldGuard(Player player) {
+        return has(player, PermissionSnapshot.BYPASS_WORLDGUARD);
     }
     
     /**
@@ -265,7 +283,7 @@ public final class Permissions {
      * @return true if player bypasses world restrictions
      */
     public static boolean bypassesWorldRestrictions(Player player) {
-        return player.hasPermission(BYPASS_DISABLED_WORLDS) || isAdmin(player);
+        return has(player, PermissionSnapshot.BYPASS_DISABLED_WORLDS) || isAdmin(player);
     }
     
     /**
@@ -276,6 +294,7 @@ public final class Permissions {
      * @return true if player can use CopySign in this world
      */
     public static boolean canUseInWorld(Player player, String worldName) {
+        // World nodes are open-ended, so they are not part of the snapshot
         return player.hasPermission(WORLD_PREFIX + worldName.toLowerCase()) || 
                bypassesWorldRestrictions(player);
     }
@@ -293,13 +312,29 @@ public final class Permissions {
             return -1;
         }
         
-        // Check for specific limit permissions (copysign.library.limit.X)
-        for (int limit : new int[]{100, 75, 50, 25, 10, 5}) {
-            if (player.hasPermission("copysign.library.limit." + limit)) {
-                return limit;
-            }
+        // Highest configured limit tier (copysign.library.limit.X) the player has
+        int limit = PermissionSnapshot.of(player).getLibraryLimit();
+        return limit > 0 ? limit : configDefault;
+    }
+    
+    /**
+     * Gets the maximum total text size, in KB, a player can keep in their library.
+     * Returns -1 for unlimited.
+     * 
+     * @param player The player to check
+     * @param configDefaultKb The default size quota from config, 0 or less for none
+     * @return Maximum library size in KB, or -1 for unlimited
+     */
+    public static int getMaxLibrarySizeKb(Player player, int configDefaultKb) {
+        if (hasUnlimitedLibrary(player)) {
+            return -1;
         }
         
-        return configDefault;
+        // Highest configured size tier (copysign.library.size.X) the player has
+        int sizeKb = PermissionSnapshot.of(player).getLibrarySizeKb();
+        if (sizeKb > 0) {
+            return sizeKb;
+        }
+        return configDefaultKb > 0 ? configDefaultKb : -1;
     }
 }
\ No newline at end of file
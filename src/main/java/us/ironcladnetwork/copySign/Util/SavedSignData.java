@@ -1,26 +1,38 @@
 package us.ironcladnetwork.copySign.Util;
 
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
- * POJO representing the saved sign data.
+ * Immutable value representing the saved sign data.
  * <p>
  * Encapsulates the sign's front/back text (as arrays of lines), glow state,
- * side colors, sign type and optional lore.
+ * side colors, sign type, optional lore and when the sign was created and last
+ * used. Instances are shared between the decoded library cache and every
+ * reader, so nothing can be changed after construction; use the constructors
+ * or the {@code with} copies to derive a changed sign.
  */
-public class SavedSignData {
+public final class SavedSignData {
 
-    private String[] front;
-    private String[] back;
-    private boolean glowing; // Legacy field - kept for backwards compatibility
-    private boolean frontGlowing;
-    private boolean backGlowing;
-    private String frontColor;
-    private String backColor;
-    private String signType;
-    private List<String> lore;
+    private final String[] front;
+    private final String[] back;
+    private final boolean glowing; // Legacy field - kept for backwards compatibility
+    private final boolean frontGlowing;
+    private final boolean backGlowing;
+    private final String frontColor;
+    private final String backColor;
+    private final String signType;
+    private final List<String> lore;
+    private final long createdAt; // Epoch millis, 0 if unknown (saved before tracking)
+    private final long lastUsedAt; // Epoch millis, 0 if never used
+    // Shared by copies that differ only in their usage times
+    private final Object contentVersion;
 
     /**
      * Constructs a SavedSignData instance with per-side glow states.
@@ -35,15 +47,40 @@ public class SavedSignData {
      * @param lore         Optional lore lines.
      */
     public SavedSignData(String[] front, String[] back, boolean frontGlowing, boolean backGlowing, String frontColor, String backColor, String signType, List<String> lore) {
-        this.front = front;
-        this.back = back;
+        this(front, back, frontGlowing, backGlowing, frontColor, backColor, signType, lore, System.currentTimeMillis(), 0L);
+    }
+
+    /**
+     * Constructs a SavedSignData instance with per-side glow states and usage times.
+     *
+     * @param front        Array of strings for the sign's front text.
+     * @param back         Array of strings for the sign's back text.
+     * @param frontGlowing Whether the front side should be glowing.
+     * @param backGlowing  Whether the back side should be glowing.
+     * @param frontColor   The color name for the front side.
+     * @param backColor    The color name for the back side.
+     * @param signType     The type of sign ("regular" or "hanging").
+     * @param lore         Optional lore lines.
+     * @param createdAt    When the sign was saved, in epoch millis (0 if unknown).
+     * @param lastUsedAt   When the sign was last loaded, in epoch millis (0 if never).
+     */
+    public SavedSignData(String[] front, String[] back, boolean frontGlowing, boolean backGlowing, String frontColor, String backColor, String signType, List<String> lore, long createdAt, long lastUsedAt) {
+        this(front, back, frontGlowing, backGlowing, frontColor, backColor, signType, lore, createdAt, lastUsedAt, new Object());
+    }
+
+    private SavedSignData(String[] front, String[] back, boolean frontGlowing, boolean backGlowing, String frontColor, String backColor, String signType, List<String> lore, long createdAt, long lastUsedAt, Object contentVersion) {
+        this.front = front != null ? front.clone() : null;
+        this.back = back != null ? back.clone() : null;
         this.frontGlowing = frontGlowing;
         this.backGlowing = backGlowing;
         this.glowing = frontGlowing || backGlowing; // Legacy compatibility
         this.frontColor = frontColor;
         this.backColor = backColor;
         this.signType = signType;
-        this.lore = lore;
+        this.lore = lore != null ? Collections.unmodifiableList(new ArrayList<>(lore)) : null;
+        this.createdAt = createdAt;
+        this.lastUsedAt = lastUsedAt;
+        this.contentVersion = contentVersion;
     }
 
     /**
@@ -63,20 +100,18 @@ public class SavedSignData {
         this(front, back, glowing, glowing, frontColor, backColor, signType, lore);
     }
 
+    /**
+     * @return A copy of the front lines
+     */
     public String[] getFront() {
-        return front;
-    }
-
-    public void setFront(String[] front) {
-        this.front = front;
+        return front != null ? front.clone() : null;
     }
 
+    /**
+     * @return A copy of the back lines
+     */
     public String[] getBack() {
-        return back;
-    }
-
-    public void setBack(String[] back) {
-        this.back = back;
+        return back != null ? back.clone() : null;
     }
 
     /**
@@ -87,16 +122,6 @@ public class SavedSignData {
         return glowing;
     }
 
-    /**
-     * @deprecated Use setFrontGlowing() and setBackGlowing() instead.
-     */
-    @Deprecated
-    public void setGlowing(boolean glowing) {
-        this.glowing = glowing;
-        this.frontGlowing = glowing;
-        this.backGlowing = glowing;
-    }
-
     /**
      * Gets the glow state of the front side.
      * 
@@ -106,16 +131,6 @@ public class SavedSignData {
         return frontGlowing;
     }
 
-    /**
-     * Sets the glow state of the front side.
-     * 
-     * @param frontGlowing true to make the front side glow
-     */
-    public void setFrontGlowing(boolean frontGlowing) {
-        this.frontGlowing = frontGlowing;
-        this.glowing = this.frontGlowing || this.backGlowing; // Update legacy field
-    }
-
     /**
      * Gets the glow state of the back side.
      * 
@@ -125,16 +140,6 @@ public class SavedSignData {
         return backGlowing;
     }
 
-    /**
-     * Sets the glow state of the back side.
-     * 
-     * @param backGlowing true to make the back side glow
-     */
-    public void setBackGlowing(boolean backGlowing) {
-        this.backGlowing = backGlowing;
-        this.glowing = this.frontGlowing || this.backGlowing; // Update legacy field
-    }
-
     /**
      * Checks if the sign has mixed glow states (one side glowing, the other not).
      * 
@@ -148,32 +153,107 @@ public class SavedSignData {
         return frontColor;
     }
 
-    public void setFrontColor(String frontColor) {
-        this.frontColor = frontColor;
-    }
-
     public String getBackColor() {
         return backColor;
     }
 
-    public void setBackColor(String backColor) {
-        this.backColor = backColor;
-    }
-
     public String getSignType() {
         return signType;
     }
 
-    public void setSignType(String signType) {
-        this.signType = signType;
-    }
-
+    /**
+     * @return The lore lines as an unmodifiable list, or null if none
+     */
     public List<String> getLore() {
         return lore;
     }
 
-    public void setLore(List<String> lore) {
-        this.lore = lore;
+    /**
+     * @return When the sign was saved, in epoch millis, or 0 if unknown
+     */
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * @return When the sign was last loaded, in epoch millis, or 0 if never
+     */
+    public long getLastUsedAt() {
+        return lastUsedAt;
+    }
+
+    /**
+     * Gets a token identifying this sign's content. Copies made by
+     * {@link #withLastUsedAt} and {@link #withCreatedAt} keep the token, since
+     * only their usage times differ; every other instance gets its own.
+     *
+     * @return The content version token, compared by identity
+     */
+    public Object getContentVersion() {
+        return contentVersion;
+    }
+
+    /**
+     * Gets the total length of the sign's text, used to sort signs by size.
+     *
+     * @return The number of characters on both sides
+     */
+    public int getTextLength() {
+        return totalLength(front) + totalLength(back);
+    }
+
+    /**
+     * Gets the encoded size of the sign's text, counted against library size quotas.
+     *
+     * @return The number of UTF-8 bytes on both sides
+     */
+    public int getTextBytes() {
+        return totalBytes(front) + totalBytes(back);
+    }
+
+    /**
+     * Creates a copy of this sign marked as used at the given time.
+     *
+     * @param time The time of use, in epoch millis
+     * @return A new SavedSignData instance
+     */
+    public SavedSignData withLastUsedAt(long time) {
+        return new SavedSignData(front, back, frontGlowing, backGlowing, frontColor, backColor, signType, lore, createdAt, time, contentVersion);
+    }
+
+    /**
+     * Creates a copy of this sign with another creation time, used to keep it
+     * when a sign is overwritten under the same name.
+     *
+     * @param time The creation time, in epoch millis
+     * @return A new SavedSignData instance
+     */
+    public SavedSignData withCreatedAt(long time) {
+        return new SavedSignData(front, back, frontGlowing, backGlowing, frontColor, backColor, signType, lore, time, lastUsedAt, contentVersion);
+    }
+
+    private static int totalLength(String[] lines) {
+        int length = 0;
+        if (lines != null) {
+            for (String line : lines) {
+                if (line != null) {
+                    length += line.length();
+                }
+            }
+        }
+        return length;
+    }
+
+    private static int totalBytes(String[] lines) {
+        int bytes = 0;
+        if (lines != null) {
+            for (String line : lines) {
+                if (line != null) {
+                    bytes += line.getBytes(StandardCharsets.UTF_8).length;
+                }
+            }
+        }
+        return bytes;
     }
 
     /**
@@ -205,7 +285,9 @@ public class SavedSignData {
         String backColor = section.getString("backColor", "BLACK");
         String signType = section.getString("signType", "regular");
         List<String> lore = section.getStringList("lore");
-        return new SavedSignData(front, back, frontGlowing, backGlowing, frontColor, backColor, signType, lore);
+        long createdAt = section.getLong("created", 0L);
+        long lastUsedAt = section.getLong("lastUsed", 0L);
+        return new SavedSignData(front, back, frontGlowing, backGlowing, frontColor, backColor, signType, lore, createdAt, lastUsedAt);
     }
 
     /**
@@ -249,6 +331,37 @@ public class SavedSignData {
         section.set("backColor", backColor);
         section.set("signType", signType);
         section.set("lore", lore);
+        if (createdAt > 0) {
+            section.set("created", createdAt);
+        }
+        if (lastUsedAt > 0) {
+            section.set("lastUsed", lastUsedAt);
+        }
+    }
+
+    /**
+     * Serializes this SavedSignData into a standalone YAML document.
+     * Used where a sign is stored as a single value, e.g. a journal record or a database row.
+     *
+     * @return The YAML representation of this sign
+     */
+    public String saveToString() {
+        YamlConfiguration yaml = new YamlConfiguration();
+        saveToConfigurationSection(yaml);
+        return yaml.saveToString();
+    }
+
+    /**
+     * Loads a SavedSignData from a YAML document produced by {@link #saveToString()}.
+     *
+     * @param contents The YAML representation of a sign
+     * @return A new SavedSignData instance
+     * @throws InvalidConfigurationException if the contents are not valid YAML
+     */
+    public static SavedSignData loadFromString(String contents) throws InvalidConfigurationException {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.loadFromString(contents);
+        return loadFromConfigurationSection(yaml);
     }
     
     /**
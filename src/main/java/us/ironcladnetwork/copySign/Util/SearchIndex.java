@@ -0,0 +1,183 @@
+package us.ironcladnetwork.copySign.Util;
+
+import org.bukkit.ChatColor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Inverted index over the colour-stripped text of saved signs.
+ * <p>
+ * Every word of a sign's name and of its front and back lines is mapped to
+ * the signs containing it, together with a weight. A query only visits the
+ * postings of its own words, so its cost depends on the number of matches
+ * rather than on the number of indexed signs. Words are kept sorted, which
+ * lets a query word also match longer words it is a prefix of.
+ * <p>
+ * The index is updated entry by entry as signs are saved and deleted.
+ */
+public class SearchIndex {
+    // A word in the sign's name counts more than one in its text
+    private static final int NAME_WEIGHT = 3;
+    private static final int TEXT_WEIGHT = 1;
+    // A query word matching a whole word counts more than a prefix match
+    private static final int EXACT_BONUS = 2;
+
+    // Word -> (entry name -> weight of the word in that entry)
+    private final NavigableMap<String, Map<String, Integer>> postings = new TreeMap<>();
+    // Entry name -> its indexed words, so stale postings can be dropped
+    private final Map<String, Set<String>> entries = new HashMap<>();
+
+    public SearchIndex() {
+    }
+
+    public SearchIndex(Map<String, SavedSignData> signs) {
+        for (Map.Entry<String, SavedSignData> entry : signs.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Indexes a sign, replacing whatever was indexed under its name before.
+     *
+     * @param name The sign's name
+     * @param data The sign's data
+     */
+    public synchronized void put(String name, SavedSignData data) {
+        remove(name);
+
+        Map<String, Integer> weights = new HashMap<>();
+        addWords(weights, name, NAME_WEIGHT);
+        addLines(weights, data.getFront());
+        addLines(weights, data.getBack());
+
+        for (Map.Entry<String, Integer> word : weights.entrySet()) {
+            postings.computeIfAbsent(word.getKey(), k -> new HashMap<>()).put(name, word.getValue());
+        }
+        entries.put(name, weights.keySet());
+    }
+
+    /**
+     * Drops a sign from the index.
+     *
+     * @param name The sign's name
+     */
+    public synchronized void remove(String name) {
+        Set<String> words = entries.remove(name);
+        if (words == null) {
+            return;
+        }
+        for (String word : words) {
+            Map<String, Integer> posting = postings.get(word);
+            if (posting != null) {
+                posting.remove(name);
+                if (posting.isEmpty()) {
+                    postings.remove(word);
+                }
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        postings.clear();
+        entries.clear();
+    }
+
+    /**
+     * Finds the signs containing every word of a query, ignoring case and colours.
+     * A query word also matches words it is a prefix of.
+     *
+     * @param query The words to look for
+     * @return The matching sign names, best match first
+     */
+    public synchronized List<String> search(String query) {
+        Set<String> words = new LinkedHashSet<>(tokenize(query));
+        if (words.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<String, Integer> scores = null;
+        for (String word : words) {
+            Map<String, Integer> wordScores = new HashMap<>();
+            for (Map.Entry<String, Map<String, Integer>> posting
+                    : postings.subMap(word, true, word + Character.MAX_VALUE, false).entrySet()) {
+                int bonus = posting.getKey().equals(word) ? EXACT_BONUS : 1;
+                for (Map.Entry<String, Integer> match : posting.getValue().entrySet()) {
+                    wordScores.merge(match.getKey(), match.getValue() * bonus, Integer::sum);
+                }
+            }
+
+            // Keep only the entries matching every word so far
+            if (scores == null) {
+                scores = wordScores;
+            } else {
+                scores.keySet().retainAll(wordScores.keySet());
+                for (Map.Entry<String, Integer> score : scores.entrySet()) {
+                    score.setValue(score.getValue() + wordScores.get(score.getKey()));
+                }
+            }
+            if (scores.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+
+        List<Map.Entry<String, Integer>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort((a, b) -> {
+            int byScore = Integer.compare(b.getValue(), a.getValue());
+            return byScore != 0 ? byScore : String.CASE_INSENSITIVE_ORDER.compare(a.getKey(), b.getKey());
+        });
+        List<String> names = new ArrayList<>(ranked.size());
+        for (Map.Entry<String, Integer> entry : ranked) {
+            names.add(entry.getKey());
+        }
+        return names;
+    }
+
+    /**
+     * Splits text into lowercase words with colour codes removed.
+     *
+     * @param text The text to split
+     * @return The words, in order of appearance
+     */
+    public static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        String plain = ChatColor.stripColor(text).toLowerCase(Locale.ENGLISH);
+        int start = -1;
+        for (int i = 0; i <= plain.length(); i++) {
+            boolean wordChar = i < plain.length() && Character.isLetterOrDigit(plain.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(plain.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    private static void addLines(Map<String, Integer> weights, String[] lines) {
+        if (lines == null) {
+            return;
+        }
+        for (String line : lines) {
+            addWords(weights, line, TEXT_WEIGHT);
+        }
+    }
+
+    private static void addWords(Map<String, Integer> weights, String text, int weight) {
+        for (String word : tokenize(text)) {
+            weights.merge(word, weight, Integer::sum);
+        }
+    }
+}
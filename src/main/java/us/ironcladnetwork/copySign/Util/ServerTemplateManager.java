@@ -1,17 +1,15 @@
 package us.ironcladnetwork.copySign.Util;
 
-import de.tr7zw.nbtapi.NBTItem;
 import org.bukkit.Material;
-import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
-import java.io.File;
-import java.io.IOException;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import us.ironcladnetwork.copySign.CopySign;
 import us.ironcladnetwork.copySign.Lang.Lang;
@@ -20,48 +18,49 @@ import us.ironcladnetwork.copySign.Lang.Lang;
  * Manager for handling server-wide sign templates.
  * 
  * This class handles:
- * • Loading and saving the YAML configuration from serverTemplates.yml.
+ * • Loading and saving templates through the storage backend (serverTemplates.yml by default).
+ * • Keeping the decoded templates in memory, so lookups and searches never go to storage.
  * • Saving, retrieving, listing, and deleting server-wide sign templates.
  * • Only admins with proper permissions can modify templates.
  */
 public class ServerTemplateManager {
 
-    private final File templateFile;
-    private YamlConfiguration templateConfig;
+    private final StorageBackend storage;
     private final CopySign plugin;
+    // Decoded templates, kept in step with storage
+    private final Map<String, SavedSignData> templates = new ConcurrentHashMap<>();
+    // Template names for tab completion, kept in step with storage
+    private final NameIndex templateNames = new NameIndex();
+    // Template text for searching, kept in step with storage
+    private final SearchIndex templateSearch = new SearchIndex();
 
     /**
-     * Initializes the manager by loading the serverTemplates.yml file.
-     * If the file doesn't exist, it will be created with a default "templates" section.
+     * Initializes the manager on top of an opened storage backend.
+     * If no template store existed yet, it is seeded with example templates.
      *
-     * @param dataFolder The plugin's data folder.
+     * @param storage The storage backend holding the templates.
      * @param plugin The plugin instance for accessing config.
      */
-    public ServerTemplateManager(File dataFolder, CopySign plugin) {
+    public ServerTemplateManager(StorageBackend storage, CopySign plugin) {
+        this.storage = storage;
         this.plugin = plugin;
-        templateFile = new File(dataFolder, "serverTemplates.yml");
-        if (!templateFile.exists()) {
-            try {
-                // Ensure the parent directories exist.
-                templateFile.getParentFile().mkdirs();
-                templateFile.createNewFile();
-                templateConfig = new YamlConfiguration();
-                templateConfig.createSection("templates");
-                // Add some example templates
-                createDefaultTemplates();
-                saveConfig();
-                ErrorHandler.debug("Created new serverTemplates.yml file with default templates");
-            } catch (IOException e) {
-                ErrorHandler.handleFileError("creating serverTemplates.yml", templateFile, e, null);
-                // Create a minimal in-memory config as fallback
-                templateConfig = new YamlConfiguration();
-                templateConfig.createSection("templates");
-            }
-        } else {
-            templateConfig = YamlConfiguration.loadConfiguration(templateFile);
-            // Ensure the top-level "templates" section exists.
-            if (!templateConfig.contains("templates"))
-                templateConfig.createSection("templates");
+        // Templates copied over by a storage migration are kept as they are
+        if (storage.isNewTemplateStore() && storage.loadTemplates().isEmpty()) {
+            // Add some example templates
+            createDefaultTemplates();
+            ErrorHandler.debug("Created new template store with default templates");
+        }
+        rebuildIndexes();
+    }
+
+    private void rebuildIndexes() {
+        templates.clear();
+        templateNames.clear();
+        templateSearch.clear();
+        for (Map.Entry<String, SavedSignData> entry : storage.loadTemplates().entrySet()) {
+            templates.put(entry.getKey(), entry.getValue());
+            templateNames.add(entry.getKey());
+            templateSearch.put(entry.getKey(), entry.getValue());
         }
     }
 
@@ -75,8 +74,7 @@ public class ServerTemplateManager {
             new String[]{"§bVisit our website:", "§eexample.com", "§afor more info", ""},
             false, "RED", "BLUE", "regular", null
         );
-        ConfigurationSection rulesSection = templateConfig.createSection("templates.rules");
-        rulesTemplate.saveToConfigurationSection(rulesSection);
+        storage.saveTemplate("rules", rulesTemplate);
         
         // Example: Welcome template
         SavedSignData welcomeTemplate = new SavedSignData(
@@ -84,31 +82,7 @@ public class ServerTemplateManager {
             new String[]{"§dNeed help?", "§bType /help", "§bor ask staff", ""},
             true, "GREEN", "LIGHT_BLUE", "regular", null
         );
-        ConfigurationSection welcomeSection = templateConfig.createSection("templates.welcome");
-        welcomeTemplate.saveToConfigurationSection(welcomeSection);
-    }
-
-    /**
-     * Persists changes to the serverTemplates.yml file.
-     */
-    private void saveConfig() {
-        try {
-            // Create backup before saving
-            ErrorHandler.createBackup(templateFile);
-            
-            // Validate config before saving
-            if (templateConfig == null) {
-                throw new IllegalStateException("Configuration is null, cannot save");
-            }
-            
-            templateConfig.save(templateFile);
-            ErrorHandler.debug("Successfully saved serverTemplates.yml");
-            
-        } catch (IOException e) {
-            ErrorHandler.handleFileError("saving serverTemplates.yml", templateFile, e, null);
-        } catch (Exception e) {
-            ErrorHandler.handleGeneralError("saving server template configuration", e, null);
-        }
+        storage.saveTemplate("welcome", welcomeTemplate);
     }
 
     /**
@@ -124,31 +98,23 @@ public class ServerTemplateManager {
      */
     public boolean saveTemplate(Player player, String name, ItemStack signItem) {
         // Check admin permission
-        if (!player.hasPermission("copysign.admin")) {
+        if (!Permissions.isAdmin(player)) {
             player.sendMessage(Lang.NO_PERMISSION_TEMPLATES.getWithPrefix());
             return false;
         }
         
         // Validate that the signItem is not null and is of a sign type.
-        if (signItem == null || signItem.getType() == Material.AIR || !signItem.getType().name().endsWith("_SIGN")) {
+        if (signItem == null || signItem.getType() == Material.AIR || !SignMaterials.isSign(signItem.getType())) {
             player.sendMessage(Lang.INVALID_SIGN_ITEM_ERROR.getWithPrefix());
             return false;
         }
         
-        NBTItem nbtItem = new NBTItem(signItem);
-        // Ensure required NBT tags are present.
-        if (!nbtItem.hasTag("copiedSignFront") || !nbtItem.hasTag("copiedSignBack")) {
+        // Extract sign information from NBT, ensuring it is present.
+        CopiedSignPayload payload = CopiedSignPayload.read(signItem);
+        if (payload == null) {
             player.sendMessage(Lang.SIGN_NO_REQUIRED_DATA.getWithPrefix());
             return false;
         }
-        
-        // Extract sign information from NBT.
-        String copiedSignFront = nbtItem.getString("copiedSignFront");
-        String copiedSignBack = nbtItem.getString("copiedSignBack");
-        String copiedFrontColor = nbtItem.hasTag("copiedSignFrontColor") ? nbtItem.getString("copiedSignFrontColor") : "BLACK";
-        String copiedBackColor = nbtItem.hasTag("copiedSignBackColor") ? nbtItem.getString("copiedSignBackColor") : "BLACK";
-        boolean signGlowing = nbtItem.hasTag("signGlowing") && nbtItem.getBoolean("signGlowing");
-        String signType = nbtItem.hasTag("signType") ? nbtItem.getString("signType") : "regular";
 
         // Get lore from the item meta if present.
         java.util.List<String> lore = null;
@@ -159,20 +125,14 @@ public class ServerTemplateManager {
             }
         }
 
-        // Process the front/back text into arrays of lines.
-        String[] frontLines = copiedSignFront.split("\n", -1);
-        String[] backLines = copiedSignBack.split("\n", -1);
-
         // Create a SavedSignData instance using the extracted data.
-        SavedSignData savedData = new SavedSignData(frontLines, backLines, signGlowing, copiedFrontColor, copiedBackColor, signType, lore);
+        SavedSignData savedData = payload.toSavedSignData("BLACK", lore);
 
         // Save the data under the template name.
-        ConfigurationSection templatesSection = templateConfig.getConfigurationSection("templates");
-        ConfigurationSection templateSection = templatesSection.createSection(name);
-        savedData.saveToConfigurationSection(templateSection);
-
-        // Persist the updated configuration.
-        saveConfig();
+        storage.saveTemplate(name, savedData);
+        templates.put(name, savedData);
+        templateNames.add(name);
+        templateSearch.put(name, savedData);
         player.sendMessage(Lang.TEMPLATE_SAVE_SUCCESS.formatWithPrefix("%name%", name));
         return true;
     }
@@ -184,30 +144,44 @@ public class ServerTemplateManager {
      * @return The SavedSignData object if found, otherwise null.
      */
     public SavedSignData getTemplate(String name) {
-        ConfigurationSection templateSection = templateConfig.getConfigurationSection("templates." + name);
-        if (templateSection == null)
-            return null;
-        return SavedSignData.loadFromConfigurationSection(templateSection);
+        return templates.get(name);
     }
 
     /**
      * Retrieves all server templates.
      *
-     * @return A map of template names to their corresponding SavedSignData objects.
+     * @return A copy of the map of template names to their corresponding SavedSignData objects.
      */
     public Map<String, SavedSignData> getAllTemplates() {
-        Map<String, SavedSignData> templates = new HashMap<>();
-        ConfigurationSection templatesSection = templateConfig.getConfigurationSection("templates");
-        if (templatesSection == null)
-            return templates;
-        for (String key : templatesSection.getKeys(false)) {
-            ConfigurationSection templateSection = templatesSection.getConfigurationSection(key);
-            if (templateSection != null) {
-                SavedSignData data = SavedSignData.loadFromConfigurationSection(templateSection);
-                templates.put(key, data);
+        return new HashMap<>(templates);
+    }
+
+    /**
+     * Finds template names starting with a prefix, ignoring case.
+     *
+     * @param prefix The typed prefix.
+     * @return The matching template names.
+     */
+    public List<String> completeTemplateNames(String prefix) {
+        return templateNames.complete(prefix);
+    }
+
+    /**
+     * Searches templates by name and colour-stripped text.
+     *
+     * @param query The words to look for.
+     * @return The matching templates, best match first.
+     */
+    public Map<String, SavedSignData> searchTemplates(String query) {
+        List<String> names = templateSearch.search(query);
+        Map<String, SavedSignData> results = new LinkedHashMap<>();
+        for (String name : names) {
+            SavedSignData data = templates.get(name);
+            if (data != null) {
+                results.put(name, data);
             }
         }
-        return templates;
+        return results;
     }
 
     /**
@@ -220,30 +194,29 @@ public class ServerTemplateManager {
      */
     public boolean deleteTemplate(Player player, String name) {
         // Check admin permission
-        if (!player.hasPermission("copysign.admin")) {
+        if (!Permissions.isAdmin(player)) {
             player.sendMessage(Lang.NO_PERMISSION_TEMPLATES.getWithPrefix());
             return false;
         }
         
-        ConfigurationSection templatesSection = templateConfig.getConfigurationSection("templates");
-        if (templatesSection == null || !templatesSection.contains(name)) {
+        if (!templates.containsKey(name)) {
             player.sendMessage(Lang.TEMPLATE_NOT_FOUND_ERROR.getWithPrefix());
             return false;
         }
         
-        templatesSection.set(name, null);
-        saveConfig();
+        storage.deleteTemplate(name);
+        templates.remove(name);
+        templateNames.remove(name);
+        templateSearch.remove(name);
         player.sendMessage(Lang.TEMPLATE_DELETE_SUCCESS.formatWithPrefix("%name%", name));
         return true;
     }
 
     /**
-     * Reloads the templates from file.
+     * Reloads the templates from storage.
      */
     public void reload() {
-        templateConfig = YamlConfiguration.loadConfiguration(templateFile);
-        if (!templateConfig.contains("templates")) {
-            templateConfig.createSection("templates");
-        }
+        storage.reload();
+        rebuildIndexes();
     }
-} 
\ No newline at end of file
+} 
\ No newline at end of file
@@ -0,0 +1,187 @@
+package us.ironcladnetwork.copySign.Util;
+
+import us.ironcladnetwork.copySign.CopySign;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-side store of copied sign contents, keyed by a hash of the content.
+ * <p>
+ * With {@code clipboard.server-side} enabled, a copied sign item carries only
+ * a short handle instead of its text (see {@link CopiedSignPayload}), which
+ * keeps the item small in every inventory packet, player data file and chunk
+ * it ends up in. Identical copies share one entry. Entries are persisted
+ * through the {@link StorageBackend} and dropped once they have not been
+ * copied or used for {@code clipboard.retention-days}. Every copy and paste
+ * touches its entry, so only items left unused for that long stop pasting.
+ * <p>
+ * Entries are always loaded, so items copied while the mode was on keep
+ * working after it is turned off.
+ */
+public class SignClipboard {
+    // Bytes of the content hash kept in a handle, written as hex
+    private static final int HANDLE_BYTES = 8;
+    // How stale an entry's last use may get before a use is written back
+    private static final long TOUCH_INTERVAL = TimeUnit.DAYS.toMillis(1);
+
+    private final StorageBackend storage;
+    private final CopySign plugin;
+    private final Map<String, SavedSignData> entries = new ConcurrentHashMap<>();
+
+    public SignClipboard(StorageBackend storage, CopySign plugin) {
+        this.storage = storage;
+        this.plugin = plugin;
+        load();
+    }
+
+    /**
+     * Loads the stored entries, dropping those past the retention period.
+     */
+    private void load() {
+        try {
+            long retention = TimeUnit.DAYS.toMillis(plugin.getConfigManager().getClipboardRetentionDays());
+            long cutoff = System.currentTimeMillis() - retention;
+            int expired = 0;
+            for (Map.Entry<String, SavedSignData> entry : storage.loadClipboard().entrySet()) {
+                if (retention > 0 && lastUse(entry.getValue()) < cutoff) {
+                    storage.deleteClipboardEntry(entry.getKey());
+                    expired++;
+                } else {
+                    entries.put(entry.getKey(), entry.getValue());
+                }
+            }
+            ErrorHandler.debug("Loaded " + entries.size() + " clipboard entries, expired " + expired);
+        } catch (Exception e) {
+            ErrorHandler.handleGeneralError("loading sign clipboard", e, null);
+        }
+    }
+
+    /**
+     * @return true if copied signs should be stored here rather than on the item
+     */
+    public boolean isEnabled() {
+        return plugin.getConfigManager().isServerSideClipboard();
+    }
+
+    /**
+     * Stores copied sign content and returns its handle.
+     *
+     * @param payload The copied sign
+     * @return The handle, or null if the content cannot be stored under its hash
+     */
+    public String store(CopiedSignPayload payload) {
+        String handle = hash(payload);
+        if (handle == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        SavedSignData existing = entries.get(handle);
+        if (existing != null) {
+            if (!sameContent(existing, payload)) {
+                return null; // Hash collision, keep the content on the item
+            }
+            touch(handle, existing, now);
+            return handle;
+        }
+        SavedSignData data = new SavedSignData(payload.getFront(), payload.getBack(),
+                payload.isFrontGlowing(), payload.isBackGlowing(), payload.getFrontColor(), payload.getBackColor(),
+                payload.getSignType(), null, now, now);
+        entries.put(handle, data);
+        storage.saveClipboardEntry(handle, data);
+        return handle;
+    }
+
+    /**
+     * Looks up the content behind a handle.
+     *
+     * @param handle The handle stored on the item
+     * @return The copied sign, or null if the handle is unknown or has expired
+     */
+    public CopiedSignPayload resolve(String handle) {
+        SavedSignData data = entries.get(handle);
+        if (data == null) {
+            return null;
+        }
+        touch(handle, data, System.currentTimeMillis());
+        return new CopiedSignPayload(data.getFront(), data.getBack(), data.getFrontColor(), data.getBackColor(),
+                data.isFrontGlowing(), data.isBackGlowing(), data.getSignType());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Records a use of an entry. Uses only reach storage once a day per entry,
+     * which is all the retention period needs.
+     */
+    private void touch(String handle, SavedSignData data, long now) {
+        if (now - lastUse(data) < TOUCH_INTERVAL) {
+            return;
+        }
+        SavedSignData touched = data.withLastUsedAt(now);
+        if (entries.replace(handle, data, touched)) {
+            storage.saveClipboardEntry(handle, touched);
+        }
+    }
+
+    private static long lastUse(SavedSignData data) {
+        return Math.max(data.getLastUsedAt(), data.getCreatedAt());
+    }
+
+    private static boolean sameContent(SavedSignData data, CopiedSignPayload payload) {
+        return Arrays.equals(data.getFront(), payload.getFront())
+                && Arrays.equals(data.getBack(), payload.getBack())
+                && data.isFrontGlowing() == payload.isFrontGlowing()
+                && data.isBackGlowing() == payload.isBackGlowing()
+                && Objects.equals(data.getFrontColor(), payload.getFrontColor())
+                && Objects.equals(data.getBackColor(), payload.getBackColor())
+                && Objects.equals(data.getSignType(), payload.getSignType());
+    }
+
+    /**
+     * Hashes everything a copied sign carries into a short hex handle.
+     */
+    private static String hash(CopiedSignPayload payload) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            ErrorHandler.handleGeneralError("hashing copied sign", e, null);
+            return null;
+        }
+        // Fields and lines are separated by characters that cannot occur on a sign
+        StringBuilder content = new StringBuilder(128);
+        appendLines(content, payload.getFront());
+        appendLines(content, payload.getBack());
+        content.append(payload.getFrontColor()).append('\u0000')
+                .append(payload.getBackColor()).append('\u0000')
+                .append(payload.isFrontGlowing()).append('\u0000')
+                .append(payload.isBackGlowing()).append('\u0000')
+                .append(payload.getSignType());
+        byte[] bytes = digest.digest(content.toString().getBytes(StandardCharsets.UTF_8));
+
+        StringBuilder handle = new StringBuilder(HANDLE_BYTES * 2);
+        for (int i = 0; i < HANDLE_BYTES; i++) {
+            handle.append(Character.forDigit((bytes[i] >> 4) & 0xF, 16))
+                    .append(Character.forDigit(bytes[i] & 0xF, 16));
+        }
+        return handle.toString();
+    }
+
+    private static void appendLines(StringBuilder content, String[] lines) {
+        if (lines != null) {
+            for (String line : lines) {
+                content.append(line).append('\u0001');
+            }
+        }
+        content.append('\u0000');
+    }
+}
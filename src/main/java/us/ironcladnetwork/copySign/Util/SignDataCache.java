@@ -1,42 +1,76 @@
 package us.ironcladnetwork.copySign.Util;
 
 import org.bukkit.Location;
+import org.bukkit.World;
 import us.ironcladnetwork.copySign.CopySign;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A thread-safe cache for pending sign NBT data.
- * Uses ConcurrentHashMap for thread safety without synchronization overhead.
- * Memory usage is managed through periodic cleanup by the plugin.
+ * <p>
+ * Entries live in a single map keyed by the block position packed into a
+ * long (x and z in 26 bits each, y in 12), so lookups never hash a
+ * {@link Location}'s doubles or compare its world. Each entry carries its
+ * world and its expiry time; the rare entries for the same position in
+ * different worlds are chained on one key. Every stored entry is also queued
+ * in insertion order, which is deadline order while the expiry setting is
+ * unchanged, so cleanup only looks at entries that are due.
+ * <p>
+ * Entries are also evicted as soon as their paste can no longer complete:
+ * when the sign is broken, its chunk unloads, or the player who placed it
+ * quits. The queue then only holds a small ticket until the deadline, so
+ * memory follows the pastes actually in flight.
  */
 public class SignDataCache {
-    private static final Map<Location, SignData> pendingData = new ConcurrentHashMap<>();
-    private static final Map<Location, Long> cacheTimestamps = new ConcurrentHashMap<>();
-    
-    // Cache TTL is now configurable via performance.cache-expiry-seconds
+    private static final Map<Long, Entry> pendingData = new ConcurrentHashMap<>();
+    // Stored entries in deadline order; entries replaced or removed since are skipped
+    private static final Queue<Ticket> expiryQueue = new ConcurrentLinkedQueue<>();
+    private static final AtomicLong nextId = new AtomicLong();
+
+    // Cache TTL is configurable via performance.cache-expiry-seconds
 
     /**
      * Stores sign data for the given location.
-     * 
+     *
      * @param loc the location of the sign.
      * @param data the stored sign text data.
      */
     public static void put(Location loc, SignData data) {
-        if (loc != null && data != null) {
-            pendingData.put(loc, data);
-            cacheTimestamps.put(loc, System.currentTimeMillis());
+        put(loc, data, null);
+    }
+
+    /**
+     * Stores sign data for the given location, to be evicted if its owner quits.
+     *
+     * @param loc the location of the sign.
+     * @param data the stored sign text data.
+     * @param owner the player pasting the sign, or null.
+     */
+    public static void put(Location loc, SignData data, UUID owner) {
+        if (loc != null && data != null && loc.getWorld() != null) {
+            Entry entry = newEntry(loc, data, owner);
+            pendingData.compute(entry.key, (key, head) -> {
+                Entry rest = without(head, entry.world);
+                return rest != null ? rest.prepend(entry) : entry;
+            });
+            expiryQueue.add(new Ticket(entry));
         }
     }
 
     /**
      * Retrieves the stored sign data for the given location without removing it.
-     * 
+     *
      * @param loc the location of the sign.
      * @return the sign data, or null if none was stored.
      */
     public static SignData get(Location loc) {
-        return pendingData.get(loc);
+        Entry entry = find(loc);
+        return entry != null ? entry.data : null;
     }
 
     /**
@@ -46,104 +80,285 @@ public class SignDataCache {
      * @return the sign data, or null if none was stored.
      */
     public static SignData remove(Location loc) {
-        if (loc != null) {
-            cacheTimestamps.remove(loc);
-            return pendingData.remove(loc);
+        if (loc == null || loc.getWorld() == null) {
+            return null;
         }
-        return null;
+        UUID world = loc.getWorld().getUID();
+        SignData[] removed = new SignData[1];
+        pendingData.computeIfPresent(pack(loc), (key, head) -> {
+            Entry entry = head.find(world);
+            if (entry == null) {
+                return head;
+            }
+            removed[0] = entry.data;
+            return without(head, world);
+        });
+        return removed[0];
     }
-    
+
     /**
      * Returns the current size of the cache.
-     * 
+     *
      * @return number of entries in the cache
      */
     public static int size() {
-        return pendingData.size();
+        return getSize();
     }
-    
+
     /**
      * Clears all entries from the cache.
      */
     public static void clear() {
         pendingData.clear();
-        cacheTimestamps.clear();
+        expiryQueue.clear();
     }
-    
+
     /**
      * Checks if the cache contains data for the given location.
-     * 
+     *
      * @param loc the location to check
      * @return true if data exists for this location
      */
     public static boolean contains(Location loc) {
-        return loc != null && pendingData.containsKey(loc);
+        return find(loc) != null;
     }
-    
+
     /**
      * Atomically puts data only if no data exists for the location.
-     * 
+     *
      * @param loc the location of the sign
      * @param data the sign data to store
      * @return the previous data if it existed, null otherwise
      */
     public static SignData putIfAbsent(Location loc, SignData data) {
-        if (loc == null || data == null) return null;
-        SignData result = pendingData.putIfAbsent(loc, data);
-        if (result == null) {
-            // Only set timestamp if we actually stored the data
-            cacheTimestamps.put(loc, System.currentTimeMillis());
+        if (loc == null || data == null || loc.getWorld() == null) return null;
+        Entry entry = newEntry(loc, data, null);
+        SignData[] existing = new SignData[1];
+        pendingData.compute(entry.key, (key, head) -> {
+            Entry current = head != null ? head.find(entry.world) : null;
+            if (current != null) {
+                existing[0] = current.data;
+                return head;
+            }
+            return head != null ? head.prepend(entry) : entry;
+        });
+        if (existing[0] == null) {
+            // Only queue the entry if we actually stored it
+            expiryQueue.add(new Ticket(entry));
         }
-        return result;
+        return existing[0];
     }
-    
+
     /**
-     * Removes expired entries from the cache based on TTL.
-     * This method is called periodically by the plugin's cleanup task.
-     * Thread-safe implementation using ConcurrentHashMap.
+     * Removes expired entries from the cache.
+     * This method is called periodically by the plugin's cleanup task and
+     * only visits entries whose deadline has passed.
      */
     public static void cleanupExpiredEntries() {
         long now = System.currentTimeMillis();
-        long cacheTTL = CopySign.getInstance().getConfigManager().getCacheExpirySeconds() * 1000L;
-        
-        // Use removeIf for atomic removal during iteration
-        cacheTimestamps.entrySet().removeIf(entry -> {
-            Location loc = entry.getKey();
-            long timestamp = entry.getValue();
-            
-            if ((now - timestamp) > cacheTTL) {
-                // Remove the corresponding data entry as well
-                pendingData.remove(loc);
-                return true; // Remove this timestamp entry
+        Ticket head;
+        // Only this task takes from the queue, so the peeked ticket is the one polled
+        while ((head = expiryQueue.peek()) != null && head.deadline <= now) {
+            Ticket due = expiryQueue.poll();
+            // Only drop the entry if it is still the one stored for its position
+            pendingData.computeIfPresent(due.key, (key, chain) -> {
+                Entry entry = chain.find(due.world);
+                return entry != null && entry.id == due.id ? without(chain, due.world) : chain;
+            });
+        }
+    }
+
+    /**
+     * Evicts every entry in a chunk, whose signs can no longer be edited.
+     *
+     * @param world the chunk's world
+     * @param chunkX the chunk's X coordinate
+     * @param chunkZ the chunk's Z coordinate
+     */
+    public static void evictChunk(World world, int chunkX, int chunkZ) {
+        if (pendingData.isEmpty()) {
+            return;
+        }
+        UUID worldId = world.getUID();
+        for (Long key : pendingData.keySet()) {
+            if (unpackX(key) >> 4 == chunkX && unpackZ(key) >> 4 == chunkZ) {
+                pendingData.computeIfPresent(key, (k, chain) -> without(chain, worldId));
             }
-            return false;
-        });
+        }
+    }
+
+    /**
+     * Evicts every entry stored for a player, whose pastes can no longer complete.
+     *
+     * @param owner the player's UUID
+     */
+    public static void evictOwner(UUID owner) {
+        if (pendingData.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<Long, Entry> mapping : pendingData.entrySet()) {
+            for (Entry entry = mapping.getValue(); entry != null; entry = entry.next) {
+                if (owner.equals(entry.owner)) {
+                    UUID world = entry.world;
+                    long id = entry.id;
+                    pendingData.computeIfPresent(mapping.getKey(), (k, chain) -> {
+                        Entry current = chain.find(world);
+                        return current != null && current.id == id ? without(chain, world) : chain;
+                    });
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if no paste is pending
+     */
+    public static boolean isEmpty() {
+        return pendingData.isEmpty();
     }
-    
+
     /**
      * Gets the timestamp when data was cached for the given location.
      * Used for debugging and monitoring purposes.
-     * 
+     *
      * @param loc the location to check
      * @return timestamp in milliseconds, or null if not found
      */
     public static Long getCacheTimestamp(Location loc) {
-        return cacheTimestamps.get(loc);
+        Entry entry = find(loc);
+        return entry != null ? entry.createdAt : null;
     }
-    
+
     /**
      * Returns the number of expired entries without removing them.
      * Useful for monitoring cache health.
-     * 
+     *
      * @return count of expired entries
      */
     public static int getExpiredEntriesCount() {
         long now = System.currentTimeMillis();
-        long cacheTTL = CopySign.getInstance().getConfigManager().getCacheExpirySeconds() * 1000L;
-        return (int) cacheTimestamps.values().stream()
-            .mapToLong(timestamp -> now - timestamp)
-            .filter(age -> age > cacheTTL)
-            .count();
+        int count = 0;
+        for (Entry head : pendingData.values()) {
+            for (Entry entry = head; entry != null; entry = entry.next) {
+                if (entry.deadline <= now) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Packs a block position into a map key.
+     * X and Z keep 26 bits, covering the ±30,000,000 world limit; Y keeps 12 bits.
+     */
+    static long pack(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFFL) << 38 | ((long) z & 0x3FFFFFFL) << 12 | (y & 0xFFFL);
+    }
+
+    private static int unpackX(long key) {
+        return (int) (key >> 38);
+    }
+
+    private static int unpackZ(long key) {
+        return (int) (key << 26 >> 38);
+    }
+
+    private static long pack(Location loc) {
+        return pack(loc.getBlockX(), loc.getBlockY(), loc.getBlockZ());
+    }
+
+    private static Entry newEntry(Location loc, SignData data, UUID owner) {
+        long now = System.currentTimeMillis();
+        long ttl = CopySign.getInstance().getConfigManager().getCacheExpirySeconds() * 1000L;
+        return new Entry(nextId.incrementAndGet(), pack(loc), loc.getWorld().getUID(), owner, data, now, now + ttl, null);
+    }
+
+    private static Entry find(Location loc) {
+        if (loc == null) {
+            return null;
+        }
+        World world = loc.getWorld();
+        if (world == null) {
+            return null;
+        }
+        Entry head = pendingData.get(pack(loc));
+        return head != null ? head.find(world.getUID()) : null;
+    }
+
+    /**
+     * Returns the chain without the entry of a world; null if nothing remains.
+     */
+    private static Entry without(Entry head, UUID world) {
+        if (head == null) {
+            return null;
+        }
+        if (head.world.equals(world)) {
+            return head.next;
+        }
+        Entry rest = without(head.next, world);
+        return rest == head.next ? head : head.withNext(rest);
+    }
+
+    /**
+     * A cached sign and its expiry, chained with entries for the same position in other worlds.
+     * Entries are immutable so a chain can be read without locking.
+     */
+    private static final class Entry {
+        // Identifies the stored entry; chains copy entries
+        final long id;
+        final long key;
+        final UUID world;
+        final UUID owner;
+        final SignData data;
+        final long createdAt;
+        final long deadline;
+        final Entry next;
+
+        Entry(long id, long key, UUID world, UUID owner, SignData data, long createdAt, long deadline, Entry next) {
+            this.id = id;
+            this.key = key;
+            this.world = world;
+            this.owner = owner;
+            this.data = data;
+            this.createdAt = createdAt;
+            this.deadline = deadline;
+            this.next = next;
+        }
+
+        Entry find(UUID world) {
+            for (Entry entry = this; entry != null; entry = entry.next) {
+                if (entry.world.equals(world)) {
+                    return entry;
+                }
+            }
+            return null;
+        }
+
+        Entry prepend(Entry entry) {
+            return entry.withNext(this);
+        }
+
+        Entry withNext(Entry next) {
+            return new Entry(id, key, world, owner, data, createdAt, deadline, next);
+        }
+    }
+
+    /**
+     * The expiry of a stored entry, without its data.
+     */
+    private static final class Ticket {
+        final long id;
+        final long key;
+        final UUID world;
+        final long deadline;
+
+        Ticket(Entry entry) {
+            this.id = entry.id;
+            this.key = entry.key;
+            this.world = entry.world;
+            this.deadline = entry.deadline;
+        }
     }
 
     /**
@@ -209,14 +424,20 @@ public class SignDataCache {
             return frontGlowing || backGlowing;
         }
     }
-    
+
     /**
      * Gets the current size of the cache.
      * Useful for monitoring memory usage.
-     * 
+     *
      * @return Number of cached entries
      */
     public static int getSize() {
-        return pendingData.size();
+        int size = 0;
+        for (Entry head : pendingData.values()) {
+            for (Entry entry = head; entry != null; entry = entry.next) {
+                size++;
+            }
+        }
+        return size;
     }
-} 
\ No newline at end of file
+}
@@ -22,6 +22,12 @@ import java.util.Map.Entry;
  *   <li>Bottom row: Navigation controls (Previous/Next page buttons and Exit button)</li>
  * </ul>
  * <p>
+ * Entries are listed from a {@link LibrarySession} that keeps them sorted by the
+ * viewer's chosen sort mode. In search mode only the results of a
+ * {@code /copysign search} are shown, best match first, and the search button
+ * returns to the full library.
+ * <p>
+ * Entry items are rendered once and reused from the {@link LibraryItemCache}.
  * Each sign entry shows:
  * <ul>
  *   <li>Sign name as the display name</li>
@@ -38,6 +44,11 @@ import java.util.Map.Entry;
 public class SignLibraryGUI {
     public static final int INVENTORY_SIZE = 54;
     public static final int ENTRIES_PER_PAGE = 45;
+    public static final int PREVIOUS_SLOT = 45;
+    public static final int SEARCH_SLOT = 47;
+    public static final int NEXT_SLOT = 49;
+    public static final int SORT_SLOT = 51;
+    public static final int EXIT_SLOT = 53;
 
     /**
      * Opens the Sign Library GUI for the provided player.
@@ -46,60 +57,49 @@ public class SignLibraryGUI {
      * @param savedSigns A map of saved sign names to their corresponding data.
      */
     public static void open(Player player, Map<String, SavedSignData> savedSigns) {
-        // Convert the map entries into a list for easy paging.
-        List<Entry<String, SavedSignData>> entries = new ArrayList<>(savedSigns.entrySet());
-        openPage(player, entries, 0);
+        // Sort once into a session that later page turns only slice.
+        LibrarySession session = LibrarySession.openLibrary(player.getUniqueId(), player.getUniqueId(), savedSigns);
+        openPage(player, session, 0);
+    }
+
+    /**
+     * Opens the Sign Library GUI in search mode.
+     *
+     * @param player  The player viewing their search results.
+     * @param query   The search query, shown on the search button.
+     * @param results The matching signs, best match first.
+     */
+    public static void openSearch(Player player, String query, Map<String, SavedSignData> results) {
+        LibrarySession session = LibrarySession.openSearch(player.getUniqueId(), player.getUniqueId(), query, results);
+        openPage(player, session, 0);
     }
 
     /**
      * Opens a specific page within the Sign Library GUI.
      *
      * @param player  The player.
-     * @param entries List of saved sign entries.
-     * @param page    The page index (0-indexed).
+     * @param session The pagination session to show.
+     * @param page    The page index (0-indexed), clamped to the pages that exist.
      */
-    public static void openPage(Player player, List<Entry<String, SavedSignData>> entries, int page) {
-        int totalPages = (int) Math.ceil(entries.size() / (double) ENTRIES_PER_PAGE);
-        if (totalPages < 1)
-            totalPages = 1;
+    public static void openPage(Player player, LibrarySession session, int page) {
+        int totalPages = session.getPageCount();
+        page = Math.max(0, Math.min(page, totalPages - 1));
+        String query = session.getQuery();
         // Premium title with enhanced formatting
-        String title = "§lSign Library (Page " + (page + 1) + "/" + totalPages + ")";        
-        Inventory inv = Bukkit.createInventory(null, INVENTORY_SIZE, title);
+        String title = (query != null ? "§lSign Library Search" : "§lSign Library")
+                + " (Page " + (page + 1) + "/" + totalPages + ")";
+        // The holder identifies this GUI to the listener and carries its state
+        List<Entry<String, SavedSignData>> pageEntries = session.getPage(page);
+        SignLibraryHolder holder = new SignLibraryHolder(session, page, pageEntries);
+        Inventory inv = Bukkit.createInventory(holder, INVENTORY_SIZE, title);
+        holder.setInventory(inv);
 
         // Populate the top 45 slots with saved sign items.
-        int start = page * ENTRIES_PER_PAGE;
-        int end = Math.min(start + ENTRIES_PER_PAGE, entries.size());
-        for (int i = start; i < end; i++) {
-            Entry<String, SavedSignData> entry = entries.get(i);
-            String signName = entry.getKey();
-            SavedSignData data = entry.getValue();
-            // Choose material based on sign type.
-            Material material = data.getSignType().equalsIgnoreCase("hanging")
-                    ? Material.OAK_HANGING_SIGN : Material.OAK_SIGN;
-            ItemStack signItem = new ItemStack(material);
-            ItemMeta meta = signItem.getItemMeta();
-            if (meta == null) continue; // Skip this item if meta is null
-            // Let Minecraft show natural item name, only add content identifier to lore
-            List<String> lore = SignLoreBuilder.buildPremiumSignLore(
-                signName, // ONLY content identifier - no physical item name duplication
-                data.getFront(),
-                data.getBack(),
-                data.getFrontColor(),
-                data.getBackColor(),
-                data.isFrontGlowing(),
-                data.isBackGlowing(),
-                data.getSignType(),
-                "Library"
-            );
-            
-            // Add load instructions
-            lore.add("");
-            lore.add(DesignConstants.INFORMATION + "• Click " + DesignConstants.SUPPORTING + "to load sign");
-            
-            meta.setLore(lore);
-            signItem.setItemMeta(meta);
-            // Place item in the slot relative to the current page.
-            inv.setItem(i - start, signItem);
+        for (int slot = 0; slot < pageEntries.size(); slot++) {
+            Entry<String, SavedSignData> entry = pageEntries.get(slot);
+            // Items are rendered once per sign version and reused across page opens.
+            ItemStack signItem = LibraryItemCache.get(player.getUniqueId(), entry.getKey(), entry.getValue());
+            inv.setItem(slot, signItem);
         }
 
         // Set up navigation in the bottom row (slots 45 to 53).
@@ -115,11 +115,11 @@ public class SignLibraryGUI {
                 prevMeta.setLore(prevLore);
                 prev.setItemMeta(prevMeta);
             }
-            inv.setItem(45, prev);
+            inv.setItem(PREVIOUS_SLOT, prev);
         }
         
         // Next page button (if more entries exist) at slot 49.
-        if ((page + 1) * ENTRIES_PER_PAGE < entries.size()) {
+        if (page + 1 < totalPages) {
             ItemStack next = new ItemStack(Material.ARROW);
             ItemMeta nextMeta = next.getItemMeta();
             if (nextMeta != null) {
@@ -129,9 +129,42 @@ public class SignLibraryGUI {
                 nextMeta.setLore(nextLore);
                 next.setItemMeta(nextMeta);
             }
-            inv.setItem(49, next);
+            inv.setItem(NEXT_SLOT, next);
         }
         
+        // Search button at slot 47: shows the active query, or how to search.
+        ItemStack search = new ItemStack(Material.COMPASS);
+        ItemMeta searchMeta = search.getItemMeta();
+        if (searchMeta != null) {
+            List<String> searchLore = new ArrayList<>();
+            if (query != null) {
+                searchMeta.setDisplayName(DesignConstants.INFORMATION + "§lClear Search");
+                searchLore.add(DesignConstants.SUPPORTING + "Results for: " + DesignConstants.CLEAN_TEXT + query);
+                searchLore.add(DesignConstants.SUPPORTING + "Click to show all signs");
+            } else {
+                searchMeta.setDisplayName(DesignConstants.INFORMATION + "§lSearch Library");
+                searchLore.add(DesignConstants.SUPPORTING + "Use /copysign search <words>");
+            }
+            searchMeta.setLore(searchLore);
+            search.setItemMeta(searchMeta);
+        }
+        inv.setItem(SEARCH_SLOT, search);
+
+        // Sort button at slot 51, search results stay in rank order.
+        if (query == null) {
+            LibrarySession.SortMode sortMode = session.getSortMode();
+            ItemStack sort = new ItemStack(Material.HOPPER);
+            ItemMeta sortMeta = sort.getItemMeta();
+            if (sortMeta != null) {
+                sortMeta.setDisplayName(DesignConstants.INFORMATION + "§lSort: " + sortMode.getDisplayName());
+                List<String> sortLore = new ArrayList<>();
+                sortLore.add(DesignConstants.SUPPORTING + "Click to sort by " + sortMode.next().getDisplayName());
+                sortMeta.setLore(sortLore);
+                sort.setItemMeta(sortMeta);
+            }
+            inv.setItem(SORT_SLOT, sort);
+        }
+
         // Premium exit button always at slot 53.
         ItemStack exit = new ItemStack(Material.BARRIER);
         ItemMeta exitMeta = exit.getItemMeta();
@@ -142,7 +175,7 @@ public class SignLibraryGUI {
             exitMeta.setLore(exitLore);
             exit.setItemMeta(exitMeta);
         }
-        inv.setItem(53, exit);
+        inv.setItem(EXIT_SLOT, exit);
 
         player.openInventory(inv);
     }
@@ -0,0 +1,63 @@
+package us.ironcladnetwork.copySign.Util;
+
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+
+import java.util.List;
+import java.util.Map.Entry;
+
+/**
+ * Inventory holder marking a Sign Library GUI and carrying its state.
+ * <p>
+ * Listeners recognise the library by an {@code instanceof} check on the
+ * holder, and read the session, the page and the entries shown on it from the
+ * holder instead of parsing the inventory title or item lore. The shown
+ * entries are a snapshot, so a click resolves to the sign that was displayed
+ * even if the session has changed since.
+ *
+ * @see SignLibraryGUI
+ */
+public class SignLibraryHolder implements InventoryHolder {
+    private final LibrarySession session;
+    private final int page;
+    private final List<Entry<String, SavedSignData>> pageEntries;
+    private Inventory inventory;
+
+    /**
+     * @param session     The pagination session being browsed
+     * @param page        The page shown (0-indexed)
+     * @param pageEntries The entries shown on the page, in slot order
+     */
+    public SignLibraryHolder(LibrarySession session, int page, List<Entry<String, SavedSignData>> pageEntries) {
+        this.session = session;
+        this.page = page;
+        this.pageEntries = pageEntries;
+    }
+
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+
+    void setInventory(Inventory inventory) {
+        this.inventory = inventory;
+    }
+
+    public LibrarySession getSession() {
+        return session;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    /**
+     * Gets the entry shown in a slot of this page.
+     *
+     * @param slot The raw slot clicked
+     * @return The entry, or null if the slot holds no entry
+     */
+    public Entry<String, SavedSignData> getEntry(int slot) {
+        return slot >= 0 && slot < pageEntries.size() ? pageEntries.get(slot) : null;
+    }
+}
@@ -1,21 +1,13 @@
 package us.ironcladnetwork.copySign.Util;
 
-import de.tr7zw.nbtapi.NBTItem;
 import org.bukkit.Material;
-import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
-import java.io.File;
-import java.io.IOException;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.locks.ReentrantLock;
-import java.util.function.Consumer;
 
 import us.ironcladnetwork.copySign.CopySign;
 import us.ironcladnetwork.copySign.Lang.Lang;
@@ -24,165 +16,27 @@ import us.ironcladnetwork.copySign.Lang.Lang;
  * Manager for handling players' saved signs.
  * 
  * This class handles:
- * • Loading and saving the YAML configuration from savedSigns.yml.
+ * • Validating signs before they are saved to a player's library.
  * • Saving, retrieving, listing, and deleting sign entries.
+ * <p>
+ * Reads are served from the decoded libraries held by the {@link LibraryCache},
+ * which also passes every change on to the storage backend. Saves and deletes
+ * report back once the backend has made them durable.
  */
 public class SignLibraryManager {
 
-    private final File signLibraryFile;
-    private YamlConfiguration signLibraryConfig;
+    private final LibraryCache cache;
     private final CopySign plugin;
-    
-    // Lock for thread-safe access to signLibraryConfig
-    private final ReentrantLock configLock = new ReentrantLock();
 
     /**
-     * Initializes the manager by loading the savedSigns.yml file.
-     * If the file doesn't exist, it will be created with a default "players" section.
+     * Initializes the manager on top of the library cache.
      *
-     * @param dataFolder The plugin's data folder.
+     * @param cache The cache holding the decoded libraries.
      * @param plugin The plugin instance for accessing config.
      */
-    public SignLibraryManager(File dataFolder, CopySign plugin) {
+    public SignLibraryManager(LibraryCache cache, CopySign plugin) {
+        this.cache = cache;
         this.plugin = plugin;
-        signLibraryFile = new File(dataFolder, "savedSigns.yml");
-        
-        if (!signLibraryFile.exists()) {
-            try {
-                // Ensure the parent directories exist.
-                if (!signLibraryFile.getParentFile().exists() && !signLibraryFile.getParentFile().mkdirs()) {
-                    throw new IOException("Failed to create plugin data directory");
-                }
-                
-                if (!signLibraryFile.createNewFile()) {
-                    throw new IOException("Failed to create savedSigns.yml file");
-                }
-                
-                signLibraryConfig = new YamlConfiguration();
-                signLibraryConfig.createSection("players");
-                saveConfig();
-                
-                ErrorHandler.debug("Created new savedSigns.yml file");
-            } catch (IOException e) {
-                ErrorHandler.handleFileError("creating savedSigns.yml", signLibraryFile, e, null);
-                // Create a minimal in-memory config as fallback
-                signLibraryConfig = new YamlConfiguration();
-                signLibraryConfig.createSection("players");
-            }
-        } else {
-            try {
-                signLibraryConfig = YamlConfiguration.loadConfiguration(signLibraryFile);
-                
-                // Validate the loaded configuration
-                if (signLibraryConfig == null) {
-                    throw new IllegalStateException("Failed to load configuration from savedSigns.yml");
-                }
-                
-                // Ensure the top-level "players" section exists.
-                if (!signLibraryConfig.contains("players")) {
-                    signLibraryConfig.createSection("players");
-                    saveConfig(); // Save the corrected structure
-                }
-                
-                ErrorHandler.debug("Successfully loaded savedSigns.yml with " + 
-                    signLibraryConfig.getConfigurationSection("players").getKeys(false).size() + " players");
-                    
-            } catch (Exception e) {
-                ErrorHandler.handleConfigError("savedSigns.yml", e);
-                // Create a minimal in-memory config as fallback
-                signLibraryConfig = new YamlConfiguration();
-                signLibraryConfig.createSection("players");
-            }
-        }
-    }
-
-    /**
-     * Persists changes to the savedSigns.yml file.
-     * Creates a backup before saving and handles errors gracefully.
-     */
-    private void saveConfig() {
-        saveConfigAsync(null);
-    }
-    
-    /**
-     * Synchronously saves the configuration.
-     * Used during plugin shutdown to ensure data is saved before disable.
-     * Thread-safe implementation using ReentrantLock.
-     * 
-     * @return true if save was successful, false otherwise
-     */
-    public boolean saveConfigSync() {
-        // Acquire lock for thread-safe access to signLibraryConfig
-        configLock.lock();
-        try {
-            // Create backup before saving
-            ErrorHandler.createBackup(signLibraryFile);
-            
-            // Validate config before saving
-            if (signLibraryConfig == null) {
-                throw new IllegalStateException("Configuration is null, cannot save");
-            }
-            
-            // Save the configuration while holding the lock
-            signLibraryConfig.save(signLibraryFile);
-            ErrorHandler.debug("Successfully saved savedSigns.yml synchronously");
-            return true;
-            
-        } catch (IOException e) {
-            ErrorHandler.handleFileError("saving savedSigns.yml", signLibraryFile, e, null);
-            return false;
-        } catch (Exception e) {
-            ErrorHandler.handleGeneralError("saving sign library configuration", e, null);
-            return false;
-        } finally {
-            // Always release the lock
-            configLock.unlock();
-        }
-    }
-    
-    /**
-     * Asynchronously persists changes to the savedSigns.yml file.
-     * Creates a backup before saving and handles errors gracefully.
-     * Thread-safe implementation using ReentrantLock.
-     * 
-     * @param callback Optional callback to execute after save completion
-     * @return CompletableFuture that completes when save is done
-     */
-    private CompletableFuture<Boolean> saveConfigAsync(Consumer<Boolean> callback) {
-        return CompletableFuture.supplyAsync(() -> {
-            // Acquire lock for thread-safe access to signLibraryConfig
-            configLock.lock();
-            try {
-                // Create backup before saving
-                ErrorHandler.createBackup(signLibraryFile);
-                
-                // Validate config before saving
-                if (signLibraryConfig == null) {
-                    throw new IllegalStateException("Configuration is null, cannot save");
-                }
-                
-                // Save the configuration while holding the lock
-                signLibraryConfig.save(signLibraryFile);
-                ErrorHandler.debug("Successfully saved savedSigns.yml");
-                return true;
-                
-            } catch (IOException e) {
-                ErrorHandler.handleFileError("saving savedSigns.yml", signLibraryFile, e, null);
-                return false;
-            } catch (Exception e) {
-                ErrorHandler.handleGeneralError("saving sign library configuration", e, null);
-                return false;
-            } finally {
-                // Always release the lock
-                configLock.unlock();
-            }
-        }).thenApply(result -> {
-            if (callback != null) {
-                // Execute callback on global region scheduler
-                SchedulerUtil.runGlobal(plugin, () -> callback.accept(result));
-            }
-            return result;
-        });
     }
 
     /**
@@ -210,14 +64,14 @@ public class SignLibraryManager {
             }
             
             // Validate that the signItem is not null and is of a sign type.
-            if (signItem == null || signItem.getType() == Material.AIR || !signItem.getType().name().endsWith("_SIGN")) {
+            if (signItem == null || signItem.getType() == Material.AIR || !SignMaterials.isSign(signItem.getType())) {
                 player.sendMessage(Lang.INVALID_SIGN_ITEM_ERROR.getWithPrefix());
                 return;
             }
             
-            NBTItem nbtItem = new NBTItem(signItem);
-            // Ensure required NBT tags are present.
-            if (!nbtItem.hasTag("copiedSignFront") || !nbtItem.hasTag("copiedSignBack")) {
+            // Ensure copied sign data is present.
+            CopiedSignPayload payload = CopiedSignPayload.read(signItem);
+            if (payload == null) {
                 player.sendMessage(Lang.SIGN_NO_REQUIRED_DATA.getWithPrefix());
                 return;
             }
@@ -234,30 +88,21 @@ public class SignLibraryManager {
                 }
             }
             
-            // Extract sign information from NBT.
-            String copiedSignFront = nbtItem.getString("copiedSignFront");
-            String copiedSignBack = nbtItem.getString("copiedSignBack");
-            
             // Validate NBT data for security
-            if (!NBTValidationUtil.validateNBTData(copiedSignFront) || !NBTValidationUtil.validateNBTData(copiedSignBack)) {
+            if (!NBTValidationUtil.validateNBTLines(payload.getFront()) || !NBTValidationUtil.validateNBTLines(payload.getBack())) {
                 player.sendMessage(Lang.PREFIX.get() + "§cSign data is too large or invalid.");
                 return;
             }
             
-            String copiedFrontColor = nbtItem.hasTag("copiedSignFrontColor") ? nbtItem.getString("copiedSignFrontColor") : "OAK";
-            String copiedBackColor = nbtItem.hasTag("copiedSignBackColor") ? nbtItem.getString("copiedSignBackColor") : "OAK";
-            
             // Validate color values
-            if (!SignValidationUtil.isValidDyeColor(copiedFrontColor) || !SignValidationUtil.isValidDyeColor(copiedBackColor)) {
+            if ((payload.getFrontColor() != null && !SignValidationUtil.isValidDyeColor(payload.getFrontColor()))
+                    || (payload.getBackColor() != null && !SignValidationUtil.isValidDyeColor(payload.getBackColor()))) {
                 player.sendMessage(Lang.PREFIX.get() + "§cInvalid sign color data.");
                 return;
             }
             
-            boolean signGlowing = nbtItem.hasTag("signGlowing") && nbtItem.getBoolean("signGlowing");
-            String signType = nbtItem.hasTag("signType") ? nbtItem.getString("signType") : "regular";
-            
             // Validate sign type
-            if (!isValidSignType(signType)) {
+            if (!isValidSignType(payload.getSignType())) {
                 player.sendMessage(Lang.PREFIX.get() + "§cInvalid sign type data.");
                 return;
             }
@@ -279,32 +124,30 @@ public class SignLibraryManager {
                 }
             }
 
-            // Process the front/back text into arrays of lines.
-            String[] frontLines = copiedSignFront.split("\n", -1);
-            String[] backLines = copiedSignBack.split("\n", -1);
-
             // Create a SavedSignData instance using the extracted data.
-            SavedSignData savedData = new SavedSignData(frontLines, backLines, signGlowing, copiedFrontColor, copiedBackColor, signType, lore);
-
-            // Save the data under the player's UUID and the provided sign name.
-            // Use lock for thread-safe access to signLibraryConfig
-            UUID playerId = player.getUniqueId();
-            configLock.lock();
-            try {
-                ConfigurationSection playersSection = signLibraryConfig.getConfigurationSection("players");
-                ConfigurationSection playerSection = playersSection.getConfigurationSection(playerId.toString());
-                if (playerSection == null) {
-                    playerSection = playersSection.createSection(playerId.toString());
+            // Overwriting a sign keeps its creation time, so it keeps its place when sorted by age.
+            SavedSignData savedData = payload.toSavedSignData("OAK", lore);
+            SavedSignData existing = cache.getSign(player.getUniqueId(), name);
+            if (existing != null && existing.getCreatedAt() > 0) {
+                savedData = savedData.withCreatedAt(existing.getCreatedAt());
+            }
+            
+            // Check the library size quota (permission-aware)
+            int maxSizeKb = Permissions.getMaxLibrarySizeKb(player, plugin.getConfigManager().getMaxLibrarySizeKb());
+            if (maxSizeKb != -1) { // -1 means unlimited
+                long newSize = cache.getTextBytes(player.getUniqueId()) + savedData.getTextBytes()
+                        - (existing != null ? existing.getTextBytes() : 0);
+                if (newSize > maxSizeKb * 1024L) {
+                    player.sendMessage(Lang.LIBRARY_SIZE_REACHED.formatWithPrefix("{max}", String.valueOf(maxSizeKb)));
+                    return;
                 }
-                // Create or override a section for this sign.
-                ConfigurationSection signSection = playerSection.createSection(name);
-                savedData.saveToConfigurationSection(signSection);
-            } finally {
-                configLock.unlock();
             }
 
-            // Persist the updated configuration asynchronously
-            saveConfigAsync(success -> {
+            // Save the data under the player's UUID and the provided sign name.
+            // The callback runs once the backend has made the save durable.
+            LibraryItemCache.invalidate(player.getUniqueId(), name);
+            LibrarySession.onSignSaved(player.getUniqueId(), name, savedData);
+            cache.saveSign(player.getUniqueId(), name, savedData, success -> {
                 if (success) {
                     player.sendMessage(Lang.SIGN_SAVED_SUCCESSFULLY.getWithPrefix());
                     // Play save sound effect
@@ -331,50 +174,46 @@ public class SignLibraryManager {
      * @return The SavedSignData object if found, otherwise null.
      */
     public SavedSignData getSign(Player player, String name) {
-        UUID playerId = player.getUniqueId();
-        
-        // Use lock for thread-safe access to signLibraryConfig
-        configLock.lock();
-        try {
-            ConfigurationSection playerSection = signLibraryConfig.getConfigurationSection("players." + playerId.toString());
-            if (playerSection == null)
-                return null;
-            ConfigurationSection signSection = playerSection.getConfigurationSection(name);
-            if (signSection == null)
-                return null;
-            return SavedSignData.loadFromConfigurationSection(signSection);
-        } finally {
-            configLock.unlock();
-        }
+        return cache.getSign(player.getUniqueId(), name);
     }
 
     /**
      * Retrieves all saved signs for the specified player.
      *
      * @param player The player.
-     * @return A map of sign names to their corresponding SavedSignData objects.
+     * @return A read-only map of sign names to their corresponding SavedSignData objects.
      */
     public Map<String, SavedSignData> getAllSigns(Player player) {
-        Map<String, SavedSignData> signs = new HashMap<>();
-        UUID playerId = player.getUniqueId();
-        
-        // Use lock for thread-safe access to signLibraryConfig
-        configLock.lock();
-        try {
-            ConfigurationSection playerSection = signLibraryConfig.getConfigurationSection("players." + playerId.toString());
-            if (playerSection == null)
-                return signs;
-            for (String key : playerSection.getKeys(false)) {
-                ConfigurationSection signSection = playerSection.getConfigurationSection(key);
-                if (signSection != null) {
-                    SavedSignData data = SavedSignData.loadFromConfigurationSection(signSection);
-                    signs.put(key, data);
-                }
+        return cache.getLibrary(player.getUniqueId());
+    }
+
+    /**
+     * Finds the player's saved sign names starting with a prefix, ignoring case.
+     *
+     * @param player The player.
+     * @param prefix The typed prefix.
+     * @return The matching sign names.
+     */
+    public List<String> completeSignNames(Player player, String prefix) {
+        return cache.completeNames(player.getUniqueId(), prefix);
+    }
+
+    /**
+     * Searches the player's saved signs by name and colour-stripped text.
+     *
+     * @param player The player.
+     * @param query  The words to look for.
+     * @return The matching signs, best match first.
+     */
+    public Map<String, SavedSignData> searchSigns(Player player, String query) {
+        Map<String, SavedSignData> results = new LinkedHashMap<>();
+        for (String name : cache.search(player.getUniqueId(), query)) {
+            SavedSignData data = cache.getSign(player.getUniqueId(), name);
+            if (data != null) {
+                results.put(name, data);
             }
-            return signs;
-        } finally {
-            configLock.unlock();
         }
+        return results;
     }
 
     /**
@@ -384,31 +223,16 @@ public class SignLibraryManager {
      * @param name   The identifier of the sign to delete.
      */
     public void deleteSign(Player player, String name) {
-        UUID playerId = player.getUniqueId();
-        
-        // Use lock for thread-safe access to signLibraryConfig
-        configLock.lock();
-        boolean signExists = false;
-        try {
-            ConfigurationSection playerSection = signLibraryConfig.getConfigurationSection("players." + playerId.toString());
-            if (playerSection == null)
-                return;
-            if (playerSection.contains(name)) {
-                playerSection.set(name, null);
-                signExists = true;
+        LibraryItemCache.invalidate(player.getUniqueId(), name);
+        boolean existed = cache.deleteSign(player.getUniqueId(), name, success -> {
+            if (success) {
+                player.sendMessage(Lang.SIGN_DELETED.getWithPrefix());
+            } else {
+                player.sendMessage(Lang.PREFIX.get() + "§cFailed to delete sign. Please try again.");
             }
-        } finally {
-            configLock.unlock();
-        }
-        
-        if (signExists) {
-            saveConfigAsync(success -> {
-                if (success) {
-                    player.sendMessage(Lang.SIGN_DELETED.getWithPrefix());
-                } else {
-                    player.sendMessage(Lang.PREFIX.get() + "§cFailed to delete sign. Please try again.");
-                }
-            });
+        });
+        if (existed) {
+            LibrarySession.onSignDeleted(player.getUniqueId(), name);
         } else {
             player.sendMessage(Lang.SAVED_SIGN_NOT_FOUND.getWithPrefix());
         }
@@ -432,22 +256,26 @@ public class SignLibraryManager {
      * @see SavedSignData
      */
     public void saveSign(Player player, String name, SavedSignData savedData) {
-        UUID playerId = player.getUniqueId();
-        
-        // Use lock for thread-safe access to signLibraryConfig
-        configLock.lock();
-        try {
-            ConfigurationSection playersSection = signLibraryConfig.getConfigurationSection("players");
-            ConfigurationSection playerSection = playersSection.getConfigurationSection(playerId.toString());
-            if (playerSection == null) {
-                playerSection = playersSection.createSection(playerId.toString());
-            }
-            ConfigurationSection signSection = playerSection.createSection(name);
-            savedData.saveToConfigurationSection(signSection);
-        } finally {
-            configLock.unlock();
+        LibraryItemCache.invalidate(player.getUniqueId(), name);
+        LibrarySession.onSignSaved(player.getUniqueId(), name, savedData);
+        cache.saveSign(player.getUniqueId(), name, savedData, null); // No callback needed for internal API
+    }
+
+    /**
+     * Records that a saved sign was just loaded, for sorting by last use.
+     * <p>
+     * The use is kept in memory and only written back now and then, see
+     * {@link LibraryCache#markUsed}. The updated copy keeps the sign's
+     * content version, so the item cache keeps serving its rendered item.
+     *
+     * @param player The player.
+     * @param name   The sign's identifier.
+     */
+    public void markUsed(Player player, String name) {
+        SavedSignData data = cache.markUsed(player.getUniqueId(), name, System.currentTimeMillis());
+        if (data != null) {
+            LibrarySession.onSignSaved(player.getUniqueId(), name, data);
         }
-        saveConfigAsync(null); // No callback needed for internal API
     }
     
 
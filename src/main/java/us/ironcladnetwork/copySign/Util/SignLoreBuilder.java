@@ -1,7 +1,9 @@
 package us.ironcladnetwork.copySign.Util;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Enhanced utility class for building premium, consistent sign lore across the plugin.
@@ -12,6 +14,112 @@ import java.util.List;
  */
 public class SignLoreBuilder {
     
+    /**
+     * How much lore is written to sign items players carry.
+     * Profiles are ordered from largest to smallest lore.
+     */
+    public enum LoreProfile {
+        /** Decorated lore with per-side color analysis and glow states */
+        FULL,
+        /** Item name, sign lines and type without decoration */
+        COMPACT,
+        /** A single line with the item name and sign type */
+        MINIMAL,
+        /** No lore */
+        NONE;
+        
+        /**
+         * Parses a profile name from the config.
+         * 
+         * @param name The profile name, case-insensitive
+         * @return The profile, or FULL if the name is not recognised
+         */
+        public static LoreProfile parse(String name) {
+            if (name != null) {
+                try {
+                    return valueOf(name.trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException ignored) {
+                    // Fall through to the default
+                }
+            }
+            return FULL;
+        }
+    }
+    
+    // Item lore settings, set by ConfigManager.reloadCache()
+    private static volatile LoreProfile itemProfile = LoreProfile.FULL;
+    private static volatile int itemMaxBytes = 0;
+    
+    /**
+     * Sets the lore profile and size budget used by {@link #buildItemSignLore}.
+     * 
+     * @param profile The largest profile to write
+     * @param maxBytes The maximum lore size in UTF-8 bytes, 0 or less for no limit
+     */
+    public static void configure(LoreProfile profile, int maxBytes) {
+        itemProfile = profile;
+        itemMaxBytes = maxBytes;
+    }
+    
+    /**
+     * Builds lore for a sign item a player carries, using the configured
+     * profile. Lore over the configured byte budget is rebuilt with the next
+     * smaller profile until it fits. GUI items should use
+     * {@link #buildPremiumSignLore} instead, as they are never stored.
+     * 
+     * @param itemName The display name for the item
+     * @param frontLines The text lines on the front of the sign
+     * @param backLines The text lines on the back of the sign (can be null)
+     * @param frontColor The color of the front side
+     * @param backColor The color of the back side (can be null)
+     * @param frontGlowing Whether the front side is glowing
+     * @param backGlowing Whether the back side is glowing
+     * @param signType The type of sign (e.g., "regular", "hanging")
+     * @param sourceType The source type ("Copied", "Template", "Library")
+     * @return The lore, immutable and empty if none fits or the profile is NONE
+     */
+    public static List<String> buildItemSignLore(String itemName, String[] frontLines, String[] backLines, 
+                                                 String frontColor, String backColor, 
+                                                 boolean frontGlowing, boolean backGlowing, 
+                                                 String signType, String sourceType) {
+        LoreProfile profile = itemProfile;
+        int maxBytes = itemMaxBytes;
+        long key = LoreCache.key(((long) maxBytes << 8) | profile.ordinal(), itemName, frontLines, backLines,
+                                 frontColor, backColor, frontGlowing, backGlowing, signType, sourceType);
+        return LoreCache.get(key, () -> renderItemSignLore(profile, maxBytes, itemName, frontLines, backLines,
+                                                           frontColor, backColor, frontGlowing, backGlowing,
+                                                           signType, sourceType));
+    }
+    
+    private static List<String> renderItemSignLore(LoreProfile profile, int maxBytes, String itemName,
+                                                   String[] frontLines, String[] backLines, 
+                                                   String frontColor, String backColor, 
+                                                   boolean frontGlowing, boolean backGlowing, 
+                                                   String signType, String sourceType) {
+        LoreProfile[] profiles = LoreProfile.values();
+        for (int i = profile.ordinal(); i < profiles.length; i++) {
+            List<String> lore;
+            switch (profiles[i]) {
+                case FULL:
+                    lore = renderPremiumSignLore(itemName, frontLines, backLines, frontColor, backColor,
+                                                frontGlowing, backGlowing, signType, sourceType);
+                    break;
+                case COMPACT:
+                    lore = buildCompactSignLore(itemName, frontLines, backLines, frontGlowing, backGlowing, signType);
+                    break;
+                case MINIMAL:
+                    lore = buildMinimalSignLore(itemName, signType);
+                    break;
+                default:
+                    return Collections.emptyList();
+            }
+            if (maxBytes <= 0 || utf8Length(lore) <= maxBytes) {
+                return lore;
+            }
+        }
+        return Collections.emptyList();
+    }
+    
     /**
      * Builds premium lore for a copied sign item with enhanced formatting.
      * @deprecated Use buildPremiumSignLore() for the new enhanced format.
@@ -36,12 +144,23 @@ public class SignLoreBuilder {
      * @param backGlowing Whether the back side is glowing
      * @param signType The type of sign (e.g., "regular", "hanging")
      * @param sourceType The source type ("Copied", "Template", "Library")
-     * @return A formatted premium lore list
+     * @return A formatted premium lore list, which the caller may extend
      */
     public static List<String> buildPremiumSignLore(String itemName, String[] frontLines, String[] backLines, 
                                                    String frontColor, String backColor, 
                                                    boolean frontGlowing, boolean backGlowing, 
                                                    String signType, String sourceType) {
+        long key = LoreCache.key(LoreProfile.FULL.ordinal(), itemName, frontLines, backLines,
+                                 frontColor, backColor, frontGlowing, backGlowing, signType, sourceType);
+        return new ArrayList<>(LoreCache.get(key, () -> renderPremiumSignLore(itemName, frontLines, backLines,
+                                                                              frontColor, backColor, frontGlowing,
+                                                                              backGlowing, signType, sourceType)));
+    }
+    
+    private static List<String> renderPremiumSignLore(String itemName, String[] frontLines, String[] backLines, 
+                                                     String frontColor, String backColor, 
+                                                     boolean frontGlowing, boolean backGlowing, 
+                                                     String signType, String sourceType) {
         List<String> lore = new ArrayList<>();
         
         // Premium header with separators - ONLY content name, no physical item duplication
@@ -271,6 +390,71 @@ public class SignLoreBuilder {
         }
     }
     
+    // ===== ITEM LORE PROFILES =====
+    
+    /**
+     * Builds the compact profile: item name, each side's non-empty lines and the sign type.
+     */
+    private static List<String> buildCompactSignLore(String itemName, String[] frontLines, String[] backLines, 
+                                                     boolean frontGlowing, boolean backGlowing, String signType) {
+        List<String> lore = new ArrayList<>();
+        if (itemName != null && !itemName.isEmpty()) {
+            lore.add(DesignConstants.HEADER_PRIMARY + itemName);
+        }
+        addCompactSideToLore(lore, "Front", frontLines, frontGlowing);
+        addCompactSideToLore(lore, "Back", backLines, backGlowing);
+        if (signType != null && !signType.isEmpty()) {
+            lore.add(DesignConstants.SUPPORTING + formatSignType(signType));
+        }
+        return lore;
+    }
+    
+    private static void addCompactSideToLore(List<String> lore, String sideName, String[] lines, boolean glowing) {
+        if (!hasContent(lines)) {
+            return;
+        }
+        lore.add(DesignConstants.HEADER_SECTION + sideName + " "
+                + (glowing ? DesignConstants.GLOW_INDICATOR : DesignConstants.NO_GLOW_INDICATOR).trim());
+        for (String line : lines) {
+            if (line != null && !line.isEmpty()) {
+                lore.add(DesignConstants.createResponsiveContent(line, 25));
+            }
+        }
+    }
+    
+    /**
+     * Builds the minimal profile: a single line with the item name and sign type.
+     */
+    private static List<String> buildMinimalSignLore(String itemName, String signType) {
+        String name = itemName != null && !itemName.isEmpty() ? itemName : "Copied Sign";
+        return Collections.singletonList(DesignConstants.HEADER_PRIMARY + name + " "
+                + DesignConstants.SUPPORTING + "(" + formatSignType(signType) + ")");
+    }
+    
+    /**
+     * Counts the UTF-8 encoded size of lore lines without encoding them.
+     */
+    private static int utf8Length(List<String> lore) {
+        int bytes = 0;
+        for (String line : lore) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (c < 0x80) {
+                    bytes += 1;
+                } else if (c < 0x800) {
+                    bytes += 2;
+                } else if (Character.isHighSurrogate(c) && i + 1 < line.length()
+                        && Character.isLowSurrogate(line.charAt(i + 1))) {
+                    bytes += 4;
+                    i++;
+                } else {
+                    bytes += 3;
+                }
+            }
+        }
+        return bytes;
+    }
+    
     // ===== PREMIUM HELPER METHODS =====
     
     /**
@@ -0,0 +1,106 @@
+package us.ironcladnetwork.copySign.Util;
+
+import org.bukkit.Material;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Lookup table classifying every {@link Material} for sign handling.
+ * <p>
+ * Whether a material is a sign, whether it is a hanging sign and its wood type
+ * are worked out once from the material names when the class loads. Whether
+ * it may be copied from or pasted to follows the {@code sign-types.allowed}
+ * config list and is rebuilt by {@link ConfigManager#reloadCache()}. All
+ * lookups are array reads by ordinal, so event handlers can reject non-sign
+ * interactions without building strings or taking block state snapshots.
+ */
+public final class SignMaterials {
+    private static final Material[] MATERIALS = Material.values();
+    private static final boolean[] SIGN = new boolean[MATERIALS.length];
+    private static final boolean[] HANGING = new boolean[MATERIALS.length];
+    private static final String[] WOOD = new String[MATERIALS.length];
+    // Replaced as a whole on reload so readers never see a half-built table
+    private static volatile boolean[] allowed = SIGN;
+
+    static {
+        for (Material material : MATERIALS) {
+            String name = material.name();
+            if (isLegacy(material) || !name.endsWith("_SIGN")) {
+                continue;
+            }
+            int i = material.ordinal();
+            SIGN[i] = true;
+            HANGING[i] = name.contains("HANGING_SIGN");
+            // OAK_SIGN, OAK_WALL_SIGN, OAK_HANGING_SIGN and OAK_WALL_HANGING_SIGN all give OAK
+            String wood = name.substring(0, name.length() - "_SIGN".length());
+            if (wood.endsWith("_HANGING")) {
+                wood = wood.substring(0, wood.length() - "_HANGING".length());
+            }
+            if (wood.endsWith("_WALL")) {
+                wood = wood.substring(0, wood.length() - "_WALL".length());
+            }
+            WOOD[i] = wood;
+        }
+    }
+
+    private SignMaterials() {
+    }
+
+    /**
+     * Rebuilds the allowed table from the configured sign types.
+     *
+     * @param allowedTypes Material names that may be copied and pasted; empty allows every sign
+     */
+    public static void rebuild(Collection<String> allowedTypes) {
+        if (allowedTypes.isEmpty()) {
+            allowed = SIGN;
+            return;
+        }
+        Set<String> names = new HashSet<>(allowedTypes);
+        boolean[] table = new boolean[MATERIALS.length];
+        for (Material material : MATERIALS) {
+            int i = material.ordinal();
+            table[i] = SIGN[i] && names.contains(material.name());
+        }
+        allowed = table;
+    }
+
+    /**
+     * @param material The material to check, may be null
+     * @return true if the material is a sign item or sign block of any kind
+     */
+    public static boolean isSign(Material material) {
+        return material != null && SIGN[material.ordinal()];
+    }
+
+    /**
+     * @param material The material to check, may be null
+     * @return true if the material is a hanging sign item or block
+     */
+    public static boolean isHanging(Material material) {
+        return material != null && HANGING[material.ordinal()];
+    }
+
+    /**
+     * @param material The material to check, may be null
+     * @return The wood type (e.g. "OAK", "DARK_OAK"), or null if not a sign
+     */
+    public static String getWoodType(Material material) {
+        return material != null ? WOOD[material.ordinal()] : null;
+    }
+
+    /**
+     * @param material The material to check, may be null
+     * @return true if the material is a sign that may be copied from and pasted to
+     */
+    public static boolean isAllowed(Material material) {
+        return material != null && allowed[material.ordinal()];
+    }
+
+    @SuppressWarnings("deprecation")
+    private static boolean isLegacy(Material material) {
+        return material.isLegacy();
+    }
+}
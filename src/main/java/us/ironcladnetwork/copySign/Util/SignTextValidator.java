@@ -0,0 +1,162 @@
+package us.ironcladnetwork.copySign.Util;
+
+import java.text.Normalizer;
+
+/**
+ * Single-pass scanner behind sign text validation.
+ * <p>
+ * Sign text is validated after NFKC normalization, so look-alike and
+ * compatibility characters cannot sneak past the limits. Almost all sign text
+ * is ASCII or Latin-1, which NFKC leaves unchanged except for a handful of
+ * compatibility characters ({@code ¼}, {@code ²}, non-breaking space, ...).
+ * The scan walks the text once, counting lines and their lengths and checking
+ * every character against a precomputed Latin-1 table. Only text containing a
+ * character outside Latin-1 or one NFKC would change is normalized, and then
+ * only if {@link Normalizer#isNormalized} says it needs to be.
+ */
+public final class SignTextValidator {
+    private static final byte ALLOWED = 0;
+    private static final byte FORBIDDEN = 1;
+    // Changed by NFKC, so the text must be normalized first
+    private static final byte NORMALIZES = 2;
+    private static final byte[] LATIN1 = new byte[256];
+
+    static {
+        for (char c = 0; c < LATIN1.length; c++) {
+            if (!isAllowed(c)) {
+                LATIN1[c] = FORBIDDEN;
+            } else if (!Normalizer.isNormalized(String.valueOf(c), Normalizer.Form.NFKC)) {
+                LATIN1[c] = NORMALIZES;
+            }
+        }
+    }
+
+    private SignTextValidator() {
+    }
+
+    /**
+     * Scans text for the facts sign validation needs.
+     *
+     * @param text The text to scan, lines separated by {@code \n}
+     * @return The scan report
+     */
+    public static Report scan(String text) {
+        int length = text.length();
+        int lines = 1;
+        int lineStart = 0;
+        int longest = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '\n') {
+                longest = Math.max(longest, i - lineStart);
+                lineStart = i + 1;
+                lines++;
+                continue;
+            }
+            byte kind = c < LATIN1.length ? LATIN1[c] : NORMALIZES;
+            if (kind == FORBIDDEN) {
+                return Report.FORBIDDEN;
+            }
+            if (kind == NORMALIZES) {
+                return scanNormalized(text);
+            }
+        }
+        longest = Math.max(longest, length - lineStart);
+        // NFKC leaves the text as it is
+        return new Report(lines, longest, longest, length);
+    }
+
+    /**
+     * Scans text that may change under NFKC, measuring both forms.
+     */
+    private static Report scanNormalized(String text) {
+        int lines = 1;
+        int lineStart = 0;
+        int longest = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                longest = Math.max(longest, i - lineStart);
+                lineStart = i + 1;
+                lines++;
+            }
+        }
+        longest = Math.max(longest, text.length() - lineStart);
+
+        String normalized = Normalizer.isNormalized(text, Normalizer.Form.NFKC)
+                ? text : Normalizer.normalize(text, Normalizer.Form.NFKC);
+        // Newlines never combine, so each normalized line is the normalized form of a line
+        lineStart = 0;
+        int longestNormalized = 0;
+        for (int i = 0; i < normalized.length(); ) {
+            int codePoint = normalized.codePointAt(i);
+            if (!isAllowed(codePoint)) {
+                return Report.FORBIDDEN;
+            }
+            if (codePoint == '\n') {
+                longestNormalized = Math.max(longestNormalized, i - lineStart);
+                lineStart = i + 1;
+            }
+            i += Character.charCount(codePoint);
+        }
+        longestNormalized = Math.max(longestNormalized, normalized.length() - lineStart);
+        return new Report(lines, longest, longestNormalized, normalized.length());
+    }
+
+    /**
+     * Checks a code point of normalized text.
+     */
+    private static boolean isAllowed(int codePoint) {
+        switch (Character.getType(codePoint)) {
+            case Character.CONTROL:
+                // Allow newline, tab, and carriage return
+                return codePoint == '\n' || codePoint == '\t' || codePoint == '\r';
+            case Character.PRIVATE_USE:
+            case Character.UNASSIGNED:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * What a scan found. Lengths are in chars; normalized lengths are of the NFKC form.
+     */
+    public static final class Report {
+        static final Report FORBIDDEN = new Report(0, 0, 0, 0);
+
+        private final int lineCount;
+        private final int longestLine;
+        private final int longestNormalizedLine;
+        private final int normalizedLength;
+
+        private Report(int lineCount, int longestLine, int longestNormalizedLine, int normalizedLength) {
+            this.lineCount = lineCount;
+            this.longestLine = longestLine;
+            this.longestNormalizedLine = longestNormalizedLine;
+            this.normalizedLength = normalizedLength;
+        }
+
+        /**
+         * @return true if the text contains a control, private use or unassigned character
+         */
+        public boolean hasForbidden() {
+            return this == FORBIDDEN;
+        }
+
+        public int getLineCount() {
+            return lineCount;
+        }
+
+        public int getLongestLine() {
+            return longestLine;
+        }
+
+        public int getLongestNormalizedLine() {
+            return longestNormalizedLine;
+        }
+
+        public int getNormalizedLength() {
+            return normalizedLength;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package us.ironcladnetwork.copySign.Util;
 
 import org.bukkit.DyeColor;
+import org.bukkit.Material;
 import us.ironcladnetwork.copySign.CopySign;
 
 import java.util.List;
@@ -11,6 +12,17 @@ import java.util.List;
  */
 public class SignValidationUtil {
     
+    /**
+     * Checks if a sign type is allowed based on configuration.
+     * Reads the precomputed {@link SignMaterials} table, which is rebuilt on reload.
+     * 
+     * @param signType The sign material to check (e.g. OAK_SIGN, BIRCH_WALL_SIGN)
+     * @return true if the sign type is allowed, false otherwise
+     */
+    public static boolean isSignTypeAllowed(Material signType) {
+        return SignMaterials.isAllowed(signType);
+    }
+    
     /**
      * Checks if a sign type is allowed based on configuration.
      * 
@@ -18,16 +30,7 @@ public class SignValidationUtil {
      * @return true if the sign type is allowed, false otherwise
      */
     public static boolean isSignTypeAllowed(String signType) {
-        // Use ConfigManager for thread-safe access
-        List<String> allowedTypes = CopySign.getInstance().getConfigManager().getAllowedSignTypes();
-        
-        // If the list is empty, allow all sign types (default behavior)
-        if (allowedTypes.isEmpty()) {
-            return true;
-        }
-        
-        // Check if the specific sign type is in the allowed list
-        return allowedTypes.contains(signType);
+        return SignMaterials.isAllowed(Material.getMaterial(signType));
     }
     
     /**
@@ -0,0 +1,666 @@
+package us.ironcladnetwork.copySign.Util;
+
+import org.bukkit.configuration.InvalidConfigurationException;
+import us.ironcladnetwork.copySign.CopySign;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Embedded SQLite storage ({@code storage.type: sqlite}).
+ * <p>
+ * All data lives in a single {@code copysign.db} file in the plugin folder. Signs
+ * are keyed by {@code (player_uuid, name)}, so looking up or changing one
+ * player's library is an index lookup or a single-row upsert no matter how
+ * large the database grows. The SQLite driver bundled with the server is used,
+ * so no extra dependency is shaded.
+ * <p>
+ * Writes are queued and committed together in one transaction on every
+ * {@link #flush()}. Queued writes are overlaid on every read until they are
+ * committed, so callers always see their own changes. Reads go through their
+ * own connection, which the write-ahead log lets run alongside a commit, so a
+ * lookup never waits for a batch to be synced to disk.
+ */
+public class SqliteStorageBackend implements StorageBackend {
+
+    private static final String DRIVER = "org.sqlite.JDBC";
+
+    private static final String CREATE_SIGNS_TABLE = "CREATE TABLE IF NOT EXISTS library_signs ("
+        + "player_uuid TEXT NOT NULL, name TEXT NOT NULL, data TEXT NOT NULL, "
+        + "PRIMARY KEY (player_uuid, name)) WITHOUT ROWID";
+    private static final String CREATE_TOGGLES_TABLE = "CREATE TABLE IF NOT EXISTS player_toggles ("
+        + "player_uuid TEXT PRIMARY KEY, enabled INTEGER NOT NULL)";
+    private static final String CREATE_TEMPLATES_TABLE = "CREATE TABLE IF NOT EXISTS server_templates ("
+        + "name TEXT PRIMARY KEY, data TEXT NOT NULL)";
+    private static final String CREATE_CLIPBOARD_TABLE = "CREATE TABLE IF NOT EXISTS sign_clipboard ("
+        + "handle TEXT PRIMARY KEY, data TEXT NOT NULL)";
+
+    private static final String UPSERT_SIGN = "INSERT INTO library_signs (player_uuid, name, data) VALUES (?, ?, ?) "
+        + "ON CONFLICT (player_uuid, name) DO UPDATE SET data = excluded.data";
+    private static final String DELETE_SIGN = "DELETE FROM library_signs WHERE player_uuid = ? AND name = ?";
+    private static final String UPSERT_TOGGLE = "INSERT INTO player_toggles (player_uuid, enabled) VALUES (?, ?) "
+        + "ON CONFLICT (player_uuid) DO UPDATE SET enabled = excluded.enabled";
+    private static final String UPSERT_TEMPLATE = "INSERT INTO server_templates (name, data) VALUES (?, ?) "
+        + "ON CONFLICT (name) DO UPDATE SET data = excluded.data";
+    private static final String DELETE_TEMPLATE = "DELETE FROM server_templates WHERE name = ?";
+    private static final String UPSERT_CLIPBOARD = "INSERT INTO sign_clipboard (handle, data) VALUES (?, ?) "
+        + "ON CONFLICT (handle) DO UPDATE SET data = excluded.data";
+    private static final String DELETE_CLIPBOARD = "DELETE FROM sign_clipboard WHERE handle = ?";
+    private static final String DELETE_TOGGLE = "DELETE FROM player_toggles WHERE player_uuid = ?";
+
+    /**
+     * Writes queued since the last commit. A null sign, toggle, template or clipboard value is a delete.
+     */
+    private static final class Batch {
+        private final Map<UUID, Map<String, SavedSignData>> signs = new HashMap<>();
+        private final Map<UUID, Boolean> toggles = new HashMap<>();
+        private final Map<String, SavedSignData> templates = new HashMap<>();
+        private final Map<String, SavedSignData> clipboard = new HashMap<>();
+        private final List<Consumer<Boolean>> callbacks = new ArrayList<>();
+
+        private boolean isEmpty() {
+            return signs.isEmpty() && toggles.isEmpty() && templates.isEmpty() && clipboard.isEmpty() && callbacks.isEmpty();
+        }
+
+        /**
+         * Re-queues a failed batch underneath this one, keeping any newer writes.
+         * Its callbacks are kept too, and complete once the writes are committed.
+         */
+        private void retainOlder(Batch older) {
+            callbacks.addAll(0, older.callbacks);
+            older.signs.forEach((playerId, olderSigns) -> {
+                Map<String, SavedSignData> newer = signs.computeIfAbsent(playerId, id -> new HashMap<>());
+                olderSigns.forEach(newer::putIfAbsent);
+            });
+            older.toggles.forEach(toggles::putIfAbsent);
+            older.templates.forEach(templates::putIfAbsent);
+            older.clipboard.forEach(clipboard::putIfAbsent);
+        }
+    }
+
+    private final CopySign plugin;
+    private final File databaseFile;
+
+    // Serializes flushes and other use of the write connection
+    private final Object writeLock = new Object();
+    // Serializes use of the read connection. Reads hold it while overlaying the
+    // queued writes, and a committed batch is only dropped from the overlay
+    // under it, so a commit can never slip in between the query and the overlay
+    private final Object readLock = new Object();
+    private final Object pendingLock = new Object();
+    private Connection connection;
+    private Connection readConnection;
+    private Batch pending = new Batch();
+    // The batch being committed, still overlaid on reads until it is in the database
+    private Batch committing;
+    private boolean newTemplateStore;
+
+    public SqliteStorageBackend(File dataFolder, CopySign plugin) {
+        this.plugin = plugin;
+        this.databaseFile = new File(dataFolder, "copysign.db");
+    }
+
+    @Override
+    public String getType() {
+        return TYPE_SQLITE;
+    }
+
+    @Override
+    public void open() throws IOException {
+        try {
+            Class.forName(DRIVER);
+        } catch (ClassNotFoundException e) {
+            throw new IOException("The SQLite driver is not available on this server", e);
+        }
+
+        File parent = databaseFile.getParentFile();
+        if (!parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Failed to create plugin data directory");
+        }
+
+        synchronized (writeLock) {
+            try {
+                connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getAbsolutePath());
+                newTemplateStore = !tableExists("server_templates");
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("PRAGMA journal_mode=WAL");
+                    // Commits are batched, so a full sync per commit is cheap
+                    statement.execute("PRAGMA synchronous=FULL");
+                    statement.execute(CREATE_SIGNS_TABLE);
+                    statement.execute(CREATE_TOGGLES_TABLE);
+                    statement.execute(CREATE_TEMPLATES_TABLE);
+                    statement.execute(CREATE_CLIPBOARD_TABLE);
+                }
+                synchronized (readLock) {
+                    readConnection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getAbsolutePath());
+                }
+                ErrorHandler.debug("Opened SQLite storage " + databaseFile.getName());
+            } catch (SQLException e) {
+                throw new IOException("Failed to open " + databaseFile.getName() + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private boolean tableExists(String table) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = ?")) {
+            statement.setString(1, table);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next();
+            }
+        }
+    }
+
+    @Override
+    public SavedSignData loadSign(UUID playerId, String name) {
+        synchronized (readLock) {
+            synchronized (pendingLock) {
+                for (Batch batch : queued()) {
+                    Map<String, SavedSignData> queued = batch.signs.get(playerId);
+                    if (queued != null && queued.containsKey(name)) {
+                        return queued.get(name);
+                    }
+                }
+            }
+            try (PreparedStatement statement = readConnection.prepareStatement(
+                    "SELECT data FROM library_signs WHERE player_uuid = ? AND name = ?")) {
+                statement.setString(1, playerId.toString());
+                statement.setString(2, name);
+                try (ResultSet result = statement.executeQuery()) {
+                    return result.next() ? decode(playerId.toString(), name, result.getString(1)) : null;
+                }
+            } catch (SQLException e) {
+                ErrorHandler.handleGeneralError("loading saved sign from SQLite", e, null);
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public Map<String, SavedSignData> loadLibrary(UUID playerId) {
+        Map<String, SavedSignData> signs = new HashMap<>();
+        synchronized (readLock) {
+            try (PreparedStatement statement = readConnection.prepareStatement(
+                    "SELECT name, data FROM library_signs WHERE player_uuid = ?")) {
+                statement.setString(1, playerId.toString());
+                try (ResultSet result = statement.executeQuery()) {
+                    while (result.next()) {
+                        String name = result.getString(1);
+                        SavedSignData data = decode(playerId.toString(), name, result.getString(2));
+                        if (data != null) {
+                            signs.put(name, data);
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                ErrorHandler.handleGeneralError("loading sign library from SQLite", e, null);
+            }
+
+            synchronized (pendingLock) {
+                for (Batch batch : overlays()) {
+                    Map<String, SavedSignData> queued = batch.signs.get(playerId);
+                    if (queued != null) {
+                        overlay(signs, queued);
+                    }
+                }
+            }
+        }
+        return signs;
+    }
+
+    @Override
+    public Set<UUID> getLibraryOwners() {
+        Set<UUID> owners = new HashSet<>();
+        synchronized (readLock) {
+            try (Statement statement = readConnection.createStatement();
+                 ResultSet result = statement.executeQuery("SELECT DISTINCT player_uuid FROM library_signs")) {
+                while (result.next()) {
+                    String key = result.getString(1);
+                    try {
+                        owners.add(UUID.fromString(key));
+                    } catch (IllegalArgumentException e) {
+                        ErrorHandler.handlePlayerDataError(key, "sign library", e);
+                    }
+                }
+            } catch (SQLException e) {
+                ErrorHandler.handleGeneralError("listing sign library owners from SQLite", e, null);
+            }
+
+            synchronized (pendingLock) {
+                for (Batch batch : overlays()) {
+                    batch.signs.forEach((playerId, queued) -> {
+                        if (queued.values().stream().anyMatch(data -> data != null)) {
+                            owners.add(playerId);
+                        }
+                    });
+                }
+            }
+        }
+        return owners;
+    }
+
+    @Override
+    public void saveSign(UUID playerId, String name, SavedSignData data, Consumer<Boolean> callback) {
+        synchronized (pendingLock) {
+            pending.signs.computeIfAbsent(playerId, id -> new HashMap<>()).put(name, data);
+            if (callback != null) {
+                pending.callbacks.add(callback);
+            }
+        }
+    }
+
+    @Override
+    public void deleteSign(UUID playerId, String name, Consumer<Boolean> callback) {
+        synchronized (pendingLock) {
+            pending.signs.computeIfAbsent(playerId, id -> new HashMap<>()).put(name, null);
+            if (callback != null) {
+                pending.callbacks.add(callback);
+            }
+        }
+    }
+
+    @Override
+    public Map<UUID, Boolean> loadToggles() {
+        Map<UUID, Boolean> toggles = new HashMap<>();
+        synchronized (readLock) {
+            try (Statement statement = readConnection.createStatement();
+                 ResultSet result = statement.executeQuery("SELECT player_uuid, enabled FROM player_toggles")) {
+                while (result.next()) {
+                    String key = result.getString(1);
+                    try {
+                        toggles.put(UUID.fromString(key), result.getBoolean(2));
+                    } catch (IllegalArgumentException e) {
+                        ErrorHandler.handlePlayerDataError(key, "toggle state", e);
+                    }
+                }
+            } catch (SQLException e) {
+                ErrorHandler.handleGeneralError("loading toggle states from SQLite", e, null);
+            }
+
+            synchronized (pendingLock) {
+                for (Batch batch : overlays()) {
+                    batch.toggles.forEach((playerId, enabled) -> {
+                        if (enabled != null) {
+                            toggles.put(playerId, enabled);
+                        } else {
+                            toggles.remove(playerId);
+                        }
+                    });
+                }
+            }
+        }
+        return toggles;
+    }
+
+    @Override
+    public Boolean loadToggle(UUID playerId) {
+        synchronized (readLock) {
+            synchronized (pendingLock) {
+                for (Batch batch : queued()) {
+                    if (batch.toggles.containsKey(playerId)) {
+                        return batch.toggles.get(playerId);
+                    }
+                }
+            }
+            try (PreparedStatement statement = readConnection.prepareStatement(
+                    "SELECT enabled FROM player_toggles WHERE player_uuid = ?")) {
+                statement.setString(1, playerId.toString());
+                try (ResultSet result = statement.executeQuery()) {
+                    return result.next() ? result.getBoolean(1) : null;
+                }
+            } catch (SQLException e) {
+                ErrorHandler.handleGeneralError("loading toggle state from SQLite", e, null);
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public void saveToggle(UUID playerId, boolean enabled) {
+        synchronized (pendingLock) {
+            pending.toggles.put(playerId, enabled);
+        }
+    }
+
+    @Override
+    public void deleteToggle(UUID playerId) {
+        synchronized (pendingLock) {
+            pending.toggles.put(playerId, null);
+        }
+    }
+
+    @Override
+    public boolean isNewTemplateStore() {
+        return newTemplateStore;
+    }
+
+    @Override
+    public Map<String, SavedSignData> loadTemplates() {
+        Map<String, SavedSignData> templates = new HashMap<>();
+        synchronized (readLock) {
+            try (Statement statement = readConnection.createStatement();
+                 ResultSet result = statement.executeQuery("SELECT name, data FROM server_templates")) {
+                while (result.next()) {
+                    String name = result.getString(1);
+                    SavedSignData data = decode("templates", name, result.getString(2));
+                    if (data != null) {
+                        templates.put(name, data);
+                    }
+                }
+            } catch (SQLException e) {
+                ErrorHandler.handleGeneralError("loading server templates from SQLite", e, null);
+            }
+
+            synchronized (pendingLock) {
+                for (Batch batch : overlays()) {
+                    overlay(templates, batch.templates);
+                }
+            }
+        }
+        return templates;
+    }
+
+    @Override
+    public SavedSignData loadTemplate(String name) {
+        synchronized (readLock) {
+            synchronized (pendingLock) {
+                for (Batch batch : queued()) {
+                    if (batch.templates.containsKey(name)) {
+                        return batch.templates.get(name);
+                    }
+                }
+            }
+            try (PreparedStatement statement = readConnection.prepareStatement(
+                    "SELECT data FROM server_templates WHERE name = ?")) {
+                statement.setString(1, name);
+                try (ResultSet result = statement.executeQuery()) {
+                    return result.next() ? decode("templates", name, result.getString(1)) : null;
+                }
+            } catch (SQLException e) {
+                ErrorHandler.handleGeneralError("loading server template from SQLite", e, null);
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public void saveTemplate(String name, SavedSignData data) {
+        synchronized (pendingLock) {
+            pending.templates.put(name, data);
+        }
+    }
+
+    @Override
+    public void deleteTemplate(String name) {
+        synchronized (pendingLock) {
+            pending.templates.put(name, null);
+        }
+    }
+
+    @Override
+    public Map<String, SavedSignData> loadClipboard() {
+        Map<String, SavedSignData> entries = new HashMap<>();
+        synchronized (readLock) {
+            try (Statement statement = readConnection.createStatement();
+                 ResultSet result = statement.executeQuery("SELECT handle, data FROM sign_clipboard")) {
+                while (result.next()) {
+                    String handle = result.getString(1);
+                    SavedSignData data = decode("clipboard", handle, result.getString(2));
+                    if (data != null) {
+                        entries.put(handle, data);
+                    }
+                }
+            } catch (SQLException e) {
+                ErrorHandler.handleGeneralError("loading sign clipboard from SQLite", e, null);
+            }
+
+            synchronized (pendingLock) {
+                for (Batch batch : overlays()) {
+                    overlay(entries, batch.clipboard);
+                }
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public void saveClipboardEntry(String handle, SavedSignData data) {
+        synchronized (pendingLock) {
+            pending.clipboard.put(handle, data);
+        }
+    }
+
+    @Override
+    public void deleteClipboardEntry(String handle) {
+        synchronized (pendingLock) {
+            pending.clipboard.put(handle, null);
+        }
+    }
+
+    @Override
+    public void reload() {
+        // Nothing is edited by hand
+    }
+
+    /**
+     * Queued batches, newest first, for lookups that stop at the first match.
+     * Called holding the pending lock.
+     */
+    private List<Batch> queued() {
+        return committing != null ? List.of(pending, committing) : List.of(pending);
+    }
+
+    /**
+     * Queued batches, oldest first, for overlaying on a query result.
+     * Called holding the pending lock.
+     */
+    private List<Batch> overlays() {
+        return committing != null ? List.of(committing, pending) : List.of(pending);
+    }
+
+    /**
+     * Commits every queued write in a single transaction. Reads are only held
+     * up while the committed batch is dropped from their overlay, not while it
+     * is written and synced.
+     */
+    @Override
+    public boolean flush() {
+        Batch batch;
+        boolean result;
+        synchronized (writeLock) {
+            synchronized (pendingLock) {
+                if (pending.isEmpty()) {
+                    return true;
+                }
+                batch = pending;
+                pending = new Batch();
+                committing = batch;
+            }
+
+            long startTime = System.currentTimeMillis();
+            result = commit(batch);
+            synchronized (readLock) {
+                synchronized (pendingLock) {
+                    committing = null;
+                    if (!result) {
+                        // Keep the writes and their callbacks queued so the next flush retries them
+                        pending.retainOlder(batch);
+                    }
+                }
+            }
+            if (result) {
+                ErrorHandler.debug("Committed SQLite storage batch in " + (System.currentTimeMillis() - startTime) + "ms");
+            }
+        }
+
+        if (result && !batch.callbacks.isEmpty() && plugin.isEnabled()) {
+            SchedulerUtil.runGlobal(plugin, () -> {
+                for (Consumer<Boolean> callback : batch.callbacks) {
+                    callback.accept(result);
+                }
+            });
+        }
+        return result;
+    }
+
+    private boolean commit(Batch batch) {
+        if (connection == null) {
+            ErrorHandler.handleGeneralError("writing to SQLite storage",
+                new IllegalStateException("Database is not open"), null);
+            return false;
+        }
+
+        try {
+            connection.setAutoCommit(false);
+            try (PreparedStatement upsertSign = connection.prepareStatement(UPSERT_SIGN);
+                 PreparedStatement deleteSign = connection.prepareStatement(DELETE_SIGN);
+                 PreparedStatement upsertToggle = connection.prepareStatement(UPSERT_TOGGLE);
+                 PreparedStatement deleteToggle = connection.prepareStatement(DELETE_TOGGLE);
+                 PreparedStatement upsertTemplate = connection.prepareStatement(UPSERT_TEMPLATE);
+                 PreparedStatement deleteTemplate = connection.prepareStatement(DELETE_TEMPLATE);
+                 PreparedStatement upsertClipboard = connection.prepareStatement(UPSERT_CLIPBOARD);
+                 PreparedStatement deleteClipboard = connection.prepareStatement(DELETE_CLIPBOARD)) {
+
+                for (Map.Entry<UUID, Map<String, SavedSignData>> player : batch.signs.entrySet()) {
+                    String playerId = player.getKey().toString();
+                    for (Map.Entry<String, SavedSignData> sign : player.getValue().entrySet()) {
+                        if (sign.getValue() != null) {
+                            upsertSign.setString(1, playerId);
+                            upsertSign.setString(2, sign.getKey());
+                            upsertSign.setString(3, sign.getValue().saveToString());
+                            upsertSign.addBatch();
+                        } else {
+                            deleteSign.setString(1, playerId);
+                            deleteSign.setString(2, sign.getKey());
+                            deleteSign.addBatch();
+                        }
+                    }
+                }
+                for (Map.Entry<UUID, Boolean> toggle : batch.toggles.entrySet()) {
+                    if (toggle.getValue() != null) {
+                        upsertToggle.setString(1, toggle.getKey().toString());
+                        upsertToggle.setBoolean(2, toggle.getValue());
+                        upsertToggle.addBatch();
+                    } else {
+                        deleteToggle.setString(1, toggle.getKey().toString());
+                        deleteToggle.addBatch();
+                    }
+                }
+                for (Map.Entry<String, SavedSignData> template : batch.templates.entrySet()) {
+                    if (template.getValue() != null) {
+                        upsertTemplate.setString(1, template.getKey());
+                        upsertTemplate.setString(2, template.getValue().saveToString());
+                        upsertTemplate.addBatch();
+                    } else {
+                        deleteTemplate.setString(1, template.getKey());
+                        deleteTemplate.addBatch();
+                    }
+                }
+
+                for (Map.Entry<String, SavedSignData> entry : batch.clipboard.entrySet()) {
+                    if (entry.getValue() != null) {
+                        upsertClipboard.setString(1, entry.getKey());
+                        upsertClipboard.setString(2, entry.getValue().saveToString());
+                        upsertClipboard.addBatch();
+                    } else {
+                        deleteClipboard.setString(1, entry.getKey());
+                        deleteClipboard.addBatch();
+                    }
+                }
+
+                upsertSign.executeBatch();
+                deleteSign.executeBatch();
+                upsertToggle.executeBatch();
+                deleteToggle.executeBatch();
+                upsertTemplate.executeBatch();
+                deleteTemplate.executeBatch();
+                upsertClipboard.executeBatch();
+                deleteClipboard.executeBatch();
+                connection.commit();
+                return true;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            ErrorHandler.handleGeneralError("writing to SQLite storage", e, null);
+            return false;
+        }
+    }
+
+    /**
+     * Checkpoints the write-ahead log so it does not grow without bound.
+     */
+    @Override
+    public boolean compact() {
+        synchronized (writeLock) {
+            if (connection == null) {
+                return false;
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA wal_checkpoint(TRUNCATE)");
+                return true;
+            } catch (SQLException e) {
+                ErrorHandler.handleGeneralError("checkpointing SQLite storage", e, null);
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public boolean close() {
+        boolean flushed = flush();
+        synchronized (writeLock) {
+            if (connection == null) {
+                return flushed;
+            }
+            try {
+                synchronized (readLock) {
+                    readConnection.close();
+                    readConnection = null;
+                }
+                connection.close();
+                connection = null;
+            } catch (SQLException e) {
+                ErrorHandler.handleGeneralError("closing SQLite storage", e, null);
+                return false;
+            }
+        }
+        return flushed;
+    }
+
+    private static void overlay(Map<String, SavedSignData> stored, Map<String, SavedSignData> queued) {
+        queued.forEach((name, data) -> {
+            if (data != null) {
+                stored.put(name, data);
+            } else {
+                stored.remove(name);
+            }
+        });
+    }
+
+    private static SavedSignData decode(String owner, String name, String contents) {
+        try {
+            return SavedSignData.loadFromString(contents);
+        } catch (InvalidConfigurationException e) {
+            ErrorHandler.handlePlayerDataError(owner, "saved sign " + name, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package us.ironcladnetwork.copySign.Util;
+
+import us.ironcladnetwork.copySign.CopySign;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Persistence layer for all CopySign player and server data.
+ * <p>
+ * {@link SignLibraryManager}, {@link CopySignToggleManager} and
+ * {@link ServerTemplateManager} read and write through this interface, so the
+ * storage format can be chosen with {@code storage.type} in config.yml:
+ * <ul>
+ *   <li>{@code yaml} - per-player library shards with a journal, players.yml and
+ *   serverTemplates.yml ({@link YamlStorageBackend}, the default)</li>
+ *   <li>{@code sqlite} - a single embedded database file with indexed per-player
+ *   lookups and single-row upserts ({@link SqliteStorageBackend})</li>
+ * </ul>
+ * <p>
+ * Writes may be buffered. A write is only guaranteed to be on disk once its
+ * callback reports success or {@link #flush()} has returned true, but reads
+ * always reflect every write made so far.
+ *
+ * @see StorageMigrator
+ */
+public interface StorageBackend {
+
+    /** Type name of the YAML backend in config.yml. */
+    String TYPE_YAML = "yaml";
+    /** Type name of the SQLite backend in config.yml. */
+    String TYPE_SQLITE = "sqlite";
+
+    /**
+     * Creates a backend of the given type. Unknown types fall back to YAML.
+     *
+     * @param type The backend type from config.yml
+     * @param dataFolder The plugin's data folder
+     * @param plugin The plugin instance
+     * @return The (unopened) backend
+     */
+    static StorageBackend create(String type, File dataFolder, CopySign plugin) {
+        if (TYPE_SQLITE.equalsIgnoreCase(type)) {
+            return new SqliteStorageBackend(dataFolder, plugin);
+        }
+        return new YamlStorageBackend(dataFolder, plugin);
+    }
+
+    /**
+     * Gets the type name of this backend, as used in config.yml.
+     *
+     * @return The backend type
+     */
+    String getType();
+
+    /**
+     * Opens the backend, creating its files on first use and recovering any
+     * writes left over from an unclean shutdown.
+     *
+     * @throws IOException if the storage can't be opened
+     */
+    void open() throws IOException;
+
+    // Sign libraries
+
+    /**
+     * Loads a single saved sign.
+     *
+     * @param playerId The owner's UUID
+     * @param name The sign's name
+     * @return The sign, or null if it doesn't exist
+     */
+    SavedSignData loadSign(UUID playerId, String name);
+
+    /**
+     * Loads every saved sign of a player.
+     *
+     * @param playerId The owner's UUID
+     * @return A mutable map of sign names to signs (empty if none)
+     */
+    Map<String, SavedSignData> loadLibrary(UUID playerId);
+
+    /**
+     * Lists every player with at least one saved sign.
+     *
+     * @return The owners' UUIDs
+     */
+    Set<UUID> getLibraryOwners();
+
+    /**
+     * Releases a player's library from memory. Pending changes must stay durable.
+     *
+     * @param playerId The owner's UUID
+     */
+    default void unloadLibrary(UUID playerId) {
+    }
+
+    /**
+     * Saves or replaces a sign in a player's library.
+     *
+     * @param playerId The owner's UUID
+     * @param name The sign's name
+     * @param data The sign data
+     * @param callback Optional callback completed on the global thread once the write is durable
+     */
+    void saveSign(UUID playerId, String name, SavedSignData data, Consumer<Boolean> callback);
+
+    /**
+     * Deletes a sign from a player's library.
+     *
+     * @param playerId The owner's UUID
+     * @param name The sign's name
+     * @param callback Optional callback completed on the global thread once the delete is durable
+     */
+    void deleteSign(UUID playerId, String name, Consumer<Boolean> callback);
+
+    // Toggle states
+
+    /**
+     * Loads every stored toggle state.
+     *
+     * @return A map of player UUIDs to their toggle state
+     */
+    Map<UUID, Boolean> loadToggles();
+
+    /**
+     * Loads a single player's toggle state.
+     *
+     * @param playerId The player's UUID
+     * @return The stored state, or null if the player has none
+     */
+    Boolean loadToggle(UUID playerId);
+
+    /**
+     * Stores a player's toggle state.
+     *
+     * @param playerId The player's UUID
+     * @param enabled The new state
+     */
+    void saveToggle(UUID playerId, boolean enabled);
+
+    /**
+     * Deletes a player's toggle state, so the default applies again.
+     *
+     * @param playerId The player's UUID
+     */
+    void deleteToggle(UUID playerId);
+
+    // Server templates
+
+    /**
+     * Checks whether the template store was created by this {@link #open()},
+     * so default templates should be added.
+     *
+     * @return true if no template store existed before
+     */
+    boolean isNewTemplateStore();
+
+    /**
+     * Loads every server template.
+     *
+     * @return A mutable map of template names to templates
+     */
+    Map<String, SavedSignData> loadTemplates();
+
+    /**
+     * Loads a single server template.
+     *
+     * @param name The template's name
+     * @return The template, or null if it doesn't exist
+     */
+    SavedSignData loadTemplate(String name);
+
+    /**
+     * Saves or replaces a server template.
+     *
+     * @param name The template's name
+     * @param data The template data
+     */
+    void saveTemplate(String name, SavedSignData data);
+
+    /**
+     * Deletes a server template.
+     *
+     * @param name The template's name
+     */
+    void deleteTemplate(String name);
+
+    // Clipboard
+
+    /**
+     * Loads every server-side clipboard entry.
+     *
+     * @return A mutable map of clipboard handles to copied signs
+     */
+    Map<String, SavedSignData> loadClipboard();
+
+    /**
+     * Stores or replaces a clipboard entry. Written by the next {@link #flush()}.
+     *
+     * @param handle The entry's handle
+     * @param data The copied sign
+     */
+    void saveClipboardEntry(String handle, SavedSignData data);
+
+    /**
+     * Deletes a clipboard entry. Written by the next {@link #flush()}.
+     *
+     * @param handle The entry's handle
+     */
+    void deleteClipboardEntry(String handle);
+
+    /**
+     * Re-reads data that administrators may edit by hand, such as the YAML
+     * template file. Called on {@code /copysign reload}.
+     */
+    void reload();
+
+    // Lifecycle
+
+    /**
+     * Makes every buffered write durable. Called periodically off the main thread.
+     *
+     * @return true if all writes succeeded
+     */
+    boolean flush();
+
+    /**
+     * Performs periodic background maintenance, such as journal compaction.
+     *
+     * @return true if maintenance succeeded
+     */
+    boolean compact();
+
+    /**
+     * Flushes all data and releases the backend's files.
+     *
+     * @return true if all data is durable
+     */
+    boolean close();
+}
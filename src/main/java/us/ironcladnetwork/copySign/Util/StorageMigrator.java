@@ -0,0 +1,160 @@
+package us.ironcladnetwork.copySign.Util;
+
+import us.ironcladnetwork.copySign.CopySign;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Copies all data between storage backends when {@code storage.type} changes.
+ * <p>
+ * The type that holds the current data is recorded in {@code storage-type.txt}.
+ * When the configured type differs, the new backend is first cleared of
+ * anything it still holds from an earlier switch, then every library, toggle
+ * state, template and clipboard entry is copied from the previous backend into
+ * it, and the marker is updated once the copy is durable. Without the clear, a
+ * sign or template deleted since that earlier switch would come back. The
+ * previous backend's files are left untouched so the switch can be reverted.
+ */
+public class StorageMigrator {
+    private final CopySign plugin;
+    private final File dataFolder;
+    private final File markerFile;
+
+    public StorageMigrator(File dataFolder, CopySign plugin) {
+        this.plugin = plugin;
+        this.dataFolder = dataFolder;
+        this.markerFile = new File(dataFolder, "storage-type.txt");
+    }
+
+    /**
+     * Migrates data into the given, already opened backend if it is not the
+     * backend that currently holds the data.
+     *
+     * @param target The configured backend
+     * @return true if a migration was performed
+     */
+    public boolean migrate(StorageBackend target) {
+        String previousType = getPreviousType(target.getType());
+        if (previousType.equalsIgnoreCase(target.getType())) {
+            if (!markerFile.exists()) {
+                writeMarker(target.getType());
+            }
+            return false; // Nothing to migrate
+        }
+
+        plugin.getLogger().info("Storage type changed from " + previousType + " to " + target.getType() + ", migrating data...");
+
+        StorageBackend source = StorageBackend.create(previousType, dataFolder, plugin);
+        try {
+            source.open();
+        } catch (IOException e) {
+            ErrorHandler.handleGeneralError("opening " + previousType + " storage for migration", e, null);
+            plugin.getLogger().severe("Storage migration aborted. The " + previousType + " data has been left in place.");
+            return false;
+        }
+
+        int stale = clear(target);
+        if (stale > 0) {
+            plugin.getLogger().info("Removed " + stale + " stale entries left in " + target.getType()
+                + " storage by an earlier switch.");
+        }
+
+        int signs = 0;
+        for (UUID playerId : source.getLibraryOwners()) {
+            for (Map.Entry<String, SavedSignData> entry : source.loadLibrary(playerId).entrySet()) {
+                target.saveSign(playerId, entry.getKey(), entry.getValue(), null);
+                signs++;
+            }
+        }
+
+        Map<UUID, Boolean> toggles = source.loadToggles();
+        toggles.forEach(target::saveToggle);
+
+        Map<String, SavedSignData> templates = source.loadTemplates();
+        templates.forEach(target::saveTemplate);
+
+        // Copied sign items refer to these by handle
+        source.loadClipboard().forEach(target::saveClipboardEntry);
+
+        boolean success = target.flush();
+        source.close();
+        if (!success) {
+            plugin.getLogger().severe("Storage migration failed to write to " + target.getType()
+                + ". It will be retried on the next start.");
+            return false;
+        }
+
+        writeMarker(target.getType());
+        plugin.getLogger().info("Storage migration completed: " + signs + " saved signs, " + toggles.size()
+            + " toggle states and " + templates.size() + " templates copied.");
+        return true;
+    }
+
+    /**
+     * Deletes every library sign, toggle state, template and clipboard entry
+     * from a backend. The deletes are written by the migration's flush, in
+     * the same write as the copied data.
+     *
+     * @return The number of entries deleted
+     */
+    private int clear(StorageBackend target) {
+        int deleted = 0;
+        for (UUID playerId : target.getLibraryOwners()) {
+            for (String name : target.loadLibrary(playerId).keySet()) {
+                target.deleteSign(playerId, name, null);
+                deleted++;
+            }
+        }
+        for (UUID playerId : target.loadToggles().keySet()) {
+            target.deleteToggle(playerId);
+            deleted++;
+        }
+        for (String name : target.loadTemplates().keySet()) {
+            target.deleteTemplate(name);
+            deleted++;
+        }
+        for (String handle : target.loadClipboard().keySet()) {
+            target.deleteClipboardEntry(handle);
+            deleted++;
+        }
+        return deleted;
+    }
+
+    /**
+     * Reads the type of the backend holding the current data. Installs from
+     * before storage backends existed always used YAML.
+     */
+    private String getPreviousType(String configuredType) {
+        if (markerFile.exists()) {
+            try {
+                String type = new String(Files.readAllBytes(markerFile.toPath()), StandardCharsets.UTF_8).trim();
+                if (!type.isEmpty()) {
+                    return type;
+                }
+            } catch (IOException e) {
+                ErrorHandler.handleFileError("reading storage type", markerFile, e, null);
+                // Without the marker a migration could overwrite newer data, so assume no change
+                return configuredType;
+            }
+        }
+
+        boolean hasYamlData = new File(dataFolder, "library").exists()
+            || new File(dataFolder, "savedSigns.yml").exists()
+            || new File(dataFolder, "players.yml").exists()
+            || new File(dataFolder, "serverTemplates.yml").exists();
+        return hasYamlData ? StorageBackend.TYPE_YAML : configuredType;
+    }
+
+    private void writeMarker(String type) {
+        try {
+            Files.write(markerFile.toPath(), type.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            ErrorHandler.handleFileError("recording storage type", markerFile, e, null);
+        }
+    }
+}
@@ -48,6 +48,7 @@ public class Util {
      * @return Processed lines with preserved colors
      */
     public static String[] preserveColors(String[] lines) {
+        ColorScan scan = ColorScan.of(lines);
         String lastColors = "";
         String[] result = new String[lines.length];
         
@@ -58,8 +59,8 @@ public class Util {
                 continue;
             }
             
-            result[i] = lastColors + line;
-            lastColors = ChatColor.getLastColors(line);
+            result[i] = lastColors.isEmpty() ? line : lastColors + line;
+            lastColors = scan.getLastColors(i);
         }
         
         return result;
@@ -0,0 +1,175 @@
+package us.ironcladnetwork.copySign.Util;
+
+import us.ironcladnetwork.copySign.CopySign;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Write-behind set of keys whose in-memory state has not been written yet.
+ * <p>
+ * Callers mark a key dirty after mutating its in-memory state. The owner
+ * writes dirty keys when it chooses to, all at once with {@link #drain()} or
+ * one at a time with {@link #flushKey}, and each write completes every
+ * callback registered for its key since the previous one, so any number of
+ * changes to one key cost a single disk write.
+ * <p>
+ * A callback is only completed by a write that started after the callback was
+ * registered, so a successful result always means the caller's data is on disk.
+ *
+ * @param <K> The key type identifying one unit of persistence (e.g. a player UUID)
+ */
+public class WriteBehindFlusher<K> {
+    private final CopySign plugin;
+    private final String name;
+    private final Predicate<K> writer;
+
+    // Dirty keys mapped to the callbacks waiting for their next write
+    private final Map<K, List<Consumer<Boolean>>> pending = new ConcurrentHashMap<>();
+    // Serializes writes so a drain and a single-key flush never overlap
+    private final Object flushLock = new Object();
+
+    /**
+     * @param plugin The plugin instance used to schedule callbacks
+     * @param name Human readable name used in debug output
+     * @param writer Persists a single key, returning true on success
+     */
+    public WriteBehindFlusher(CopySign plugin, String name, Predicate<K> writer) {
+        this.plugin = plugin;
+        this.name = name;
+        this.writer = writer;
+    }
+
+    /**
+     * Marks a key dirty so it is written by the next drain or flush of the key.
+     *
+     * @param key The key to persist
+     * @param callback Optional callback completed once the data is durable
+     */
+    public void markDirty(K key, Consumer<Boolean> callback) {
+        pending.compute(key, (k, callbacks) -> {
+            if (callbacks == null) {
+                callbacks = new ArrayList<>(1);
+            }
+            if (callback != null) {
+                callbacks.add(callback);
+            }
+            return callbacks;
+        });
+    }
+
+    /**
+     * Writes every dirty key synchronously, retrying failed keys while the
+     * retries make progress.
+     *
+     * @return true if all writes succeeded
+     */
+    public boolean drain() {
+        boolean success = true;
+        // Failed writes are re-queued, so stop once a pass makes no progress
+        int previous = -1;
+        while (!pending.isEmpty() && pending.size() != previous) {
+            previous = pending.size();
+            success &= writePending();
+        }
+        return success && pending.isEmpty();
+    }
+
+    /**
+     * Writes a single key immediately if it is dirty.
+     *
+     * @param key The key to persist
+     * @return true if the key is clean or was written successfully
+     */
+    public boolean flushKey(K key) {
+        synchronized (flushLock) {
+            List<Consumer<Boolean>> callbacks = pending.remove(key);
+            return callbacks == null || write(key, callbacks);
+        }
+    }
+
+    /**
+     * Checks whether a key has changes waiting to be written.
+     *
+     * @param key The key to check
+     * @return true if the key is dirty
+     */
+    public boolean isPending(K key) {
+        return pending.containsKey(key);
+    }
+
+    /**
+     * Gets the number of keys waiting to be written.
+     *
+     * @return The number of dirty keys
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private boolean writePending() {
+        synchronized (flushLock) {
+            if (pending.isEmpty()) {
+                return true;
+            }
+
+            long startTime = System.currentTimeMillis();
+            boolean success = true;
+            int written = 0;
+            Iterator<K> keys = pending.keySet().iterator();
+            while (keys.hasNext()) {
+                K key = keys.next();
+                // Claim the callbacks before writing; anything registered from now on
+                // waits for the next write, which will include its mutation
+                List<Consumer<Boolean>> callbacks = pending.remove(key);
+                if (callbacks == null) {
+                    continue;
+                }
+
+                success &= write(key, callbacks);
+                written++;
+            }
+
+            ErrorHandler.debug("Flushed " + written + " " + name + " entries in "
+                + (System.currentTimeMillis() - startTime) + "ms (" + pending.size() + " pending)");
+            return success;
+        }
+    }
+
+    /**
+     * Writes a claimed key and completes its callbacks.
+     */
+    private boolean write(K key, List<Consumer<Boolean>> callbacks) {
+        boolean result;
+        try {
+            result = writer.test(key);
+        } catch (Exception e) {
+            ErrorHandler.handleGeneralError("flushing " + name, e, null);
+            result = false;
+        }
+
+        if (!result) {
+            // Keep the data queued so the next drain retries it
+            markDirty(key, null);
+        }
+        complete(callbacks, result);
+        return result;
+    }
+
+    private void complete(List<Consumer<Boolean>> callbacks, boolean result) {
+        // Callbacks can't be scheduled once the plugin is disabled (shutdown drain)
+        if (callbacks.isEmpty() || !plugin.isEnabled()) {
+            return;
+        }
+        SchedulerUtil.runGlobal(plugin, () -> {
+            for (Consumer<Boolean> callback : callbacks) {
+                callback.accept(result);
+            }
+        });
+    }
+}
@@ -0,0 +1,745 @@
+package us.ironcladnetwork.copySign.Util;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import us.ironcladnetwork.copySign.CopySign;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * YAML file storage, the default {@link StorageBackend}.
+ * <p>
+ * Each player's library lives in its own shard file at
+ * {@code library/<first two UUID characters>/<uuid>.yml}, so a change only ever
+ * rewrites the shard of the player it affects. Shards are written to a
+ * temporary file and moved into place, so an interrupted write never leaves a
+ * truncated library behind.
+ * <p>
+ * Shards are loaded on first use rather than at startup, and can be released
+ * again with {@link #unloadLibrary(UUID)}, so memory use follows the players
+ * that are actually active.
+ * <p>
+ * Library mutations are applied in memory and recorded in a {@link LibraryJournal},
+ * which is group-committed on every {@link #flush()}; a save is durable as soon
+ * as its journal record is. Dirty shards are only rewritten when the journal is
+ * compacted, periodically or once it grows past its size limit, and any journal
+ * left behind by a crash is replayed on {@link #open()}.
+ * <p>
+ * Toggle states are kept in players.yml, server templates in serverTemplates.yml
+ * and the server-side clipboard in clipboard.yml.
+ */
+public class YamlStorageBackend implements StorageBackend {
+
+    /** Root section inside a shard holding the player's signs. */
+    static final String SIGNS_SECTION = "signs";
+
+    private final CopySign plugin;
+    private final File dataFolder;
+    private final File libraryFolder;
+    private final File playersFile;
+    private final File templateFile;
+    private final File clipboardFile;
+
+    // Loaded shards keyed by player UUID. Each shard is also its own lock.
+    // Mutations and unloads go through compute() so a shard is never changed
+    // after it has been dropped from the map
+    private final Map<UUID, YamlConfiguration> shards = new ConcurrentHashMap<>();
+    // Write order of each loaded shard, see saveShard
+    private final Map<UUID, ShardSequence> shardSequences = new ConcurrentHashMap<>();
+    // Tracks shards changed since the last compaction and writes them on demand
+    private final WriteBehindFlusher<UUID> flusher;
+    // Durable log of mutations not yet compacted into the shards
+    private final LibraryJournal journal;
+    // Serializes compactions so sealed segments are only deleted once
+    private final Object compactionLock = new Object();
+    private final AtomicBoolean compactionQueued = new AtomicBoolean(false);
+    private final long maxJournalBytes;
+
+    // Guards playersConfig, which is saved off the main thread
+    private final Object togglesLock = new Object();
+    private YamlConfiguration playersConfig;
+    private boolean togglesDirty;
+
+    private YamlConfiguration templateConfig;
+    private boolean newTemplateStore;
+
+    // Guards clipboardConfig, which is saved off the main thread
+    private final Object clipboardLock = new Object();
+    private YamlConfiguration clipboardConfig;
+    private boolean clipboardDirty;
+
+    public YamlStorageBackend(File dataFolder, CopySign plugin) {
+        this.plugin = plugin;
+        this.dataFolder = dataFolder;
+        this.libraryFolder = new File(dataFolder, "library");
+        this.playersFile = new File(dataFolder, "players.yml");
+        this.templateFile = new File(dataFolder, "serverTemplates.yml");
+        this.clipboardFile = new File(dataFolder, "clipboard.yml");
+        this.flusher = new WriteBehindFlusher<>(plugin, "sign library", this::saveShard);
+        this.journal = new LibraryJournal(libraryFolder, plugin);
+        long maxJournalKb = plugin.getConfigManager().getMaxJournalSizeKb();
+        this.maxJournalBytes = maxJournalKb > 0 ? maxJournalKb * 1024L : Long.MAX_VALUE;
+    }
+
+    @Override
+    public String getType() {
+        return TYPE_YAML;
+    }
+
+    @Override
+    public void open() throws IOException {
+        if (!libraryFolder.exists() && !libraryFolder.mkdirs()) {
+            throw new IOException("Failed to create library directory");
+        }
+
+        // Split the legacy single-file library into shards before loading
+        new LibraryMigrator(dataFolder, plugin, this).migrate();
+
+        recoverJournal();
+        loadPlayers();
+        loadTemplateFile();
+        loadClipboardFile();
+    }
+
+    /**
+     * Replays journal segments left by the previous run into the loaded shards,
+     * writes the affected shards and opens a fresh segment.
+     */
+    private void recoverJournal() throws IOException {
+        int replayed = journal.replay(record -> shards.compute(record.getPlayerId(), (playerId, shard) -> {
+            if (shard == null) {
+                shard = readShard(playerId, true);
+            }
+            if (record.getOperation() == LibraryJournal.Operation.SAVE) {
+                applySave(shard, record.getName(), record.getData());
+            } else {
+                applyDelete(shard, record.getName());
+            }
+            flusher.markDirty(playerId, null);
+            return shard;
+        }));
+
+        if (replayed > 0) {
+            plugin.getLogger().info("Replayed " + replayed + " sign library journal records.");
+        }
+
+        List<File> recovered = journal.getSegments();
+        if (flusher.drain()) {
+            journal.deleteSegments(recovered);
+            // Recovered shards are loaded again when their players need them
+            shards.clear();
+            shardSequences.clear();
+        } else {
+            plugin.getLogger().warning("Failed to write recovered library shards. The journal will be replayed again on the next start.");
+        }
+
+        journal.open();
+    }
+
+    /**
+     * Reads a player's shard from disk.
+     *
+     * @param playerId The player's UUID
+     * @param create Whether to return an empty shard when the player has none
+     * @return The shard, or null if none exists and create is false
+     */
+    private YamlConfiguration readShard(UUID playerId, boolean create) {
+        File file = getShardFile(playerId);
+        YamlConfiguration shard;
+        if (file.exists()) {
+            shard = YamlConfiguration.loadConfiguration(file);
+            ErrorHandler.debug("Loaded library shard " + file.getName());
+        } else if (create) {
+            shard = new YamlConfiguration();
+        } else {
+            return null;
+        }
+
+        if (!shard.isConfigurationSection(SIGNS_SECTION)) {
+            shard.createSection(SIGNS_SECTION);
+        }
+        return shard;
+    }
+
+    /**
+     * Loads players.yml, creating it if it does not exist.
+     */
+    private void loadPlayers() {
+        synchronized (togglesLock) {
+            if (!playersFile.exists()) {
+                playersConfig = new YamlConfiguration();
+                playersConfig.createSection("players");
+                togglesDirty = true;
+                ErrorHandler.debug("Created new players.yml file");
+                return;
+            }
+
+            try {
+                playersConfig = YamlConfiguration.loadConfiguration(playersFile);
+                ErrorHandler.debug("Successfully loaded players.yml");
+            } catch (Exception e) {
+                ErrorHandler.handleConfigError("players.yml", e);
+                // Create a minimal in-memory config as fallback
+                playersConfig = new YamlConfiguration();
+                playersConfig.createSection("players");
+            }
+        }
+    }
+
+    /**
+     * Loads serverTemplates.yml, creating it if it does not exist.
+     */
+    private void loadTemplateFile() {
+        newTemplateStore = !templateFile.exists();
+        if (newTemplateStore) {
+            templateConfig = new YamlConfiguration();
+            templateConfig.createSection("templates");
+            saveTemplateFile();
+            ErrorHandler.debug("Created new serverTemplates.yml file");
+        } else {
+            templateConfig = YamlConfiguration.loadConfiguration(templateFile);
+            // Ensure the top-level "templates" section exists.
+            if (!templateConfig.contains("templates")) {
+                templateConfig.createSection("templates");
+            }
+        }
+    }
+
+    /**
+     * Loads clipboard.yml. A missing file is created on the first write.
+     */
+    private void loadClipboardFile() {
+        synchronized (clipboardLock) {
+            clipboardConfig = clipboardFile.exists()
+                ? YamlConfiguration.loadConfiguration(clipboardFile) : new YamlConfiguration();
+            if (!clipboardConfig.isConfigurationSection("entries")) {
+                clipboardConfig.createSection("entries");
+            }
+        }
+    }
+
+    /**
+     * Resolves the shard file for a player. Shards are bucketed by the first two
+     * characters of the UUID to keep directory sizes manageable.
+     *
+     * @param playerId The player's UUID
+     * @return The shard file (may not exist yet)
+     */
+    File getShardFile(UUID playerId) {
+        String id = playerId.toString();
+        return new File(new File(libraryFolder, id.substring(0, 2)), id + ".yml");
+    }
+
+    /**
+     * Gets a player's shard for reading, loading it from disk on first use.
+     *
+     * @param playerId The player's UUID
+     * @return The shard, or null if the player has no library
+     */
+    private YamlConfiguration getShard(UUID playerId) {
+        YamlConfiguration shard = shards.get(playerId);
+        if (shard != null) {
+            return shard;
+        }
+        return shards.computeIfAbsent(playerId, id -> readShard(id, false));
+    }
+
+    /**
+     * Writes a YAML file to disk through a temporary file and an atomic move.
+     *
+     * @param file The target file
+     * @param contents The serialized YAML contents
+     * @throws IOException if the write fails
+     */
+    static void writeAtomically(File file, String contents) throws IOException {
+        File parent = file.getParentFile();
+        if (!parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Failed to create directory " + parent.getName());
+        }
+
+        Path target = file.toPath();
+        Path temp = target.resolveSibling(file.getName() + ".tmp");
+        Files.write(temp, contents.getBytes(StandardCharsets.UTF_8));
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Numbers the snapshots taken of a shard, so its writes land on disk in order.
+     */
+    private static final class ShardSequence {
+        // Guarded by the shard
+        private long taken;
+        // Guarded by this
+        private long written;
+    }
+
+    /**
+     * Persists a single player's shard. Called by the flusher during compaction.
+     * <p>
+     * The shard lock is only held while the shard is serialized, so saves and
+     * deletes on the main thread never wait for the file write. Each snapshot
+     * is numbered under the shard lock and written under the shard's sequence
+     * lock, and a snapshot older than the last one written is skipped.
+     *
+     * @param playerId The player whose shard should be written
+     * @return true if save was successful, false otherwise
+     */
+    private boolean saveShard(UUID playerId) {
+        YamlConfiguration shard = shards.get(playerId);
+        if (shard == null) {
+            return true; // Nothing loaded, nothing to save
+        }
+
+        File shardFile = getShardFile(playerId);
+        ShardSequence sequence = shardSequences.computeIfAbsent(playerId, id -> new ShardSequence());
+        String contents;
+        long snapshot;
+        try {
+            synchronized (shard) {
+                contents = shard.saveToString();
+                snapshot = ++sequence.taken;
+            }
+        } catch (Exception e) {
+            ErrorHandler.handleGeneralError("saving sign library shard", e, null);
+            return false;
+        }
+
+        synchronized (sequence) {
+            if (sequence.written >= snapshot) {
+                return true; // A newer snapshot is already on disk
+            }
+            try {
+                writeAtomically(shardFile, contents);
+                sequence.written = snapshot;
+                ErrorHandler.debug("Successfully saved library shard " + shardFile.getName());
+                return true;
+            } catch (IOException e) {
+                ErrorHandler.handleFileError("saving sign library", shardFile, e, null);
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Applies a save to an in-memory shard. Callers journal the change.
+     */
+    private void applySave(YamlConfiguration shard, String name, SavedSignData data) {
+        synchronized (shard) {
+            // Create or override a section for this sign.
+            data.saveToConfigurationSection(shard.getConfigurationSection(SIGNS_SECTION).createSection(name));
+        }
+    }
+
+    /**
+     * Applies a delete to an in-memory shard.
+     *
+     * @return true if the sign existed
+     */
+    private boolean applyDelete(YamlConfiguration shard, String name) {
+        synchronized (shard) {
+            ConfigurationSection signsSection = shard.getConfigurationSection(SIGNS_SECTION);
+            if (signsSection == null || !signsSection.contains(name)) {
+                return false;
+            }
+            signsSection.set(name, null);
+            return true;
+        }
+    }
+
+    @Override
+    public SavedSignData loadSign(UUID playerId, String name) {
+        YamlConfiguration shard = getShard(playerId);
+        if (shard == null)
+            return null;
+
+        synchronized (shard) {
+            ConfigurationSection signSection = shard.getConfigurationSection(SIGNS_SECTION + "." + name);
+            if (signSection == null)
+                return null;
+            return SavedSignData.loadFromConfigurationSection(signSection);
+        }
+    }
+
+    @Override
+    public Map<String, SavedSignData> loadLibrary(UUID playerId) {
+        Map<String, SavedSignData> signs = new HashMap<>();
+        YamlConfiguration shard = getShard(playerId);
+        if (shard == null)
+            return signs;
+
+        synchronized (shard) {
+            ConfigurationSection playerSection = shard.getConfigurationSection(SIGNS_SECTION);
+            if (playerSection == null)
+                return signs;
+            for (String key : playerSection.getKeys(false)) {
+                ConfigurationSection signSection = playerSection.getConfigurationSection(key);
+                if (signSection != null) {
+                    signs.put(key, SavedSignData.loadFromConfigurationSection(signSection));
+                }
+            }
+            return signs;
+        }
+    }
+
+    @Override
+    public Set<UUID> getLibraryOwners() {
+        Set<UUID> owners = new HashSet<>(shards.keySet());
+        File[] buckets = libraryFolder.listFiles(File::isDirectory);
+        if (buckets == null) {
+            return owners;
+        }
+
+        for (File bucket : buckets) {
+            File[] files = bucket.listFiles((dir, fileName) -> fileName.endsWith(".yml"));
+            if (files == null) {
+                continue;
+            }
+            for (File file : files) {
+                String key = file.getName().substring(0, file.getName().length() - 4);
+                try {
+                    owners.add(UUID.fromString(key));
+                } catch (IllegalArgumentException e) {
+                    ErrorHandler.handlePlayerDataError(key, "sign library shard", e);
+                }
+            }
+        }
+        return owners;
+    }
+
+    @Override
+    public void saveSign(UUID playerId, String name, SavedSignData data, Consumer<Boolean> callback) {
+        shards.compute(playerId, (id, shard) -> {
+            if (shard == null) {
+                shard = readShard(id, true);
+            }
+            // The shard lock is held across both steps so the journal order always
+            // matches the in-memory order for a player
+            synchronized (shard) {
+                applySave(shard, name, data);
+                flusher.markDirty(id, null);
+                journal.append(LibraryJournal.Record.save(id, name, data), callback);
+            }
+            return shard;
+        });
+    }
+
+    @Override
+    public void deleteSign(UUID playerId, String name, Consumer<Boolean> callback) {
+        boolean[] journaled = new boolean[1];
+        shards.compute(playerId, (id, shard) -> {
+            if (shard == null) {
+                shard = readShard(id, false);
+                if (shard == null) {
+                    return null; // No library, nothing to delete
+                }
+            }
+            synchronized (shard) {
+                if (applyDelete(shard, name)) {
+                    flusher.markDirty(id, null);
+                    journal.append(LibraryJournal.Record.delete(id, name), callback);
+                    journaled[0] = true;
+                }
+            }
+            return shard;
+        });
+        if (!journaled[0] && callback != null) {
+            // Nothing stored under the name, so it is already gone
+            callback.accept(true);
+        }
+    }
+
+    /**
+     * Drops a shard from memory. Changes not yet compacted are written to the
+     * shard file first; the journal still replays them harmlessly on startup.
+     */
+    @Override
+    public void unloadLibrary(UUID playerId) {
+        // Hold off compaction so it can't be writing this shard while it is dropped
+        synchronized (compactionLock) {
+            shards.computeIfPresent(playerId, (id, shard) -> {
+                if (flusher.isPending(id) && !flusher.flushKey(id)) {
+                    return shard; // Keep it loaded; the write is retried by compaction
+                }
+                shardSequences.remove(id);
+                return null;
+            });
+        }
+    }
+
+    @Override
+    public Map<UUID, Boolean> loadToggles() {
+        Map<UUID, Boolean> toggles = new HashMap<>();
+        synchronized (togglesLock) {
+            ConfigurationSection playersSection = playersConfig.getConfigurationSection("players");
+            if (playersSection == null) {
+                return toggles;
+            }
+            for (String key : playersSection.getKeys(false)) {
+                try {
+                    toggles.put(UUID.fromString(key), playersSection.getBoolean(key));
+                } catch (IllegalArgumentException ex) {
+                    ErrorHandler.handlePlayerDataError(key, "toggle state", ex);
+                }
+            }
+        }
+        return toggles;
+    }
+
+    @Override
+    public Boolean loadToggle(UUID playerId) {
+        synchronized (togglesLock) {
+            String path = "players." + playerId.toString();
+            return playersConfig.contains(path) ? playersConfig.getBoolean(path) : null;
+        }
+    }
+
+    @Override
+    public void saveToggle(UUID playerId, boolean enabled) {
+        synchronized (togglesLock) {
+            playersConfig.set("players." + playerId.toString(), enabled);
+            // Written by the next flush
+            togglesDirty = true;
+        }
+    }
+
+    @Override
+    public void deleteToggle(UUID playerId) {
+        synchronized (togglesLock) {
+            playersConfig.set("players." + playerId.toString(), null);
+            togglesDirty = true;
+        }
+    }
+
+    /**
+     * Writes players.yml if any toggle changed since the last write.
+     *
+     * @return true if the file is up to date
+     */
+    private boolean savePlayers() {
+        String contents;
+        synchronized (togglesLock) {
+            if (!togglesDirty) {
+                return true;
+            }
+            contents = playersConfig.saveToString();
+            togglesDirty = false;
+        }
+
+        try {
+            writeAtomically(playersFile, contents);
+            ErrorHandler.debug("Successfully saved players.yml");
+            return true;
+        } catch (IOException e) {
+            ErrorHandler.handleFileError("saving players.yml", playersFile, e, null);
+        } catch (Exception e) {
+            ErrorHandler.handleGeneralError("saving player toggle configuration", e, null);
+        }
+        synchronized (togglesLock) {
+            togglesDirty = true; // Retry on the next flush
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isNewTemplateStore() {
+        return newTemplateStore;
+    }
+
+    @Override
+    public Map<String, SavedSignData> loadTemplates() {
+        Map<String, SavedSignData> templates = new HashMap<>();
+        ConfigurationSection templatesSection = templateConfig.getConfigurationSection("templates");
+        if (templatesSection == null)
+            return templates;
+        for (String key : templatesSection.getKeys(false)) {
+            ConfigurationSection templateSection = templatesSection.getConfigurationSection(key);
+            if (templateSection != null) {
+                templates.put(key, SavedSignData.loadFromConfigurationSection(templateSection));
+            }
+        }
+        return templates;
+    }
+
+    @Override
+    public SavedSignData loadTemplate(String name) {
+        ConfigurationSection templateSection = templateConfig.getConfigurationSection("templates." + name);
+        if (templateSection == null)
+            return null;
+        return SavedSignData.loadFromConfigurationSection(templateSection);
+    }
+
+    @Override
+    public void saveTemplate(String name, SavedSignData data) {
+        data.saveToConfigurationSection(templateConfig.getConfigurationSection("templates").createSection(name));
+        saveTemplateFile();
+    }
+
+    @Override
+    public void deleteTemplate(String name) {
+        templateConfig.getConfigurationSection("templates").set(name, null);
+        saveTemplateFile();
+    }
+
+    /**
+     * Persists changes to the serverTemplates.yml file.
+     */
+    private void saveTemplateFile() {
+        try {
+            // Create backup before saving
+            ErrorHandler.createBackup(templateFile);
+            templateConfig.save(templateFile);
+            ErrorHandler.debug("Successfully saved serverTemplates.yml");
+        } catch (IOException e) {
+            ErrorHandler.handleFileError("saving serverTemplates.yml", templateFile, e, null);
+        } catch (Exception e) {
+            ErrorHandler.handleGeneralError("saving server template configuration", e, null);
+        }
+    }
+
+    @Override
+    public Map<String, SavedSignData> loadClipboard() {
+        Map<String, SavedSignData> entries = new HashMap<>();
+        synchronized (clipboardLock) {
+            ConfigurationSection entriesSection = clipboardConfig.getConfigurationSection("entries");
+            for (String key : entriesSection.getKeys(false)) {
+                ConfigurationSection entrySection = entriesSection.getConfigurationSection(key);
+                if (entrySection != null) {
+                    entries.put(key, SavedSignData.loadFromConfigurationSection(entrySection));
+                }
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public void saveClipboardEntry(String handle, SavedSignData data) {
+        synchronized (clipboardLock) {
+            data.saveToConfigurationSection(clipboardConfig.getConfigurationSection("entries").createSection(handle));
+            // Written by the next flush
+            clipboardDirty = true;
+        }
+    }
+
+    @Override
+    public void deleteClipboardEntry(String handle) {
+        synchronized (clipboardLock) {
+            clipboardConfig.getConfigurationSection("entries").set(handle, null);
+            clipboardDirty = true;
+        }
+    }
+
+    /**
+     * Writes clipboard.yml if any entry changed since the last write.
+     *
+     * @return true if the file is up to date
+     */
+    private boolean saveClipboard() {
+        String contents;
+        synchronized (clipboardLock) {
+            if (!clipboardDirty) {
+                return true;
+            }
+            contents = clipboardConfig.saveToString();
+            clipboardDirty = false;
+        }
+
+        try {
+            writeAtomically(clipboardFile, contents);
+            ErrorHandler.debug("Successfully saved clipboard.yml");
+            return true;
+        } catch (IOException e) {
+            ErrorHandler.handleFileError("saving clipboard.yml", clipboardFile, e, null);
+        } catch (Exception e) {
+            ErrorHandler.handleGeneralError("saving sign clipboard", e, null);
+        }
+        synchronized (clipboardLock) {
+            clipboardDirty = true; // Retry on the next flush
+        }
+        return false;
+    }
+
+    @Override
+    public void reload() {
+        templateConfig = YamlConfiguration.loadConfiguration(templateFile);
+        if (!templateConfig.contains("templates")) {
+            templateConfig.createSection("templates");
+        }
+    }
+
+    /**
+     * Group-commits pending journal records and writes changed toggle states
+     * and clipboard entries.
+     * Schedules a compaction once the journal outgrows its size limit.
+     */
+    @Override
+    public boolean flush() {
+        boolean success = journal.flush();
+        if (journal.getSize() > maxJournalBytes && compactionQueued.compareAndSet(false, true) && plugin.isEnabled()) {
+            SchedulerUtil.runAsync(plugin, () -> {
+                try {
+                    compact();
+                } finally {
+                    compactionQueued.set(false);
+                }
+            });
+        }
+        boolean clipboardSaved = saveClipboard();
+        return savePlayers() && clipboardSaved && success;
+    }
+
+    /**
+     * Compacts the journal into the shards: seals the current segment, writes
+     * every shard changed since the last compaction and deletes the sealed
+     * segments. Runs off the main thread.
+     *
+     * @return true if the journal was fully compacted
+     */
+    @Override
+    public boolean compact() {
+        synchronized (compactionLock) {
+            long startTime = System.currentTimeMillis();
+            // Every mutation in a sealed segment was applied and marked dirty
+            // before its record was queued, so the drain below covers it
+            List<File> sealed = journal.rotate();
+            int shardCount = flusher.getPendingCount();
+            if (!flusher.drain()) {
+                plugin.getLogger().warning("Sign library compaction failed; the journal has been kept for the next attempt.");
+                return false;
+            }
+            journal.deleteSegments(sealed);
+            // Toggles are flushed every window, so they are backed up here rather than per write
+            ErrorHandler.createBackup(playersFile);
+            ErrorHandler.debug("Compacted sign library journal into " + shardCount + " shards in "
+                + (System.currentTimeMillis() - startTime) + "ms");
+            return true;
+        }
+    }
+
+    @Override
+    public boolean close() {
+        boolean flushed = journal.flush();
+        compact();
+        // Anything not compacted is still in the journal and replays on the next start
+        boolean clipboardSaved = saveClipboard();
+        return journal.close() && savePlayers() && clipboardSaved && flushed;
+    }
+}
@@ -0,0 +1,114 @@
+package us.ironcladnetwork.copySign.Util;
+
+import org.bukkit.ChatColor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the colour facts read from one {@link ColorScan} with the regular
+ * expressions and {@link ChatColor#getLastColors} calls they replaced, for one
+ * sign side per operation.
+ * <p>
+ * Not run by the test phase. Run {@link #main} from the test classpath, e.g.
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=us.ironcladnetwork.copySign.Util.ColorScanBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColorScanBenchmark {
+    private static final Pattern COLOR_CODE_PATTERN = Pattern.compile("§([0-9a-fk-or])");
+    private static final Pattern PURE_COLOR_PATTERN = Pattern.compile("§([0-9a-f])");
+
+    @Param({"plain", "single", "formatted", "mixed"})
+    public String sign;
+
+    private String[] lines;
+
+    @Setup
+    public void setup() {
+        lines = switch (sign) {
+            case "plain" -> new String[]{"Welcome to", "the server", "", "Have fun!"};
+            case "single" -> new String[]{"§aWelcome to", "§athe server", "", "§aHave fun!"};
+            case "formatted" -> new String[]{"§c§lSERVER RULES", "§71. Be respectful", "§72. No griefing", "§73. Have fun!"};
+            case "mixed" -> new String[]{"§aShop §7- §eBuy", "§b64x §fDiamond", "§7for §6$§e250", "§8§oRight click"};
+            default -> throw new IllegalArgumentException(sign);
+        };
+    }
+
+    @Benchmark
+    public void regex(Blackhole blackhole) {
+        // analyzeColor
+        Set<String> detectedColors = new HashSet<>();
+        boolean formatting = false;
+        for (String line : lines) {
+            Matcher matcher = COLOR_CODE_PATTERN.matcher(line);
+            while (matcher.find()) {
+                String code = matcher.group(1).toLowerCase();
+                if (code.matches("[0-9a-f]")) {
+                    detectedColors.add(code);
+                } else {
+                    formatting = true;
+                }
+            }
+        }
+        blackhole.consume(detectedColors.size());
+        blackhole.consume(formatting);
+        // getAllColors and hasMultiColorLines
+        Set<String> allColors = new HashSet<>();
+        boolean multiColorLine = false;
+        for (String line : lines) {
+            Set<String> lineColors = new HashSet<>();
+            Matcher matcher = PURE_COLOR_PATTERN.matcher(line);
+            while (matcher.find()) {
+                lineColors.add(matcher.group(1).toLowerCase());
+            }
+            allColors.addAll(lineColors);
+            multiColorLine |= lineColors.size() > 1;
+        }
+        blackhole.consume(allColors);
+        blackhole.consume(multiColorLine);
+        // preserveColors
+        for (String line : lines) {
+            blackhole.consume(ChatColor.getLastColors(line));
+        }
+    }
+
+    @Benchmark
+    public void scan(Blackhole blackhole) {
+        ColorScan scan = ColorScan.of(lines);
+        blackhole.consume(scan.getColorCount());
+        blackhole.consume(scan.hasFormatting());
+        blackhole.consume(scan.getLegacyColors());
+        blackhole.consume(scan.hasMultiColorLine());
+        for (int i = 0; i < lines.length; i++) {
+            blackhole.consume(scan.getLastColors(i));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ColorScanBenchmark.class.getSimpleName()).build()).run();
+    }
+}
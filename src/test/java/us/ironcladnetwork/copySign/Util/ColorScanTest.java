@@ -0,0 +1,161 @@
+package us.ironcladnetwork.copySign.Util;
+
+import org.bukkit.ChatColor;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks {@link ColorScan} against {@link ChatColor#getLastColors} and against
+ * the regular expressions {@link ColorAnalyzer} used before it, kept below as
+ * the reference.
+ */
+class ColorScanTest {
+    private static final String HEX = "§x§1§2§3§a§B§c";
+    private static final String[] TOKENS = {
+        "§", "§§", "a", "Text ", " ", "0", "x", "X", "§x", "§X",
+        "§0", "§9", "§a", "§f", "§A", "§F", "§g", "§z",
+        "§k", "§l", "§o", "§r", "§K", "§R", "§p", "§&"
+    };
+
+    @Test
+    void lastColorsOfFixedLines() {
+        String[] lines = {
+            "", "plain", "§", "trailing§", "§§a", "§A", "§aGreen",
+            "§aGreen§l", "§l§aGreen", "§a§lX§r", "§a§l§r§o",
+            "§l§o", "§k§a§m§n",
+            HEX, HEX + "text", HEX + "§l", "§l" + HEX, HEX + "§e", "§e" + HEX,
+            "§X§a§B§c§D§e§F",
+            "§x§1§2§3§4§5§Gbad",
+            "§x§1§2§3§4§5",
+            "§x§x§1§2§3§4§5§6",
+            "§x§1§2§3§4§5§6§7",
+            HEX + HEX.substring(0, 10)
+        };
+        for (String line : lines) {
+            assertLastColors(new String[]{line});
+        }
+        assertLastColors(lines);
+        assertLastColors(new String[]{null, "§a", null, ""});
+    }
+
+    @Test
+    void lastColorsOfRandomLines() {
+        Random random = new Random(0x19);
+        for (int i = 0; i < 100_000; i++) {
+            assertLastColors(randomLines(random, true));
+        }
+    }
+
+    @Test
+    void colorsMatchRegexWithoutHexRuns() {
+        Random random = new Random(0x1A);
+        for (int i = 0; i < 100_000; i++) {
+            String[] lines = randomLines(random, false);
+            ColorScan scan = ColorScan.of(lines);
+            String message = String.join("|", lines);
+            assertEquals(referenceColors(lines), scan.getLegacyColors(), message);
+            assertEquals(referenceHasFormatting(lines), scan.hasFormatting(), message);
+            assertEquals(referenceHasMultiColorLines(lines), scan.hasMultiColorLine(), message);
+            assertEquals(Integer.bitCount(referenceColors(lines)), scan.getColorCount(), message);
+        }
+    }
+
+    @Test
+    void hexRunsCountAsOneColor() {
+        ColorScan scan = ColorScan.of(new String[]{HEX + "a" + HEX, "§a" + HEX});
+        assertEquals(0x123ABC, scan.getFirstHexColor());
+        assertEquals(3, scan.getHexRuns());
+        assertEquals(1 << 10, scan.getLegacyColors());
+        assertEquals(2, scan.getColorCount());
+        assertEquals(true, scan.hasMultiColorLine());
+        assertEquals(false, ColorScan.of(HEX + "a" + HEX).hasMultiColorLine());
+    }
+
+    private static String[] randomLines(Random random, boolean hexRuns) {
+        String[] lines = new String[random.nextInt(5)];
+        for (int i = 0; i < lines.length; i++) {
+            StringBuilder line = new StringBuilder();
+            int parts = random.nextInt(10);
+            for (int j = 0; j < parts; j++) {
+                if (hexRuns && random.nextInt(6) == 0) {
+                    line.append(randomHexRun(random));
+                } else {
+                    String token = TOKENS[random.nextInt(TOKENS.length)];
+                    if (!hexRuns && (token.indexOf('x') >= 0 || token.indexOf('X') >= 0)) {
+                        token = "§b";
+                    }
+                    line.append(token);
+                }
+            }
+            lines[i] = random.nextInt(20) == 0 ? null : line.toString();
+        }
+        return lines;
+    }
+
+    // A hex run, sometimes cut short or with a bad digit
+    private static String randomHexRun(Random random) {
+        StringBuilder run = new StringBuilder().append('§').append(random.nextBoolean() ? 'x' : 'X');
+        for (int i = 0; i < 6; i++) {
+            run.append('§').append("0123456789abcdefABCDEF".charAt(random.nextInt(22)));
+        }
+        if (random.nextInt(4) == 0) {
+            run.setCharAt(2 + 2 * random.nextInt(6) + random.nextInt(2), random.nextBoolean() ? 'g' : 'x');
+        }
+        if (random.nextInt(4) == 0) {
+            run.setLength(random.nextInt(run.length()));
+        }
+        return run.toString();
+    }
+
+    private static void assertLastColors(String[] lines) {
+        ColorScan scan = ColorScan.of(lines);
+        for (int i = 0; i < lines.length; i++) {
+            String expected = lines[i] == null ? "" : ChatColor.getLastColors(lines[i]);
+            assertEquals(expected, scan.getLastColors(i), String.valueOf(lines[i]));
+        }
+    }
+
+    // The checks as they were before ColorScan
+
+    private static final Pattern COLOR_CODE_PATTERN = Pattern.compile("§([0-9a-fk-or])");
+    private static final Pattern PURE_COLOR_PATTERN = Pattern.compile("§([0-9a-f])");
+
+    private static int referenceColors(String[] lines) {
+        int colors = 0;
+        for (String line : lines) {
+            if (line == null) continue;
+            Matcher matcher = PURE_COLOR_PATTERN.matcher(line);
+            while (matcher.find()) {
+                colors |= 1 << Character.digit(matcher.group(1).charAt(0), 16);
+            }
+        }
+        return colors;
+    }
+
+    private static boolean referenceHasFormatting(String[] lines) {
+        for (String line : lines) {
+            if (line == null) continue;
+            Matcher matcher = COLOR_CODE_PATTERN.matcher(line);
+            while (matcher.find()) {
+                if (!matcher.group(1).matches("[0-9a-f]")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean referenceHasMultiColorLines(String[] lines) {
+        for (String line : lines) {
+            if (line != null && Integer.bitCount(referenceColors(new String[]{line})) > 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,201 @@
+package us.ironcladnetwork.copySign.Util;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.Normalizer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the single-pass {@link SignTextValidator} checks against the NFKC
+ * implementation they replaced, kept below as the reference.
+ */
+class SignTextValidatorTest {
+    private static final int MAX_NBT_SIZE = 32768;
+    private static final int MAX_LINE_LENGTH = 384;
+    private static final int MAX_LINES = 4;
+    private static final int[] LIMITS = {0, 1, 4, 15, 16, 17, 90, 384};
+
+    // Characters NFKC changes, or that change length under it
+    private static final String[] COMPATIBILITY = {
+        "\u00BC", "\u00B2", "\u00A0", "\u00AA", "\u00B5", "\u2460", "\u2126", "\u212B",
+        "\uFB01", "\uFF21", "\u3371", "\uFDFA", "\u1E9B\u0323", "e\u0301", "\u0301", "\u2163"
+    };
+    private static final String[] FORBIDDEN = {
+        "\u0000", "\u0007", "\u001B", "\u007F", "\u0085", "\u009F", // controls
+        "\uE000", "\uF8FF", "\uDB80\uDC00", // private use, BMP and supplementary
+        "\u0378", "\uFFFF", "\uD83F\uDFFF" // unassigned
+    };
+    private static final String[] SURROGATES = {"\uD800", "\uDBFF", "\uDC00", "\uDFFF", "\uD83D\uDE00"};
+
+    @Test
+    void plainText() {
+        assertMatches("");
+        assertMatches("Hello");
+        assertMatches("\u00A7aGreen \u00A7lbold \u00A7r\u00A7x\u00A71\u00A72\u00A73\u00A74\u00A75\u00A76hex");
+        assertMatches("Caf\u00E9 \u00FCber \u00F1");
+        assertMatches("tab\there\rcarriage");
+    }
+
+    @Test
+    void newlineSplitting() {
+        assertMatches("a\nb");
+        assertMatches("a\nb\nc\nd");
+        assertMatches("a\nb\nc\nd\ne");
+        assertMatches("\n");
+        assertMatches("\n\n\n");
+        assertMatches("\n\n\n\n");
+        assertMatches("trailing\n");
+        assertMatches("\nleading");
+        assertMatches("x".repeat(MAX_LINE_LENGTH) + "\n" + "y".repeat(MAX_LINE_LENGTH));
+        assertMatches("x".repeat(MAX_LINE_LENGTH + 1) + "\nshort");
+        assertMatches("short\n" + "x".repeat(MAX_LINE_LENGTH + 1));
+        assertMatches("\r\n\r\n");
+    }
+
+    @Test
+    void compatibilityCharacters() {
+        for (String c : COMPATIBILITY) {
+            assertMatches(c);
+            assertMatches("line " + c + "\nnext " + c);
+        }
+        // Lines that only outgrow the limit once normalized
+        assertMatches("\uFDFA".repeat(21));
+        assertMatches("\uFDFA".repeat(22));
+        assertMatches("x".repeat(MAX_LINE_LENGTH - 17) + "\uFDFA");
+        assertMatches("x".repeat(MAX_LINE_LENGTH - 18) + "\uFDFA");
+        assertMatches("\u3371".repeat(128) + "\n" + "\u3371".repeat(129));
+    }
+
+    @Test
+    void loneSurrogates() {
+        for (String c : SURROGATES) {
+            assertMatches(c);
+            assertMatches("a" + c + "b\n" + c);
+            assertMatches(c + "\u00BC");
+        }
+        // Halves split by a newline are not a pair
+        assertMatches("\uD83D\n\uDE00");
+    }
+
+    @Test
+    void forbiddenCodePoints() {
+        for (String c : FORBIDDEN) {
+            assertMatches(c);
+            assertMatches("ok\n" + c);
+            assertMatches(c + "\u00BC");
+            assertMatches("\u00BC" + c);
+        }
+    }
+
+    @Test
+    void randomText() {
+        Random random = new Random(0x5167);
+        for (int i = 0; i < 100_000; i++) {
+            assertMatches(randomText(random));
+        }
+    }
+
+    private static String randomText(Random random) {
+        int parts = random.nextInt(12);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < parts; i++) {
+            switch (random.nextInt(8)) {
+                case 0 -> text.append('\n');
+                case 1 -> text.append(COMPATIBILITY[random.nextInt(COMPATIBILITY.length)]);
+                case 2 -> text.append(FORBIDDEN[random.nextInt(FORBIDDEN.length)]);
+                case 3 -> text.append(SURROGATES[random.nextInt(SURROGATES.length)]);
+                case 4 -> text.append((char) random.nextInt(0x100));
+                case 5 -> text.appendCodePoint(random.nextInt(Character.MAX_CODE_POINT + 1));
+                default -> text.append("x".repeat(random.nextInt(random.nextBoolean() ? 8 : 200)));
+            }
+        }
+        return text.toString();
+    }
+
+    private static void assertMatches(String text) {
+        String message = escape(text);
+        assertEquals(referenceValidateNBTData(text), NBTValidationUtil.validateNBTData(text), message);
+        String[] lines = text.split("\n", -1);
+        assertEquals(referenceValidateNBTLines(lines), NBTValidationUtil.validateNBTLines(lines), message);
+        SignTextValidator.Report report = SignTextValidator.scan(text);
+        for (int limit : LIMITS) {
+            assertEquals(referenceIsValidSignContent(text, limit),
+                    !report.hasForbidden() && report.getNormalizedLength() <= limit, message + " at " + limit);
+        }
+    }
+
+    // The checks as they were before SignTextValidator
+
+    private static boolean referenceIsValidSignContent(String input, int maxLength) {
+        if (input == null) {
+            return true;
+        }
+        String normalized = Normalizer.normalize(input, Normalizer.Form.NFKC);
+        if (normalized.length() > maxLength) {
+            return false;
+        }
+        return normalized.codePoints().allMatch(codePoint -> {
+            int type = Character.getType(codePoint);
+            if (type == Character.CONTROL) {
+                return codePoint == '\n' || codePoint == '\t' || codePoint == '\r';
+            }
+            return type != Character.PRIVATE_USE && type != Character.UNASSIGNED;
+        });
+    }
+
+    private static boolean referenceValidateNBTData(String data) {
+        if (data == null) {
+            return true;
+        }
+        if (data.length() > MAX_NBT_SIZE) {
+            return false;
+        }
+        if (!referenceIsValidSignContent(data, MAX_NBT_SIZE)) {
+            return false;
+        }
+        String[] lines = data.split("\n", -1);
+        if (lines.length > MAX_LINES) {
+            return false;
+        }
+        for (String line : lines) {
+            if (line.length() > MAX_LINE_LENGTH || !referenceIsValidSignContent(line, MAX_LINE_LENGTH)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean referenceValidateNBTLines(String[] lines) {
+        if (lines == null) {
+            return true;
+        }
+        if (lines.length > MAX_LINES) {
+            return false;
+        }
+        int size = lines.length - 1;
+        for (String line : lines) {
+            if (line == null) {
+                continue;
+            }
+            if (line.length() > MAX_LINE_LENGTH || !referenceIsValidSignContent(line, MAX_LINE_LENGTH)) {
+                return false;
+            }
+            size += line.length();
+        }
+        return size <= MAX_NBT_SIZE;
+    }
+
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder();
+        for (char c : text.toCharArray()) {
+            if (c >= 0x20 && c < 0x7F) {
+                escaped.append(c);
+            } else {
+                escaped.append(String.format("\\u%04X", (int) c));
+            }
+        }
+        return escaped.toString();
+    }
+}